@@ -18,4 +18,14 @@
 
 # If you keep the line number information, uncomment this to
 # hide the original source file name.
-#-renamesourcefileattribute SourceFile
\ No newline at end of file
+#-renamesourcefileattribute SourceFile
+# commons-net: 사용하지 않는 선택 의존성(FTP 목록 파서의 정규식 등) 경고 무시
+-dontwarn org.apache.commons.net.**
+
+# jsoup: 선택 의존성 경고 무시
+-dontwarn com.google.re2j.**
+-dontwarn org.jspecify.**
+
+# 충돌 시 줄 번호가 보이도록
+-keepattributes SourceFile,LineNumberTable
+-renamesourcefileattribute SourceFile
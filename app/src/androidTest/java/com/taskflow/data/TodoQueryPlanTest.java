@@ -0,0 +1,188 @@
+package com.taskflow.data;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.CancellationSignal;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import com.taskflow.BuildConfig;
+import com.taskflow.utils.TaskFlowDate;
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * 자주 실행되는 조회가 인덱스를 쓰는지 확인하는 회귀 테스트 (측정이 아닌 실행 계획 검사)
+ * 디버그 빌드에서 기준 시간을 0으로 두어 모든 조회의 EXPLAIN QUERY PLAN을 기록하고, todo_table 전체 스캔이 있으면 실패합니다.
+ * 화면 조회뿐 아니라 백업(전체/증분)과 복원(병합/동기화) 문장도 확인합니다.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TodoQueryPlanTest {
+    private static final String DATABASE_NAME = "query-plan-test.db";
+
+    private Context context;
+    private TodoDBHelper dbHelper;
+    private int today;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DATABASE_NAME);
+        dbHelper = TodoDBHelper.createIsolated(context, DATABASE_NAME);
+        today = TaskFlowDate.today();
+
+        List<TodoItem> items = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            items.add(new TodoItem(0, today - 30 + i % 60, TaskFlowDate.toMinuteOfDay(i % 24, 0),
+                    "운동 " + i, i % 3 == 0));
+        }
+        dbHelper.addTodos(items);
+        // 5년 동안 매일 반복 (todo_table에는 행이 생기지 않고 조회 범위만 계산)
+        dbHelper.addRecurrence(new TodoRecurrence(0, "물 마시기", TaskFlowDate.NO_TIME,
+                TodoRecurrence.Frequency.DAILY, 0, today - 365, today + 4 * 365));
+
+        SlowQueryDetector.setThresholdMillis(0);
+        SlowQueryDetector.clearCaptures();
+    }
+
+    @After
+    public void tearDown() {
+        SlowQueryDetector.setThresholdMillis(BuildConfig.SLOW_QUERY_THRESHOLD_MS);
+        SlowQueryDetector.clearCaptures();
+        dbHelper.close();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void hotQueriesUseIndexes() {
+        dbHelper.clearDayCache();
+        dbHelper.getTodosByDay(today);
+        dbHelper.hasTodosOnDay(today);
+        dbHelper.getMonthSummary(today - 15, today + 15);
+        dbHelper.searchTodos("운동");
+        for (TodoFilter filter : TodoFilter.values()) {
+            List<TodoItem> page = dbHelper.getTodosPage(filter, today, null, 50);
+            if (!page.isEmpty()) {
+                TodoItem last = page.get(page.size() - 1);
+                dbHelper.getTodosPage(filter, today, TodoPageKey.after(last), 50);
+            }
+        }
+        dbHelper.setTodosCompleted(List.of(1, 2, 3), true);
+        List<Integer> occurrenceIds = new ArrayList<>();
+        for (TodoItem item : dbHelper.getTodosByDay(today)) {
+            if (item.isRecurring()) {
+                occurrenceIds.add(item.getId());
+            }
+        }
+        assertFalse("recurrence was not expanded", occurrenceIds.isEmpty());
+        dbHelper.setTodosCompleted(occurrenceIds, true);
+        dbHelper.deleteTodos(occurrenceIds);
+
+        assertNoFullScan();
+    }
+
+    @Test
+    public void backupAndSyncQueriesUseIndexes() throws Exception {
+        File directory = new File(context.getCacheDir(), "query-plan-backups");
+        deleteRecursively(directory);
+        try {
+            // 첫 백업은 전체 백업, 이후 바뀐 항목만 증분 백업 (변경 로그와 todo_table t 조인)
+            TodoBackupStore store = new TodoBackupStore(dbHelper, directory);
+            assertNotNull(store.runBackup());
+            dbHelper.updateTodoTask(5, "운동 (수정)");
+            dbHelper.setTodosCompleted(List.of(6, 7), true);
+            dbHelper.deleteTodos(List.of(8));
+            File delta = store.runBackup();
+            assertNotNull(delta);
+
+            // 같은 증분을 병합(ID 기준)과 동기화(uid 기준)로 반영
+            TodoRepository repository = TodoRepository.createIsolated(dbHelper);
+            restore(repository, delta, TodoBackup.Mode.MERGE);
+            restore(repository, delta, TodoBackup.Mode.SYNC);
+
+            boolean restoreCaptured = false;
+            for (SlowQueryDetector.Capture capture : SlowQueryDetector.getCaptures()) {
+                restoreCaptured |= capture.sql.contains("todo_restore");
+            }
+            assertTrue("restore statements were not captured", restoreCaptured);
+            assertNoFullScan();
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    public void fullScanIsFlagged() {
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        // 날짜 문자열 LIKE 조회는 인덱스를 쓸 수 없음 (예전 날짜별 조회 방식)
+        SlowQueryDetector.rawQuery(db, "SELECT id FROM todo_table WHERE date LIKE ?",
+                new String[] { "2024-01-01%" }).close();
+        assertTrue(lastCapture().fullScan);
+
+        // 별칭을 붙이면 SQLite 3.36부터 계획에 별칭만 표시됨 ("SCAN t")
+        SlowQueryDetector.rawQuery(db, "SELECT t.id FROM todo_table t WHERE t.date LIKE ?",
+                new String[] { "2024-01-01%" }).close();
+        assertTrue(lastCapture().fullScan);
+
+        // 범위 조건 없이 커버링 인덱스를 끝까지 훑는 경우
+        SlowQueryDetector.rawQuery(db, "SELECT uid FROM todo_table", null).close();
+        assertTrue(lastCapture().fullScan);
+    }
+
+    private void restore(TodoRepository repository, File file, TodoBackup.Mode mode) throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<Exception> error = new AtomicReference<>();
+        repository.restoreTodos(null, () -> new FileInputStream(file), mode, new CancellationSignal(), null,
+                new TodoRepository.Callback<Integer>() {
+                    @Override
+                    public void onResult(Integer result) {
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        error.set(e);
+                        done.countDown();
+                    }
+                });
+        assertTrue("restore timed out", done.await(10, TimeUnit.SECONDS));
+        if (error.get() != null) {
+            throw error.get();
+        }
+    }
+
+    private static void assertNoFullScan() {
+        List<SlowQueryDetector.Capture> captures = SlowQueryDetector.getCaptures();
+        assertFalse("no queries were captured", captures.isEmpty());
+        for (SlowQueryDetector.Capture capture : captures) {
+            assertFalse(capture.toString(), capture.fullScan);
+        }
+    }
+
+    private static SlowQueryDetector.Capture lastCapture() {
+        List<SlowQueryDetector.Capture> captures = SlowQueryDetector.getCaptures();
+        return captures.get(captures.size() - 1);
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,308 @@
+package com.taskflow.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import com.taskflow.utils.TaskFlowDate;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.apache.ftpserver.FtpServer;
+import org.apache.ftpserver.FtpServerFactory;
+import org.apache.ftpserver.ftplet.FtpStatistics;
+import org.apache.ftpserver.ftplet.UserManager;
+import org.apache.ftpserver.impl.DefaultFtpServer;
+import org.apache.ftpserver.listener.ListenerFactory;
+import org.apache.ftpserver.usermanager.PropertiesUserManagerFactory;
+import org.apache.ftpserver.usermanager.impl.BaseUser;
+import org.apache.ftpserver.usermanager.impl.WritePermission;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * 127.0.0.1에서 실행한 FTP 서버(Apache FtpServer)로 동기화 전송과 반영을 확인하는 테스트 (측정이 아닌 동작 검사)
+ * 한 프로세스 안에 데이터베이스, 설정, 작업 디렉터리가 다른 기기 두 대를 두고 서로 주고받습니다.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TodoSyncFtpTest {
+    private static final String USER = "taskflow";
+    private static final String PASSWORD = "sync-test";
+    private static final String REMOTE_DIR = "taskflow";
+
+    private Context context;
+    private File root;
+    private FtpServer server;
+    private FtpStatistics statistics;
+    private int port;
+    private Device deviceA;
+    private Device deviceB;
+
+    @Before
+    public void setUp() throws Exception {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        root = new File(context.getCacheDir(), "sync-ftp-test");
+        deleteRecursively(root);
+        File home = new File(root, "server");
+        assertTrue(home.mkdirs());
+
+        // 루프백 주소의 빈 포트에서 실행
+        FtpServerFactory serverFactory = new FtpServerFactory();
+        ListenerFactory listenerFactory = new ListenerFactory();
+        listenerFactory.setServerAddress("127.0.0.1");
+        listenerFactory.setPort(0);
+        serverFactory.addListener("default", listenerFactory.createListener());
+
+        UserManager userManager = new PropertiesUserManagerFactory().createUserManager();
+        BaseUser user = new BaseUser();
+        user.setName(USER);
+        user.setPassword(PASSWORD);
+        user.setHomeDirectory(home.getAbsolutePath());
+        user.setAuthorities(Collections.singletonList(new WritePermission()));
+        userManager.save(user);
+        serverFactory.setUserManager(userManager);
+
+        server = serverFactory.createServer();
+        server.start();
+        port = serverFactory.getListener("default").getPort();
+        // 이어서 전송했는지는 서버가 실제로 주고받은 바이트 수로 확인
+        statistics = ((DefaultFtpServer) server).getServerContext().getFtpStatistics();
+
+        deviceA = new Device("a");
+        deviceB = new Device("b");
+    }
+
+    @After
+    public void tearDown() {
+        deviceA.close();
+        deviceB.close();
+        server.stop();
+        deleteRecursively(root);
+    }
+
+    @Test
+    public void pushAndPullBetweenDevices() throws IOException {
+        int today = TaskFlowDate.today();
+        deviceA.dbHelper.addTodos(Arrays.asList(
+                new TodoItem(0, today, TaskFlowDate.NO_TIME, "장보기", false),
+                new TodoItem(0, today + 1, TaskFlowDate.NO_TIME, "운동", true)));
+
+        deviceA.engine.sync();
+        deviceB.engine.sync();
+        assertEquals(Arrays.asList("장보기", "운동"), deviceB.tasks());
+
+        // B에서 고친 내용이 A로 돌아가고, 받은 항목이 다시 올라가 중복되지 않음
+        TodoItem first = deviceB.items().get(0);
+        deviceB.dbHelper.updateTodoTask(first.getId(), "장보기 (우유)");
+        deviceB.engine.sync();
+        deviceA.engine.sync();
+        assertEquals(Arrays.asList("장보기 (우유)", "운동"), deviceA.tasks());
+
+        deviceA.engine.sync();
+        deviceB.engine.sync();
+        assertEquals(deviceA.tasks(), deviceB.tasks());
+    }
+
+    @Test
+    public void recurrenceSyncsBetweenDevices() throws IOException {
+        int today = TaskFlowDate.today();
+        deviceA.dbHelper.addRecurrence(new TodoRecurrence(0, "물 마시기", TaskFlowDate.NO_TIME,
+                TodoRecurrence.Frequency.DAILY, 0, today - 1, TodoRecurrence.NO_END));
+        // 날짜별 예외: 오늘은 완료, 내일은 내용만 바꿈
+        deviceA.dbHelper.setTodosCompleted(
+                Collections.singletonList(deviceA.occurrence(today).getId()), true);
+        deviceA.dbHelper.updateTodoTask(deviceA.occurrence(today + 1).getId(), "물 마시기 (2L)");
+
+        deviceA.engine.sync();
+        deviceB.engine.sync();
+        assertTrue(deviceB.occurrence(today).isCompleted());
+        assertFalse(deviceB.occurrence(today - 1).isCompleted());
+        assertEquals("물 마시기 (2L)", deviceB.occurrence(today + 1).getTask());
+
+        // B에서 규칙을 첫 날짜부터 끝내면(규칙과 예외 삭제) A에서도 사라짐
+        TodoItem first = deviceB.occurrence(today - 1);
+        deviceB.dbHelper.stopRecurrence(first.getRecurrenceId(), first.getDay());
+        deviceB.engine.sync();
+        deviceA.engine.sync();
+        assertNull(deviceA.occurrence(today));
+    }
+
+    @Test
+    public void pullStopsAtSequenceGap() throws IOException {
+        int today = TaskFlowDate.today();
+        File remote = new File(new File(root, "server"), REMOTE_DIR);
+        List<String> uploaded = new ArrayList<>();
+        for (String task : new String[] { "첫째", "둘째", "셋째" }) {
+            deviceA.dbHelper.addTodo(today, TaskFlowDate.NO_TIME, task);
+            deviceA.engine.sync();
+            uploaded.add(newestFile(remote, uploaded));
+        }
+
+        // 두 번째 파일이 아직 올라오지 않은 상태: 세 번째 파일은 건너뛰고 다음 동기화에서 이어 받음
+        File second = new File(remote, uploaded.get(1));
+        File held = new File(root, second.getName());
+        assertTrue(second.renameTo(held));
+        deviceB.engine.sync();
+        assertEquals(Collections.singletonList("첫째"), deviceB.tasks());
+
+        assertTrue(held.renameTo(second));
+        deviceB.engine.sync();
+        assertEquals(Arrays.asList("첫째", "둘째", "셋째"), deviceB.tasks());
+    }
+
+    @Test
+    public void uploadResumesFromPartialFile() throws IOException {
+        byte[] content = randomBytes(256 * 1024);
+        File local = new File(root, "upload.bin");
+        Files.write(local.toPath(), content);
+        int offset = content.length / 3;
+
+        // 이전 시도에서 앞부분만 올라간 조각
+        File remote = new File(new File(root, "server"), REMOTE_DIR);
+        assertTrue(remote.mkdirs());
+        try (FileOutputStream out = new FileOutputStream(new File(remote, "upload.bin.part"))) {
+            out.write(content, 0, offset);
+        }
+
+        long uploadedBefore = statistics.getTotalUploadSize();
+        try (FtpTransport transport = connect()) {
+            transport.upload(local, "upload.bin");
+            assertEquals(Collections.singletonList("upload.bin"), transport.list());
+        }
+        assertEquals(content.length - offset, statistics.getTotalUploadSize() - uploadedBefore);
+        assertArrayEquals(content, Files.readAllBytes(new File(remote, "upload.bin").toPath()));
+        assertFalse(new File(remote, "upload.bin.part").exists());
+    }
+
+    @Test
+    public void downloadResumesFromPartialFile() throws IOException {
+        byte[] content = randomBytes(256 * 1024);
+        File remote = new File(new File(root, "server"), REMOTE_DIR);
+        assertTrue(remote.mkdirs());
+        Files.write(new File(remote, "download.bin").toPath(), content);
+        int offset = content.length / 2;
+
+        // 이전 시도에서 앞부분만 받은 조각
+        File target = new File(root, "download.bin");
+        try (FileOutputStream out = new FileOutputStream(new File(root, "download.bin.part"))) {
+            out.write(content, 0, offset);
+        }
+
+        long downloadedBefore = statistics.getTotalDownloadSize();
+        try (FtpTransport transport = connect()) {
+            transport.download("download.bin", target);
+        }
+        assertEquals(content.length - offset, statistics.getTotalDownloadSize() - downloadedBefore);
+        assertArrayEquals(content, Files.readAllBytes(target.toPath()));
+        assertFalse(new File(root, "download.bin.part").exists());
+    }
+
+    private FtpTransport connect() throws IOException {
+        FtpTransport transport = new FtpTransport("127.0.0.1", port, USER, PASSWORD, REMOTE_DIR);
+        transport.connect();
+        return transport;
+    }
+
+    /**
+     * 서버 디렉터리에서 아직 기록하지 않은 동기화 파일 이름을 하나 찾습니다.
+     */
+    private static String newestFile(File directory, List<String> known) {
+        String[] names = directory.list();
+        assertTrue(names != null);
+        for (String name : names) {
+            if (!known.contains(name)) {
+                return name;
+            }
+        }
+        throw new AssertionError("no new sync file in " + Arrays.toString(names));
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+
+    /**
+     * 데이터베이스, 동기화 설정(기기 ID), 작업 디렉터리를 따로 가진 기기 한 대
+     */
+    private final class Device {
+        final String name;
+        final TodoDBHelper dbHelper;
+        final TodoSyncEngine engine;
+
+        Device(String name) {
+            this.name = name;
+            context.deleteDatabase(databaseName());
+            context.deleteSharedPreferences(prefsName());
+            context.deleteSharedPreferences(prefsName() + "_secret");
+            dbHelper = TodoDBHelper.createIsolated(context, databaseName());
+            SyncSettings settings = new SyncSettings(context, prefsName());
+            settings.save(true, "127.0.0.1", port, USER, PASSWORD, REMOTE_DIR);
+            engine = new TodoSyncEngine(TodoRepository.createIsolated(dbHelper), settings,
+                    new File(root, "device-" + name));
+        }
+
+        List<TodoItem> items() {
+            return dbHelper.getTodosPage(TodoFilter.ALL, TaskFlowDate.today(), null, 100);
+        }
+
+        /**
+         * 해당 날짜의 반복 항목 (없으면 null)
+         */
+        TodoItem occurrence(int day) {
+            for (TodoItem item : dbHelper.getTodosByDay(day)) {
+                if (item.isRecurring()) {
+                    return item;
+                }
+            }
+            return null;
+        }
+
+        List<String> tasks() {
+            List<String> tasks = new ArrayList<>();
+            for (TodoItem item : items()) {
+                tasks.add(item.getTask());
+            }
+            return tasks;
+        }
+
+        void close() {
+            dbHelper.close();
+            context.deleteDatabase(databaseName());
+            context.deleteSharedPreferences(prefsName());
+            context.deleteSharedPreferences(prefsName() + "_secret");
+        }
+
+        private String databaseName() {
+            return "sync-test-" + name + ".db";
+        }
+
+        private String prefsName() {
+            return "sync-test-" + name;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.taskflow.activities.main;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.MotionEvent;
+import android.view.View;
+import com.taskflow.data.MonthSummary;
+import java.util.Arrays;
+
+/**
+ * 한 달 캘린더를 하나의 Canvas에 직접 그리는 커스텀 뷰
+ *
+ * 날짜 숫자, 오늘/선택 원, 할 일 점을 미리 만들어 둔 Paint로 그리며,
+ * 터치 좌표로 날짜를 계산합니다. 월 변경이나 선택 변경은 invalidate 한 번으로 처리되고
+ * 줄 수가 바뀔 때만 레이아웃을 다시 요청합니다.
+ */
+public class CalendarMonthView extends View {
+    // 캘린더 색상
+    private static final int COLOR_PRIMARY = Color.parseColor("#6366F1");
+    private static final int COLOR_TODAY = Color.parseColor("#E0E7FF");
+    private static final int COLOR_DAY_TEXT = Color.parseColor("#1F2937");
+
+    // 날짜 숫자 문자열 (그릴 때마다 만들지 않도록 미리 생성)
+    private static final String[] DAY_LABELS = new String[32];
+
+    static {
+        for (int day = 1; day < DAY_LABELS.length; day++) {
+            DAY_LABELS[day] = String.valueOf(day);
+        }
+    }
+
+    /**
+     * 날짜 클릭 리스너
+     */
+    public interface OnDayClickListener {
+        /**
+         * @param epochDay   클릭한 날짜 (epoch day)
+         * @param dayOfMonth 클릭한 날짜의 일 (1~31)
+         */
+        void onDayClick(int epochDay, int dayOfMonth);
+    }
+
+    // 미리 만들어 두는 Paint
+    private final Paint numberPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint circlePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint dotPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    // 크기 (px)
+    private final float rowHeight;
+    private final float circleRadius;
+    private final float dotRadius;
+    private final float dotOffset;
+    private final float selectedDotInset;
+    private final float circleLift;
+    private float cellWidth;
+    private float textBaselineOffset;
+
+    // 현재 월 상태
+    private int firstDayKey;
+    private int daysInMonth;
+    private int leadingBlankCount;
+    private int todayKey = Integer.MIN_VALUE;
+    private int selectedKey = Integer.MIN_VALUE;
+    private final int[] totalCounts = new int[31];
+    private final int[] completedCounts = new int[31];
+
+    private OnDayClickListener dayClickListener;
+
+    public CalendarMonthView(Context context) {
+        this(context, null);
+    }
+
+    public CalendarMonthView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+
+        rowHeight = dp(52);
+        circleRadius = dp(18);
+        dotRadius = dp(2.5f);
+        dotOffset = dp(24);
+        selectedDotInset = dp(6);
+        circleLift = dp(3);
+
+        numberPaint.setTextAlign(Paint.Align.CENTER);
+        numberPaint.setTextSize(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, 16,
+                getResources().getDisplayMetrics()));
+        circlePaint.setStyle(Paint.Style.FILL);
+        dotPaint.setStyle(Paint.Style.FILL);
+
+        Paint.FontMetrics metrics = numberPaint.getFontMetrics();
+        textBaselineOffset = -(metrics.ascent + metrics.descent) / 2f;
+    }
+
+    private float dp(float value) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, value, getResources().getDisplayMetrics());
+    }
+
+    public void setOnDayClickListener(OnDayClickListener listener) {
+        this.dayClickListener = listener;
+    }
+
+    /**
+     * 표시할 월을 설정합니다. 월이 바뀌면 날짜별 개수는 초기화되며 {@link #setSummary}로 다시 채웁니다.
+     *
+     * @param firstDayKey       1일의 epoch day
+     * @param daysInMonth       해당 월의 일 수
+     * @param leadingBlankCount 1일 앞의 빈 칸 수 (일요일 시작 기준)
+     */
+    public void setMonth(int firstDayKey, int daysInMonth, int leadingBlankCount) {
+        // 같은 월이면 기존 개수를 유지 (데이터 갱신 중 점이 깜빡이지 않도록)
+        if (this.firstDayKey == firstDayKey && this.daysInMonth == daysInMonth) {
+            return;
+        }
+        int previousRows = getRowCount();
+        this.firstDayKey = firstDayKey;
+        this.daysInMonth = daysInMonth;
+        this.leadingBlankCount = leadingBlankCount;
+        Arrays.fill(totalCounts, 0);
+        Arrays.fill(completedCounts, 0);
+
+        if (getRowCount() != previousRows) {
+            requestLayout();
+        }
+        invalidate();
+    }
+
+    /**
+     * 월 요약에서 날짜별 전체/완료 개수를 복사해 점을 그립니다.
+     * 다른 월의 요약이면 무시합니다.
+     */
+    public void setSummary(MonthSummary summary) {
+        if (summary.getFirstDay() != firstDayKey) {
+            return;
+        }
+        for (int i = 0; i < daysInMonth; i++) {
+            totalCounts[i] = summary.getTotalCount(firstDayKey + i);
+            completedCounts[i] = summary.getCompletedCount(firstDayKey + i);
+        }
+        invalidate();
+    }
+
+    /**
+     * 날짜 하나의 개수를 갱신합니다.
+     */
+    public void setDayCounts(int epochDay, int total, int completed) {
+        int index = epochDay - firstDayKey;
+        if (index < 0 || index >= daysInMonth) {
+            return;
+        }
+        totalCounts[index] = total;
+        completedCounts[index] = completed;
+        invalidate();
+    }
+
+    public int getTotalCount(int epochDay) {
+        int index = epochDay - firstDayKey;
+        return index < 0 || index >= daysInMonth ? 0 : totalCounts[index];
+    }
+
+    public int getCompletedCount(int epochDay) {
+        int index = epochDay - firstDayKey;
+        return index < 0 || index >= daysInMonth ? 0 : completedCounts[index];
+    }
+
+    public void setSelectedDay(int epochDay) {
+        if (selectedKey != epochDay) {
+            selectedKey = epochDay;
+            invalidate();
+        }
+    }
+
+    public void setToday(int epochDay) {
+        if (todayKey != epochDay) {
+            todayKey = epochDay;
+            invalidate();
+        }
+    }
+
+    private int getRowCount() {
+        return Math.max(1, (leadingBlankCount + daysInMonth + 6) / 7);
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        int height = (int) Math.ceil(getRowCount() * rowHeight) + getPaddingTop() + getPaddingBottom();
+        setMeasuredDimension(width, resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        cellWidth = (w - getPaddingLeft() - getPaddingRight()) / 7f;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+
+        for (int i = 0; i < daysInMonth; i++) {
+            int cell = leadingBlankCount + i;
+            float cx = getPaddingLeft() + (cell % 7 + 0.5f) * cellWidth;
+            float cy = getPaddingTop() + (cell / 7) * rowHeight + rowHeight / 2f - circleLift;
+            int dayKey = firstDayKey + i;
+            boolean isSelected = dayKey == selectedKey;
+
+            // 선택 / 오늘 원
+            int textColor = COLOR_DAY_TEXT;
+            if (isSelected) {
+                circlePaint.setColor(COLOR_PRIMARY);
+                canvas.drawCircle(cx, cy, circleRadius, circlePaint);
+                textColor = Color.WHITE;
+            } else if (dayKey == todayKey) {
+                circlePaint.setColor(COLOR_TODAY);
+                canvas.drawCircle(cx, cy, circleRadius, circlePaint);
+                textColor = COLOR_PRIMARY;
+            }
+
+            // 날짜 숫자
+            numberPaint.setColor(textColor);
+            canvas.drawText(DAY_LABELS[i + 1], cx, cy + textBaselineOffset, numberPaint);
+
+            // 할 일 점 (완료율이 높을수록 흐리게)
+            int total = totalCounts[i];
+            if (total > 0) {
+                dotPaint.setColor(isSelected ? Color.WHITE : COLOR_PRIMARY);
+                dotPaint.setAlpha((int) (255 * (1f - 0.65f * completedCounts[i] / total)));
+                float dotY = isSelected ? cy + circleRadius - selectedDotInset : cy + dotOffset;
+                canvas.drawCircle(cx, dotY, dotRadius, dotPaint);
+            }
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                return true;
+            case MotionEvent.ACTION_UP:
+                int dayIndex = hitTest(event.getX(), event.getY());
+                if (dayIndex >= 0) {
+                    performClick();
+                    if (dayClickListener != null) {
+                        dayClickListener.onDayClick(firstDayKey + dayIndex, dayIndex + 1);
+                    }
+                }
+                return true;
+            default:
+                return super.onTouchEvent(event);
+        }
+    }
+
+    @Override
+    public boolean performClick() {
+        return super.performClick();
+    }
+
+    /**
+     * 터치 좌표에 해당하는 날짜 인덱스(0부터)를 계산합니다.
+     *
+     * @return 빈 칸이나 범위 밖이면 -1
+     */
+    private int hitTest(float x, float y) {
+        if (cellWidth <= 0) {
+            return -1;
+        }
+        int column = (int) ((x - getPaddingLeft()) / cellWidth);
+        int row = (int) ((y - getPaddingTop()) / rowHeight);
+        if (column < 0 || column > 6 || row < 0 || row >= getRowCount()) {
+            return -1;
+        }
+        int dayIndex = row * 7 + column - leadingBlankCount;
+        return dayIndex >= 0 && dayIndex < daysInMonth ? dayIndex : -1;
+    }
+}
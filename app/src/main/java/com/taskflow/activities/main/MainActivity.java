@@ -2,42 +2,47 @@ package com.taskflow.activities.main;
 
 import android.app.AlertDialog;
 import android.graphics.Color;
-import android.graphics.drawable.GradientDrawable;
 import android.os.Bundle;
-import android.view.Gravity;
-import android.view.View;
-import android.widget.GridLayout;
 import android.widget.ImageButton;
 import android.widget.ImageView;
-import android.widget.ListView;
 import android.widget.TextView;
 import androidx.activity.OnBackPressedCallback;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.taskflow.R;
+import com.taskflow.activities.todo.RecurrencePicker;
 import com.taskflow.activities.todo.TodoListActivity;
-import com.taskflow.data.TodoDBHelper;
+import com.taskflow.data.MonthSummary;
+import com.taskflow.data.TodoChange;
 import com.taskflow.data.TodoItem;
 import com.taskflow.data.TodoListAdapter;
+import com.taskflow.data.TodoPreloader;
+import com.taskflow.data.TodoRepository;
+import com.taskflow.utils.TaskFlowDate;
+import com.taskflow.utils.TaskFlowMetrics;
 import com.taskflow.utils.TaskFlowUI;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
-import java.util.Locale;
 
-public class MainActivity extends AppCompatActivity {
+public class MainActivity extends AppCompatActivity implements TodoRepository.ChangeObserver {
     private Calendar currentCalendar;
     private Calendar selectedCalendar;
-    private GridLayout calendarGrid;
+    private CalendarMonthView calendarView;
     private TextView currentMonthText;
     private TextView selectedDateText;
-    private ListView todoListView;
+    private RecyclerView todoListView;
     private TodoListAdapter adapter;
     private List<TodoItem> todoList;
-    private TodoDBHelper dbHelper;
-    private View selectedDayView;
+    private TodoRepository repository;
+    private TodoRepository.Request summaryRequest;
+    private TodoRepository.Request todosRequest;
+    // 월 요약 / 할 일 목록을 불러오는 중인지 여부
+    private boolean summaryLoading;
+    private boolean todosLoading;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -47,21 +52,23 @@ public class MainActivity extends AppCompatActivity {
         // 초기화
         currentCalendar = Calendar.getInstance();
         selectedCalendar = Calendar.getInstance();
-        dbHelper = new TodoDBHelper(this);
+        repository = TodoRepository.getInstance(this);
 
         // UI 컴포넌트 찾기
-        calendarGrid = findViewById(R.id.calendar_grid);
+        calendarView = findViewById(R.id.calendar_view);
         currentMonthText = findViewById(R.id.current_month_text);
         selectedDateText = findViewById(R.id.selected_date_text);
         todoListView = findViewById(R.id.todo_listview);
+        todoListView.setLayoutManager(new LinearLayoutManager(this));
+        calendarView.setOnDayClickListener(this::onDayClicked);
+        calendarView.setSelectedDay(TaskFlowDate.toEpochDay(selectedCalendar));
 
         // 할 일 목록 초기화
         todoList = new ArrayList<>();
-        adapter = new TodoListAdapter(this, todoList, dbHelper);
-        adapter.setOnDataChangedListener(() -> {
-            // 데이터 변경 시 캘린더 갱신
-            updateCalendar();
-        });
+        adapter = new TodoListAdapter(this, todoList, repository);
+
+        // 데이터 변경 시 바뀐 날짜의 개수와 목록 행만 갱신
+        repository.observeChanges(this, this);
 
         // 이전/다음 달 버튼
         ImageButton prevMonthBtn = findViewById(R.id.prev_month_btn);
@@ -100,175 +107,160 @@ public class MainActivity extends AppCompatActivity {
 
     /**
      * 캘린더를 업데이트합니다.
+     * 월 정보는 바로 그리고, 날짜별 개수는 백그라운드에서 조회한 뒤 반영합니다.
      */
     private void updateCalendar() {
-        // 월 텍스트 업데이트
-        SimpleDateFormat monthFormat = new SimpleDateFormat("yyyy년 M월", Locale.KOREAN);
-        currentMonthText.setText(monthFormat.format(currentCalendar.getTime()));
-
-        // 그리드 초기화
-        calendarGrid.removeAllViews();
-
-        // 해당 월의 1일로 이동
-        Calendar tempCalendar = (Calendar) currentCalendar.clone();
-        tempCalendar.set(Calendar.DAY_OF_MONTH, 1);
-
-        // 1일의 요일 (1=일요일, 7=토요일)
-        int firstDayOfWeek = tempCalendar.get(Calendar.DAY_OF_WEEK);
-        int daysInMonth = tempCalendar.getActualMaximum(Calendar.DAY_OF_MONTH);
-
-        // 빈 칸 추가 (1일 이전)
-        for (int i = 1; i < firstDayOfWeek; i++) {
-            addDayView(0, false, false, false);
-        }
-
-        // 날짜 추가
-        Calendar today = Calendar.getInstance();
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-
-        for (int day = 1; day <= daysInMonth; day++) {
-            boolean isToday = (today.get(Calendar.YEAR) == tempCalendar.get(Calendar.YEAR) &&
-                    today.get(Calendar.MONTH) == tempCalendar.get(Calendar.MONTH) &&
-                    today.get(Calendar.DAY_OF_MONTH) == day);
-
-            boolean isSelected = (selectedCalendar.get(Calendar.YEAR) == tempCalendar.get(Calendar.YEAR) &&
-                    selectedCalendar.get(Calendar.MONTH) == tempCalendar.get(Calendar.MONTH) &&
-                    selectedCalendar.get(Calendar.DAY_OF_MONTH) == day);
-
-            // 해당 날짜에 할 일이 있는지 확인
-            String dateStr = sdf.format(tempCalendar.getTime());
-            boolean hasTodos = dbHelper.hasTodosOnDate(dateStr);
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("MainActivity.updateCalendar")) {
+            // 해당 월의 1일과 마지막 날의 날짜 키
+            Calendar monthStart = (Calendar) currentCalendar.clone();
+            monthStart.set(Calendar.DAY_OF_MONTH, 1);
+            int firstDayKey = TaskFlowDate.toEpochDay(monthStart);
+
+            // 월 텍스트 업데이트
+            currentMonthText.setText(TaskFlowDate.formatMonthKorean(firstDayKey));
+            int daysInMonth = monthStart.getActualMaximum(Calendar.DAY_OF_MONTH);
+            int lastDayKey = firstDayKey + daysInMonth - 1;
+
+            // 날짜 숫자와 선택/오늘 표시는 바로 그림 (1일 앞의 빈 칸 수 = 1일의 요일 - 1, 1=일요일)
+            calendarView.setToday(TaskFlowDate.today());
+            calendarView.setMonth(firstDayKey, daysInMonth, monthStart.get(Calendar.DAY_OF_WEEK) - 1);
+            updateSelectedDateText();
 
-            addDayView(day, isToday, isSelected, hasTodos);
-            tempCalendar.add(Calendar.DAY_OF_MONTH, 1);
+            // 이전 월 요청이 남아 있으면 취소하고 새로 조회
+            if (summaryRequest != null) {
+                summaryRequest.cancel();
+            }
+            // 스플래시에서 미리 읽어 둔 이번 달 요약이 있으면 바로 표시
+            MonthSummary preloaded = TodoPreloader.takeMonthSummary(this, firstDayKey, lastDayKey);
+            if (preloaded != null) {
+                summaryLoading = false;
+                calendarView.setSummary(preloaded);
+                return;
+            }
+            requestMonthSummary(firstDayKey, lastDayKey);
         }
+    }
 
-        updateSelectedDateText();
+    /**
+     * 월 요약을 백그라운드에서 조회합니다.
+     * 조회 시작 시점의 변경 버전을 함께 넘겨, 결과가 알림 전의 쓰기를 포함했는지 확인합니다.
+     */
+    private void requestMonthSummary(int firstDayKey, int lastDayKey) {
+        summaryLoading = true;
+        int version = repository.getChangeVersion();
+        summaryRequest = repository.getMonthSummary(this, firstDayKey, lastDayKey,
+                summary -> renderCalendar(summary, version));
     }
 
     /**
-     * 날짜 뷰를 추가합니다.
+     * 조회된 월 요약을 캘린더 뷰에 반영합니다.
+     * 조회하는 동안 커밋된 쓰기가 있었으면 그 쓰기가 결과에 들어갔는지 알 수 없어 변화량을 더할 수 없으므로,
+     * 결과는 그대로 표시하고 쓰기가 끝난 상태에서 다시 조회합니다.
+     *
+     * @param summary 해당 월의 날짜별 개수 요약
+     * @param version 조회를 시작할 때의 변경 버전
      */
-    private void addDayView(int day, boolean isToday, boolean isSelected, boolean hasTodos) {
-        // LinearLayout으로 감싸서 숫자와 점을 모두 표시
-        android.widget.LinearLayout dayLayout = new android.widget.LinearLayout(this);
-        dayLayout.setOrientation(android.widget.LinearLayout.VERTICAL);
-        dayLayout.setGravity(Gravity.CENTER);
-
-        GridLayout.LayoutParams params = new GridLayout.LayoutParams();
-        params.width = 0;
-        params.height = GridLayout.LayoutParams.WRAP_CONTENT;
-        params.columnSpec = GridLayout.spec(GridLayout.UNDEFINED, 1f);
-        params.setMargins(4, 4, 4, 4);
-        dayLayout.setLayoutParams(params);
-
-        if (day == 0) {
-            // 빈 칸
-            calendarGrid.addView(dayLayout);
-            return;
+    private void renderCalendar(MonthSummary summary, int version) {
+        calendarView.setSummary(summary);
+        if (repository.isUnchangedSince(version)) {
+            summaryLoading = false;
+        } else {
+            requestMonthSummary(summary.getFirstDay(), summary.getLastDay());
         }
+    }
 
-        TextView dayView = new TextView(this);
-        dayView.setText(String.valueOf(day));
-        dayView.setTextSize(16);
-        dayView.setGravity(Gravity.CENTER);
-        dayView.setPadding(16, 8, 16, 8);
-
-        // 배경 설정
-        GradientDrawable background = new GradientDrawable();
-        background.setShape(GradientDrawable.OVAL);
-
-        if (isSelected) {
-            // 선택된 날짜
-            background.setColor(Color.parseColor("#6366F1"));
-            dayView.setTextColor(Color.WHITE);
-            selectedDayView = dayLayout;
-        } else if (isToday) {
-            // 오늘 날짜
-            background.setColor(Color.parseColor("#E0E7FF"));
-            dayView.setTextColor(Color.parseColor("#6366F1"));
+    /**
+     * 변경 이벤트를 캘린더 개수와 선택 날짜 목록에 반영합니다.
+     * 조회 중인 결과가 있으면 그 결과에 변경이 포함됐는지 알 수 없으므로 해당 부분만 다시 조회합니다.
+     * 캘린더 개수는 변화량을 더하므로, 표시 중인 요약이 이 변경보다 앞선다고 확인된 경우(summaryLoading이 false)에만 적용합니다.
+     */
+    @Override
+    public void onTodosChanged(List<TodoChange> changes) {
+        if (summaryLoading) {
+            updateCalendar();
         } else {
-            background.setColor(Color.TRANSPARENT);
-            dayView.setTextColor(Color.parseColor("#1F2937"));
+            for (TodoChange change : changes) {
+                if (change.getOldDay() != TodoChange.NO_DAY) {
+                    adjustDayCounts(change.getOldDay(), -1, change.wasCompleted() ? -1 : 0);
+                }
+                if (change.getNewDay() != TodoChange.NO_DAY) {
+                    adjustDayCounts(change.getNewDay(), 1, change.isCompleted() ? 1 : 0);
+                }
+            }
         }
 
-        dayView.setBackground(background);
-        dayLayout.addView(dayView);
-
-        // 할 일이 있으면 점 표시
-        if (hasTodos) {
-            View dot = new View(this);
-            android.widget.LinearLayout.LayoutParams dotParams = new android.widget.LinearLayout.LayoutParams(8, 8);
-            dotParams.setMargins(0, 4, 0, 0);
-            dot.setLayoutParams(dotParams);
-
-            GradientDrawable dotBg = new GradientDrawable();
-            dotBg.setShape(GradientDrawable.OVAL);
-            dotBg.setColor(isSelected ? Color.WHITE : Color.parseColor("#6366F1"));
-            dot.setBackground(dotBg);
-
-            dayLayout.addView(dot);
+        if (todosLoading) {
+            loadTodosForSelectedDate();
+        } else {
+            todoList = adapter.applyChanges(changes, TaskFlowDate.toEpochDay(selectedCalendar));
         }
+    }
 
-        // 클릭 이벤트
-        final int selectedDay = day;
-        dayLayout.setOnClickListener(v -> {
-            // 이전 선택 해제
-            if (selectedDayView != null && selectedDayView != dayLayout) {
-                updateCalendar();
-            }
+    /**
+     * 백업 복원 등으로 전체 데이터가 바뀌면 캘린더와 목록을 다시 조회합니다.
+     */
+    @Override
+    public void onTodosReset() {
+        updateCalendar();
+        loadTodosForSelectedDate();
+    }
 
-            // 새로운 선택
-            selectedCalendar.set(Calendar.YEAR, currentCalendar.get(Calendar.YEAR));
-            selectedCalendar.set(Calendar.MONTH, currentCalendar.get(Calendar.MONTH));
-            selectedCalendar.set(Calendar.DAY_OF_MONTH, selectedDay);
+    /**
+     * 날짜 하나의 전체/완료 개수를 변화량만큼 고칩니다. (표시 중인 월이 아니면 무시)
+     */
+    private void adjustDayCounts(int day, int totalDelta, int completedDelta) {
+        calendarView.setDayCounts(day, calendarView.getTotalCount(day) + totalDelta,
+                calendarView.getCompletedCount(day) + completedDelta);
+    }
 
-            updateCalendar();
-            updateSelectedDateText();
-            loadTodosForSelectedDate();
-        });
+    /**
+     * 날짜 클릭 시 선택만 바꿔 다시 그리고 할 일 목록을 불러옵니다.
+     */
+    private void onDayClicked(int epochDay, int dayOfMonth) {
+        selectedCalendar.set(Calendar.YEAR, currentCalendar.get(Calendar.YEAR));
+        selectedCalendar.set(Calendar.MONTH, currentCalendar.get(Calendar.MONTH));
+        selectedCalendar.set(Calendar.DAY_OF_MONTH, dayOfMonth);
+        calendarView.setSelectedDay(epochDay);
 
-        calendarGrid.addView(dayLayout);
+        updateSelectedDateText();
+        loadTodosForSelectedDate();
     }
 
     /**
      * 선택된 날짜 텍스트를 업데이트합니다.
      */
     private void updateSelectedDateText() {
-        SimpleDateFormat dateFormat = new SimpleDateFormat("M월 d일", Locale.KOREAN);
-        selectedDateText.setText("※ 선택 날짜: " + dateFormat.format(selectedCalendar.getTime()));
+        selectedDateText.setText("※ 선택 날짜: "
+                + TaskFlowDate.formatMonthDayKorean(TaskFlowDate.toEpochDay(selectedCalendar)));
     }
 
     /**
-     * 선택된 날짜의 할 일을 로드합니다.
+     * 선택된 날짜의 할 일을 백그라운드에서 로드합니다.
      */
     private void loadTodosForSelectedDate() {
-        String dateStr = formatDateWithDay(selectedCalendar.getTime());
-        List<TodoItem> todos = dbHelper.getTodosByDate(dateStr);
-
-        // 할 일 목록 업데이트
-        todoList.clear();
-        todoList.addAll(todos);
-
-        // 어댑터 설정 및 새로고침
-        if (todoListView.getAdapter() == null) {
-            todoListView.setAdapter(adapter);
-        } else {
-            adapter.notifyDataSetChanged();
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("MainActivity.loadTodosForSelectedDate")) {
+            if (todosRequest != null) {
+                todosRequest.cancel();
+            }
+            todosLoading = true;
+            todosRequest = repository.getTodosByDay(this, TaskFlowDate.toEpochDay(selectedCalendar),
+                    this::showTodos);
         }
     }
 
     /**
-     * 날짜를 yyyy-MM-dd (요일) 형식으로 포맷합니다.
+     * 조회된 할 일 목록을 화면에 표시합니다.
      */
-    private String formatDateWithDay(java.util.Date date) {
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-        SimpleDateFormat dayFormat = new SimpleDateFormat("E", Locale.KOREAN);
+    private void showTodos(List<TodoItem> todos) {
+        todosLoading = false;
+        // 할 일 목록 업데이트 (어댑터가 이전 목록과 비교하므로 새 목록으로 교체)
+        todoList = todos;
 
-        String formattedDate = dateFormat.format(date);
-        String dayOfWeek = dayFormat.format(date);
-
-        return formattedDate + " (" + dayOfWeek + ")";
+        // 어댑터 설정 및 새로고침
+        if (todoListView.getAdapter() == null) {
+            todoListView.setAdapter(adapter);
+        }
+        adapter.updateData(todoList);
     }
 
     /**
@@ -291,13 +283,12 @@ public class MainActivity extends AppCompatActivity {
 
         // 마감 기한을 선택된 날짜로 자동 설정
         final Calendar deadline = (Calendar) selectedCalendar.clone();
-        deadlineText.setText(formatDateWithDay(deadline.getTime()));
+        deadlineText.setText(TaskFlowDate.formatDateWithDay(TaskFlowDate.toEpochDay(deadline)));
 
         // 시간 기본값 설정 (17:00)
         final int[] selectedHour = { 17 };
         final int[] selectedMinute = { 0 };
-        timeText.setText(
-                String.format(java.util.Locale.getDefault(), "오후 %d:%02d", selectedHour[0] - 12, selectedMinute[0]));
+        timeText.setText(TaskFlowDate.formatTime(TaskFlowDate.toMinuteOfDay(selectedHour[0], selectedMinute[0])));
 
         // 날짜 선택 레이아웃 표시 (변경 가능)
         deadlineLayout.setOnClickListener(v -> {
@@ -305,7 +296,7 @@ public class MainActivity extends AppCompatActivity {
                     this,
                     (view, year, month, dayOfMonth) -> {
                         deadline.set(year, month, dayOfMonth);
-                        deadlineText.setText(formatDateWithDay(deadline.getTime()));
+                        deadlineText.setText(TaskFlowDate.formatDateWithDay(TaskFlowDate.toEpochDay(deadline)));
                     },
                     deadline.get(Calendar.YEAR),
                     deadline.get(Calendar.MONTH),
@@ -322,10 +313,7 @@ public class MainActivity extends AppCompatActivity {
                         selectedMinute[0] = minute;
 
                         // AM/PM 형식으로 표시
-                        String amPm = hourOfDay >= 12 ? "오후" : "오전";
-                        int displayHour = hourOfDay > 12 ? hourOfDay - 12 : (hourOfDay == 0 ? 12 : hourOfDay);
-                        timeText.setText(
-                                String.format(java.util.Locale.getDefault(), "%s %d:%02d", amPm, displayHour, minute));
+                        timeText.setText(TaskFlowDate.formatTime(TaskFlowDate.toMinuteOfDay(hourOfDay, minute)));
                     },
                     selectedHour[0],
                     selectedMinute[0],
@@ -333,6 +321,9 @@ public class MainActivity extends AppCompatActivity {
             timePickerDialog.show();
         });
 
+        // 반복 설정
+        RecurrencePicker recurrencePicker = new RecurrencePicker(dialog);
+
         // 추가 버튼
         addBtn.setOnClickListener(v -> {
             String task = todoInput.getText().toString().trim();
@@ -341,22 +332,38 @@ public class MainActivity extends AppCompatActivity {
                 return;
             }
 
-            // 마감 기한을 yyyy-MM-dd (요일) 형식으로 저장
-            String deadlineDate = formatDateWithDay(deadline.getTime());
+            // 마감 기한을 날짜 키(epoch day)로 저장
+            int deadlineDay = TaskFlowDate.toEpochDay(deadline);
 
-            // 시간을 HH:mm 형식으로 저장
-            String deadlineTime = String.format(java.util.Locale.getDefault(), "%02d:%02d", selectedHour[0],
-                    selectedMinute[0]);
+            // 시간을 자정부터의 분으로 저장
+            int deadlineMinute = TaskFlowDate.toMinuteOfDay(selectedHour[0], selectedMinute[0]);
 
-            // DB에 추가
-            long result = dbHelper.addTodo(deadlineDate, deadlineTime, task);
-            if (result != -1) {
-                loadTodosForSelectedDate();
-                updateCalendar();
-                TaskFlowUI.showText(this, "추가되었습니다.");
-                dialog.dismiss();
+            if (recurrencePicker.isRepeating() && !recurrencePicker.endsOnOrAfter(deadlineDay)) {
+                TaskFlowUI.showText(this, "반복 종료일은 마감 기한 이후여야 합니다.");
+                return;
+            }
+            if (recurrencePicker.isRepeating() && !recurrencePicker.supportsStartDay(deadlineDay)) {
+                TaskFlowUI.showText(this, "반복 할 일은 1970년 1월 1일부터 2149년 6월 6일까지만 설정할 수 있습니다.");
+                return;
+            }
+
+            TodoRepository.Callback<Long> onAdded = result -> {
+                if (result != -1) {
+                    TaskFlowUI.showText(this, "추가되었습니다.");
+                    dialog.dismiss();
+                } else {
+                    addBtn.setEnabled(true);
+                    TaskFlowUI.showText(this, "추가 실패. 다시 시도해주세요.");
+                }
+            };
+
+            // DB에 추가 (중복 추가 방지를 위해 저장이 끝날 때까지 버튼 비활성화)
+            // 반복 할 일은 규칙만 저장하고, 날짜별 항목은 목록과 캘린더를 조회할 때 계산
+            addBtn.setEnabled(false);
+            if (recurrencePicker.isRepeating()) {
+                repository.addRecurrence(this, recurrencePicker.build(deadlineDay, deadlineMinute, task), onAdded);
             } else {
-                TaskFlowUI.showText(this, "추가 실패. 다시 시도해주세요.");
+                repository.addTodo(this, deadlineDay, deadlineMinute, task, onAdded);
             }
         });
 
@@ -401,7 +408,14 @@ public class MainActivity extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
-        // 돌아왔을 때 할 일 목록 새로고침
-        loadTodosForSelectedDate();
+        // 변경은 이벤트로 반영되므로 다시 조회하지 않고 오늘 표시만 갱신
+        calendarView.setToday(TaskFlowDate.today());
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        // 모아 둔 완료 체크를 즉시 저장
+        repository.flushPendingCompletions();
     }
 }
@@ -2,20 +2,55 @@ package com.taskflow.activities.main;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import androidx.activity.ComponentActivity;
 import androidx.core.splashscreen.SplashScreen;
 import com.taskflow.activities.todo.TodoListActivity;
+import com.taskflow.data.BackupWorker;
+import com.taskflow.data.TodoPreloader;
 
 public class SplashActivity extends ComponentActivity {
+    // 미리 읽기를 기다리는 최대 시간 (넘으면 첫 화면이 직접 조회)
+    private static final long PRELOAD_TIMEOUT_MS = 1000;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    // 첫 화면으로 이동했는지 여부 (스플래시를 내리는 조건)
+    private boolean opened;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         SplashScreen splashScreen = SplashScreen.installSplashScreen(this);
         super.onCreate(savedInstanceState);
 
-        // TodoListActivity로 직접 이동
+        // 데이터베이스를 열고 오늘 목록과 이번 달 요약을 읽는 동안 스플래시 유지
+        splashScreen.setKeepOnScreenCondition(() -> !opened);
+        TodoPreloader.preload(this, this::openTodoList);
+        handler.postDelayed(this::openTodoList, PRELOAD_TIMEOUT_MS);
+
+        // 매일 자동 백업 예약 (이미 예약되어 있으면 그대로 유지)
+        BackupWorker.schedule(this);
+    }
+
+    /**
+     * TodoListActivity로 이동합니다. 미리 읽기 완료와 시간 초과 중 먼저 온 쪽에서 한 번만 실행됩니다.
+     */
+    private void openTodoList() {
+        if (opened || isFinishing()) {
+            return;
+        }
+        opened = true;
+        handler.removeCallbacksAndMessages(null);
+
         Intent intent = new Intent(this, TodoListActivity.class);
         intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TASK | Intent.FLAG_ACTIVITY_NEW_TASK);
         startActivity(intent);
         finish();
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        handler.removeCallbacksAndMessages(null);
+    }
 }
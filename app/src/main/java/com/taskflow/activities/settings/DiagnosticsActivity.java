@@ -0,0 +1,149 @@
+package com.taskflow.activities.settings;
+
+import android.content.pm.PackageManager;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Bundle;
+import android.util.Log;
+import android.widget.Button;
+import android.widget.TextView;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.taskflow.R;
+import com.taskflow.data.SlowQueryDetector;
+import com.taskflow.data.TodoDBHelper;
+import com.taskflow.data.TodoRepository;
+import com.taskflow.utils.TaskFlowMetrics;
+import com.taskflow.utils.TaskFlowUI;
+import java.io.FileNotFoundException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 작업별 실행 시간 히스토그램과 읽고 쓴 행 수를 보여 주는 숨은 진단 화면
+ * 설정 화면의 앱 버전 정보를 길게 누르면 열리며, 버그 신고에 첨부할 수 있도록 파일로 저장합니다.
+ */
+public class DiagnosticsActivity extends AppCompatActivity {
+    private static final String TAG = "DiagnosticsActivity";
+
+    // 저장 파일 형식
+    private static final String DUMP_MIME_TYPE = "text/plain";
+
+    private static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    // 저장할 위치 선택 (저장소 접근 프레임워크)
+    private final ActivityResultLauncher<String> dumpLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(DUMP_MIME_TYPE), this::dumpReport);
+
+    private TextView metricsText;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_diagnostics);
+
+        metricsText = findViewById(R.id.metrics_text);
+
+        Button refreshBtn = findViewById(R.id.refresh_btn);
+        refreshBtn.setOnClickListener(v -> showReport());
+
+        Button resetBtn = findViewById(R.id.reset_btn);
+        resetBtn.setOnClickListener(v -> {
+            TaskFlowMetrics.reset();
+            SlowQueryDetector.clearCaptures();
+            showReport();
+        });
+
+        Button dumpBtn = findViewById(R.id.dump_btn);
+        dumpBtn.setOnClickListener(v -> dumpLauncher.launch("taskflow-diagnostics-"
+                + LocalDateTime.now().format(FILE_TIME_FORMAT) + ".txt"));
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        showReport();
+    }
+
+    private void showReport() {
+        metricsText.setText(buildReport());
+    }
+
+    /**
+     * 기기/앱 정보와 캐시 적중률, 작업별 측정값을 묶은 보고서를 만듭니다.
+     */
+    private String buildReport() {
+        TodoDBHelper dbHelper = TodoDBHelper.getInstance(this);
+        StringBuilder builder = new StringBuilder();
+        builder.append("time: ").append(LocalDateTime.now()).append('\n');
+        builder.append("app: ").append(versionName()).append('\n');
+        builder.append("device: ").append(Build.MANUFACTURER).append(' ').append(Build.MODEL)
+                .append(" (SDK ").append(Build.VERSION.SDK_INT).append(")\n");
+        builder.append("day cache: ").append(dbHelper.getCacheHitCount()).append(" hits / ")
+                .append(dbHelper.getCacheMissCount()).append(" misses\n\n");
+        builder.append(TaskFlowMetrics.report());
+
+        // 디버그 빌드에서 기준 시간을 넘은 조회와 실행 계획
+        List<SlowQueryDetector.Capture> slowQueries = SlowQueryDetector.getCaptures();
+        if (!slowQueries.isEmpty()) {
+            builder.append("\nslow queries:\n");
+            for (SlowQueryDetector.Capture capture : slowQueries) {
+                builder.append(capture).append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    private String versionName() {
+        try {
+            return getPackageManager().getPackageInfo(getPackageName(), 0).versionName;
+        } catch (PackageManager.NameNotFoundException e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * 현재 보고서를 선택한 문서에 씁니다. (파일 쓰기는 읽기 스레드에서)
+     *
+     * @param uri 저장할 문서 (선택을 취소했으면 null)
+     */
+    private void dumpReport(Uri uri) {
+        if (uri == null) {
+            return;
+        }
+        String report = buildReport();
+        TodoRepository.getInstance(this).submitRead(this, () -> {
+            try (OutputStream out = openOutput(uri);
+                    Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+                writer.write(report);
+            }
+            return null;
+        }, new TodoRepository.Callback<Void>() {
+            @Override
+            public void onResult(Void result) {
+                TaskFlowUI.showText(DiagnosticsActivity.this, "진단 정보를 저장했습니다.");
+            }
+
+            @Override
+            public void onError(Exception e) {
+                Log.e(TAG, "Writing the diagnostics report failed", e);
+                TaskFlowUI.showText(DiagnosticsActivity.this, "진단 정보를 저장하지 못했습니다.");
+            }
+        });
+    }
+
+    private OutputStream openOutput(Uri uri) throws FileNotFoundException {
+        OutputStream out = getContentResolver().openOutputStream(uri, "wt");
+        if (out == null) {
+            throw new FileNotFoundException(uri.toString());
+        }
+        return out;
+    }
+}
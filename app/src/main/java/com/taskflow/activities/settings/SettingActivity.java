@@ -1,18 +1,65 @@
 package com.taskflow.activities.settings;
 
 import android.annotation.SuppressLint;
+import android.app.AlertDialog;
+import android.app.Dialog;
+import android.content.Intent;
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.net.Uri;
 import android.os.Bundle;
+import android.os.CancellationSignal;
+import android.os.OperationCanceledException;
+import android.provider.DocumentsContract;
+import android.util.Log;
+import android.view.Window;
 import android.widget.Button;
+import android.widget.EditText;
+import android.widget.ProgressBar;
+import android.widget.Switch;
 import android.widget.TextView;
 import android.widget.Toast;
 import androidx.activity.OnBackPressedCallback;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
 
 import com.taskflow.R;
+import com.taskflow.data.SyncSettings;
+import com.taskflow.data.SyncWorker;
+import com.taskflow.data.TodoBackup;
+import com.taskflow.data.TodoRepository;
+import com.taskflow.data.TodoSyncEngine;
 import com.taskflow.utils.TaskFlowUI;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.function.BooleanSupplier;
 
 public class SettingActivity extends AppCompatActivity {
+    private static final String TAG = "SettingActivity";
+
+    // 백업 파일 형식
+    private static final String BACKUP_MIME_TYPE = "application/json";
+
+    // 백업 메뉴 항목
+    private static final String[] BACKUP_ACTIONS = {
+            "백업 파일로 내보내기", "백업에서 복원 (기존 데이터 교체)", "백업에서 복원 (ID 기준 병합)"
+    };
+
+    // 백업 파일을 저장할 위치 선택 (저장소 접근 프레임워크)
+    private final ActivityResultLauncher<String> exportLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(BACKUP_MIME_TYPE), this::exportBackup);
+
+    // 복원할 백업 파일 선택
+    private final ActivityResultLauncher<String[]> restoreLauncher = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(), this::confirmRestore);
+
+    // 파일 선택 화면에 다녀오는 동안 기억해 두는 복원 방식
+    private TodoBackup.Mode restoreMode = TodoBackup.Mode.MERGE;
 
     @SuppressLint({ "CutPasteId", "UseSwitchCompatOrMaterialCode" })
     @Override
@@ -32,8 +79,18 @@ public class SettingActivity extends AppCompatActivity {
 
         // 데이터 백업 & 복원 클릭
         CardView backupCard = findViewById(R.id.backup_card);
-        backupCard.setOnClickListener(v -> {
-            Toast.makeText(this, "데이터 백업 기능 준비 중입니다", Toast.LENGTH_SHORT).show();
+        backupCard.setOnClickListener(v -> showBackupMenu());
+
+        // FTP 동기화 클릭
+        CardView syncCard = findViewById(R.id.sync_card);
+        syncCard.setOnClickListener(v -> showSyncDialog());
+        updateSyncStatus();
+
+        // 앱 버전 정보를 길게 누르면 진단 화면 (버그 신고용 측정값)
+        CardView versionCard = findViewById(R.id.version_card);
+        versionCard.setOnLongClickListener(v -> {
+            startActivity(new Intent(this, DiagnosticsActivity.class));
+            return true;
         });
 
         // 로그아웃 버튼
@@ -51,6 +108,288 @@ public class SettingActivity extends AppCompatActivity {
         });
     }
 
+    /**
+     * 내보내기 / 복원 중 하나를 고르는 메뉴를 표시합니다.
+     */
+    private void showBackupMenu() {
+        AlertDialog.Builder builder = new AlertDialog.Builder(this);
+        builder.setTitle("데이터 백업 & 복원");
+        builder.setItems(BACKUP_ACTIONS, (dialog, which) -> {
+            switch (which) {
+                case 0:
+                    exportLauncher.launch("taskflow-backup-"
+                            + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + ".json");
+                    break;
+                case 1:
+                    restoreMode = TodoBackup.Mode.REPLACE;
+                    restoreLauncher.launch(new String[] { BACKUP_MIME_TYPE });
+                    break;
+                case 2:
+                    restoreMode = TodoBackup.Mode.MERGE;
+                    restoreLauncher.launch(new String[] { BACKUP_MIME_TYPE });
+                    break;
+            }
+        });
+        builder.show();
+    }
+
+    /**
+     * 선택한 파일로 모든 할 일을 내보냅니다. 진행률 창에서 취소할 수 있으며,
+     * 취소하거나 실패하면 쓰다 만 파일은 지웁니다.
+     *
+     * @param uri 저장할 문서 (선택을 취소했으면 null)
+     */
+    private void exportBackup(Uri uri) {
+        if (uri == null) {
+            return;
+        }
+
+        CancellationSignal signal = new CancellationSignal();
+        Dialog dialog = showProgressDialog("백업 내보내는 중", signal);
+        ProgressBar progressBar = dialog.findViewById(R.id.backup_progress);
+        TextView progressText = dialog.findViewById(R.id.backup_progress_text);
+
+        TodoRepository.getInstance(this).exportTodos(this, () -> openOutput(uri), signal,
+                (done, total) -> {
+                    progressBar.setIndeterminate(false);
+                    progressBar.setMax(Math.max(total, 1));
+                    progressBar.setProgress(done);
+                    progressText.setText(done + " / " + total);
+                },
+                new TodoRepository.Callback<Integer>() {
+                    @Override
+                    public void onResult(Integer count) {
+                        dialog.dismiss();
+                        TaskFlowUI.showText(SettingActivity.this, count + "개의 할 일을 내보냈습니다.");
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        dialog.dismiss();
+                        deleteQuietly(uri);
+                        if (e instanceof OperationCanceledException) {
+                            TaskFlowUI.showText(SettingActivity.this, "내보내기를 취소했습니다.");
+                        } else {
+                            Log.e(TAG, "Backup export failed", e);
+                            TaskFlowUI.showText(SettingActivity.this, "내보내기에 실패했습니다.");
+                        }
+                    }
+                });
+    }
+
+    /**
+     * 복원 전에 확인을 받습니다. 교체 방식은 기존 할 일이 모두 지워지므로 한 번 더 알립니다.
+     *
+     * @param uri 복원할 문서 (선택을 취소했으면 null)
+     */
+    private void confirmRestore(Uri uri) {
+        if (uri == null) {
+            return;
+        }
+        TodoBackup.Mode mode = restoreMode;
+
+        AlertDialog.Builder builder = new AlertDialog.Builder(this);
+        builder.setTitle("백업 복원");
+        builder.setMessage(mode == TodoBackup.Mode.REPLACE
+                ? "현재 할 일이 모두 지워지고 백업 내용으로 바뀝니다.\n계속하시겠습니까?"
+                : "백업의 할 일을 추가하고, 같은 항목은 백업 내용으로 덮어씁니다.\n계속하시겠습니까?");
+        builder.setPositiveButton("복원", (dialog, which) -> restoreBackup(uri, mode));
+        builder.setNegativeButton("취소", null);
+        builder.show();
+    }
+
+    /**
+     * 선택한 백업 파일을 복원합니다. 파일을 끝까지 읽은 뒤에만 반영되므로
+     * 취소하거나 실패하면 기존 데이터는 그대로 남습니다.
+     */
+    private void restoreBackup(Uri uri, TodoBackup.Mode mode) {
+        CancellationSignal signal = new CancellationSignal();
+        Dialog dialog = showProgressDialog("백업 복원 중", signal);
+        TextView progressText = dialog.findViewById(R.id.backup_progress_text);
+
+        // 전체 항목 수는 파일 끝에 있으므로 진행률은 읽은 항목 수만 표시
+        TodoRepository.getInstance(this).restoreTodos(this, () -> openInput(uri), mode, signal,
+                (done, total) -> progressText.setText(done + "개 읽음"),
+                new TodoRepository.Callback<Integer>() {
+                    @Override
+                    public void onResult(Integer count) {
+                        dialog.dismiss();
+                        TaskFlowUI.showText(SettingActivity.this, count + "개의 할 일을 복원했습니다.");
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        dialog.dismiss();
+                        if (e instanceof OperationCanceledException) {
+                            TaskFlowUI.showText(SettingActivity.this, "복원을 취소했습니다.");
+                        } else {
+                            Log.e(TAG, "Backup restore failed", e);
+                            TaskFlowUI.showText(SettingActivity.this, "백업 파일을 읽지 못했습니다.");
+                        }
+                    }
+                });
+    }
+
+    /**
+     * FTP 동기화 설정 창을 표시합니다.
+     * 켜면 주기 동기화를 예약하고, 끄면 예약을 취소한 뒤 진행 상태를 지웁니다.
+     */
+    @SuppressLint("UseSwitchCompatOrMaterialCode")
+    private void showSyncDialog() {
+        SyncSettings settings = new SyncSettings(this);
+
+        Dialog dialog = new Dialog(this);
+        dialog.requestWindowFeature(Window.FEATURE_NO_TITLE);
+        dialog.setContentView(R.layout.dialog_sync_settings);
+        dialog.getWindow().setBackgroundDrawable(new ColorDrawable(Color.TRANSPARENT));
+
+        Switch enabledSwitch = dialog.findViewById(R.id.sync_enabled_switch);
+        EditText hostInput = dialog.findViewById(R.id.sync_host_input);
+        EditText portInput = dialog.findViewById(R.id.sync_port_input);
+        EditText userInput = dialog.findViewById(R.id.sync_user_input);
+        EditText passwordInput = dialog.findViewById(R.id.sync_password_input);
+        EditText dirInput = dialog.findViewById(R.id.sync_dir_input);
+        Button syncNowBtn = dialog.findViewById(R.id.sync_now_btn);
+        Button saveBtn = dialog.findViewById(R.id.sync_save_btn);
+
+        enabledSwitch.setChecked(settings.isEnabled());
+        hostInput.setText(settings.getHost());
+        portInput.setText(String.valueOf(settings.getPort()));
+        userInput.setText(settings.getUser());
+        try {
+            passwordInput.setText(settings.getPassword());
+        } catch (IllegalStateException e) {
+            // 키스토어를 쓸 수 없으면 비밀번호 없이 표시 (저장할 때 다시 알림)
+            Log.e(TAG, "Cannot read sync password", e);
+        }
+        dirInput.setText(settings.getRemoteDir());
+
+        // 저장하지 못하면 알리고 false
+        BooleanSupplier save = () -> {
+            boolean wasEnabled = settings.isEnabled();
+            boolean enabled = enabledSwitch.isChecked();
+            int port;
+            try {
+                port = Integer.parseInt(portInput.getText().toString().trim());
+            } catch (NumberFormatException e) {
+                port = SyncSettings.DEFAULT_PORT;
+            }
+            try {
+                settings.save(enabled, hostInput.getText().toString().trim(), port,
+                        userInput.getText().toString().trim(), passwordInput.getText().toString(),
+                        dirInput.getText().toString().trim());
+            } catch (IllegalStateException e) {
+                Log.e(TAG, "Cannot save sync settings", e);
+                TaskFlowUI.showText(this, "동기화 설정을 저장하지 못했습니다.");
+                return false;
+            }
+
+            if (enabled) {
+                SyncWorker.schedule(this);
+            } else if (wasEnabled) {
+                SyncWorker.cancel(this);
+                // 변경 로그 정리는 데이터베이스 쓰기이므로 쓰기 스레드에서
+                TodoSyncEngine engine = new TodoSyncEngine(this);
+                TodoRepository.getInstance(this).submitWrite(null, () -> {
+                    engine.disable();
+                    return null;
+                }, null);
+            }
+            updateSyncStatus();
+            return true;
+        };
+
+        saveBtn.setOnClickListener(v -> {
+            if (enabledSwitch.isChecked() && hostInput.getText().toString().trim().isEmpty()) {
+                TaskFlowUI.showText(this, "서버 주소를 입력해주세요.");
+                return;
+            }
+            if (save.getAsBoolean()) {
+                dialog.dismiss();
+            }
+        });
+        syncNowBtn.setOnClickListener(v -> {
+            if (hostInput.getText().toString().trim().isEmpty()) {
+                TaskFlowUI.showText(this, "서버 주소를 입력해주세요.");
+                return;
+            }
+            enabledSwitch.setChecked(true);
+            if (!save.getAsBoolean()) {
+                return;
+            }
+            SyncWorker.syncNow(this);
+            dialog.dismiss();
+            TaskFlowUI.showText(this, "네트워크에 연결되면 동기화합니다.");
+        });
+        dialog.show();
+    }
+
+    /**
+     * 동기화 카드에 사용 여부를 표시합니다.
+     */
+    private void updateSyncStatus() {
+        TextView statusText = findViewById(R.id.sync_status_text);
+        SyncSettings settings = new SyncSettings(this);
+        statusText.setText(settings.isEnabled() ? settings.getHost() : "꺼짐");
+    }
+
+    /**
+     * 취소 버튼이 있는 진행률 창을 표시합니다.
+     *
+     * @param title  제목
+     * @param signal 취소 버튼을 누르면 취소할 신호
+     */
+    private Dialog showProgressDialog(String title, CancellationSignal signal) {
+        Dialog dialog = new Dialog(this);
+        dialog.requestWindowFeature(Window.FEATURE_NO_TITLE);
+        dialog.setContentView(R.layout.dialog_backup_progress);
+        dialog.getWindow().setBackgroundDrawable(new ColorDrawable(Color.TRANSPARENT));
+        dialog.setCancelable(false);
+
+        TextView titleText = dialog.findViewById(R.id.backup_title);
+        titleText.setText(title);
+        Button cancelBtn = dialog.findViewById(R.id.backup_cancel_btn);
+        cancelBtn.setOnClickListener(v -> {
+            cancelBtn.setEnabled(false);
+            signal.cancel();
+        });
+        dialog.show();
+        return dialog;
+    }
+
+    /**
+     * 선택한 문서의 입력 스트림을 엽니다. (백그라운드 스레드에서 호출)
+     */
+    private InputStream openInput(Uri uri) throws FileNotFoundException {
+        InputStream in = getContentResolver().openInputStream(uri);
+        if (in == null) {
+            throw new FileNotFoundException(uri.toString());
+        }
+        return in;
+    }
+
+    /**
+     * 선택한 문서의 출력 스트림을 엽니다. (백그라운드 스레드에서 호출)
+     */
+    private OutputStream openOutput(Uri uri) throws FileNotFoundException {
+        OutputStream out = getContentResolver().openOutputStream(uri, "wt");
+        if (out == null) {
+            throw new FileNotFoundException(uri.toString());
+        }
+        return out;
+    }
+
+    /**
+     * 쓰다 만 문서를 지웁니다. 이미 없거나 지울 수 없으면 무시합니다.
+     */
+    private void deleteQuietly(Uri uri) {
+        try {
+            DocumentsContract.deleteDocument(getContentResolver(), uri);
+        } catch (FileNotFoundException | RuntimeException e) {
+            // 삭제 실패는 사용자에게 알릴 필요 없음
+        }
+    }
+
     /**
      * 현재 활성화된 네비게이션 버튼을 하이라이트합니다.
      */
@@ -0,0 +1,247 @@
+package com.taskflow.activities.todo;
+
+import android.graphics.Color;
+import android.graphics.Typeface;
+import android.os.Bundle;
+import android.util.Log;
+import android.view.View;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.taskflow.R;
+import com.taskflow.data.TodoChange;
+import com.taskflow.data.TodoFilter;
+import com.taskflow.data.TodoItem;
+import com.taskflow.data.TodoListAdapter;
+import com.taskflow.data.TodoPageKey;
+import com.taskflow.data.TodoRecurrence;
+import com.taskflow.data.TodoRepository;
+import com.taskflow.utils.TaskFlowDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 날짜와 관계없이 전체 / 예정 / 지난 미완료 작업을 보여주는 액티비티
+ *
+ * 목록은 (날짜, 시간, ID) 순서로 한 페이지씩 읽어 오며,
+ * 끝에 가까워지면 다음 페이지를 백그라운드에서 미리 불러옵니다.
+ */
+public class AllTodosActivity extends AppCompatActivity implements TodoRepository.ChangeObserver {
+    private static final String TAG = "AllTodosActivity";
+
+    // 한 번에 읽는 항목 수
+    private static final int PAGE_SIZE = 50;
+
+    // 마지막 항목까지 이만큼 남으면 다음 페이지를 미리 불러옴
+    private static final int PREFETCH_DISTANCE = 20;
+
+    // 조회 범위 표시 색상
+    private static final int COLOR_FILTER_SELECTED = Color.parseColor("#6366F1");
+    private static final int COLOR_FILTER_NORMAL = Color.parseColor("#9CA3AF");
+
+    // UI 컴포넌트
+    private RecyclerView todoListView;
+    private LinearLayoutManager layoutManager;
+    private TextView emptyText;
+    private TextView[] filterViews;
+
+    // 데이터 관리
+    private TodoRepository repository;
+    private TodoListAdapter adapter;
+    private TodoRepository.Request pageRequest;
+    private final List<TodoItem> loadedTodos = new ArrayList<>();
+
+    // 페이지 상태
+    private TodoFilter filter = TodoFilter.ALL;
+    private int today;
+    private TodoPageKey nextKey;
+    private boolean loading;
+    // 페이지를 읽는 동안 변경 이벤트가 있었는지 (그 페이지가 변경 전/후 어느 쪽 값인지 알 수 없음)
+    private boolean changedWhileLoading;
+    private boolean endReached;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_all_todos);
+
+        repository = TodoRepository.getInstance(this);
+
+        // UI 초기화
+        emptyText = findViewById(R.id.empty_text);
+        todoListView = findViewById(R.id.todo_listview);
+        layoutManager = new LinearLayoutManager(this);
+        todoListView.setLayoutManager(layoutManager);
+        adapter = new TodoListAdapter(this, loadedTodos, repository);
+        todoListView.setAdapter(adapter);
+
+        // 스크롤이 끝에 가까워지면 다음 페이지 로드
+        todoListView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                loadMoreIfNeeded();
+            }
+        });
+
+        // 조회 범위 선택
+        filterViews = new TextView[] {
+                findViewById(R.id.filter_all),
+                findViewById(R.id.filter_upcoming),
+                findViewById(R.id.filter_overdue)
+        };
+        TodoFilter[] filters = TodoFilter.values();
+        for (int i = 0; i < filterViews.length; i++) {
+            TodoFilter target = filters[i];
+            filterViews[i].setOnClickListener(v -> {
+                if (filter != target) {
+                    filter = target;
+                    reload();
+                }
+            });
+        }
+
+        // 읽어 둔 페이지에 있는 항목의 변경은 다시 조회하지 않고 반영
+        repository.observeChanges(this, this);
+
+        reload();
+    }
+
+    /**
+     * 변경 이벤트를 읽어 둔 목록에 반영합니다.
+     * 조회 범위를 벗어난 항목(완료된 지난 항목, 오늘 이전으로 옮겨진 예정 항목 등)은 빼고,
+     * 날짜나 시간이 바뀐 항목은 새 정렬 위치로 옮깁니다.
+     */
+    @Override
+    public void onTodosChanged(List<TodoChange> changes) {
+        List<TodoItem> patched = adapter.applyChanges(changes, this::isListed, TodoPageKey.ORDER);
+        changedWhileLoading |= loading;
+        loadedTodos.clear();
+        loadedTodos.addAll(patched);
+        if (!loading) {
+            emptyText.setVisibility(loadedTodos.isEmpty() ? View.VISIBLE : View.GONE);
+        }
+    }
+
+    /**
+     * 항목이 지금 목록에 있어야 하는지 확인합니다.
+     * 정렬 위치가 아직 읽지 않은 페이지에 속하면 그 페이지를 읽을 때 들어오므로 넣지 않습니다.
+     * (반복 항목의 발생은 페이지 조회에 포함되지 않으므로 제외)
+     */
+    private boolean isListed(TodoItem item) {
+        if (TodoRecurrence.isOccurrenceId(item.getId()) || !filter.matches(item, today)) {
+            return false;
+        }
+        if (endReached) {
+            return true;
+        }
+        return nextKey != null && !nextKey.precedes(item);
+    }
+
+    /**
+     * 백업 복원 등으로 전체 데이터가 바뀌면 첫 페이지부터 다시 읽어 옵니다.
+     */
+    @Override
+    public void onTodosReset() {
+        reload();
+    }
+
+    /**
+     * 첫 페이지부터 다시 읽어 옵니다.
+     */
+    private void reload() {
+        if (pageRequest != null) {
+            pageRequest.cancel();
+        }
+        today = TaskFlowDate.today();
+        nextKey = null;
+        loading = false;
+        changedWhileLoading = false;
+        endReached = false;
+        loadedTodos.clear();
+        adapter.updateData(loadedTodos);
+        todoListView.scrollToPosition(0);
+        updateFilterViews();
+        emptyText.setVisibility(View.GONE);
+        loadNextPage();
+    }
+
+    /**
+     * 다음 페이지를 백그라운드에서 읽어 옵니다.
+     */
+    private void loadNextPage() {
+        if (loading || endReached) {
+            return;
+        }
+        loading = true;
+        pageRequest = repository.getTodosPage(this, filter, today, nextKey, PAGE_SIZE,
+                new TodoRepository.Callback<List<TodoItem>>() {
+                    @Override
+                    public void onResult(List<TodoItem> page) {
+                        onPageLoaded(page);
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        // 읽기 대기열이 넘쳐 버려진 경우 등: 다음 스크롤에서 같은 페이지를 다시 요청
+                        Log.e(TAG, "Loading the next page failed", e);
+                        loading = false;
+                        changedWhileLoading = false;
+                    }
+                });
+    }
+
+    /**
+     * 읽어 온 페이지를 목록 끝에 붙입니다.
+     */
+    private void onPageLoaded(List<TodoItem> page) {
+        loading = false;
+        if (changedWhileLoading) {
+            // 이벤트로 옮겨 넣은 항목과 겹치거나 지워진 항목이 들어 있을 수 있으므로 같은 위치부터 다시 읽음
+            changedWhileLoading = false;
+            loadNextPage();
+            return;
+        }
+        if (page.size() < PAGE_SIZE) {
+            endReached = true;
+        }
+        if (!page.isEmpty()) {
+            nextKey = TodoPageKey.after(page.get(page.size() - 1));
+            loadedTodos.addAll(page);
+            adapter.updateData(loadedTodos);
+        }
+        emptyText.setVisibility(loadedTodos.isEmpty() ? View.VISIBLE : View.GONE);
+
+        // 화면이 아직 다 차지 않았으면 이어서 로드
+        loadMoreIfNeeded();
+    }
+
+    /**
+     * 보이는 마지막 항목이 목록 끝에 가까우면 다음 페이지를 요청합니다.
+     */
+    private void loadMoreIfNeeded() {
+        int lastVisible = layoutManager.findLastVisibleItemPosition();
+        if (lastVisible >= loadedTodos.size() - PREFETCH_DISTANCE) {
+            loadNextPage();
+        }
+    }
+
+    /**
+     * 선택된 조회 범위를 강조 표시합니다.
+     */
+    private void updateFilterViews() {
+        for (int i = 0; i < filterViews.length; i++) {
+            boolean selected = i == filter.ordinal();
+            filterViews[i].setTextColor(selected ? COLOR_FILTER_SELECTED : COLOR_FILTER_NORMAL);
+            filterViews[i].setTypeface(null, selected ? Typeface.BOLD : Typeface.NORMAL);
+        }
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        // 모아 둔 완료 체크를 즉시 저장
+        repository.flushPendingCompletions();
+    }
+}
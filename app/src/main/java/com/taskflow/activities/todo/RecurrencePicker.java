@@ -0,0 +1,180 @@
+package com.taskflow.activities.todo;
+
+import android.app.AlertDialog;
+import android.app.DatePickerDialog;
+import android.app.Dialog;
+import android.content.Context;
+import android.content.DialogInterface;
+import android.view.View;
+import android.widget.TextView;
+
+import com.taskflow.R;
+import com.taskflow.data.TodoRecurrence;
+import com.taskflow.utils.TaskFlowDate;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * 할 일 추가 다이얼로그(dialog_add_todo)의 반복 설정을 처리하는 도우미
+ * 할 일 화면과 캘린더 화면의 추가 다이얼로그가 함께 사용합니다.
+ *
+ * - 반복 안 함 / 매일 / 매주(요일 선택) / 매월(시작 날짜와 같은 날) 중에서 고릅니다.
+ * - 반복할 때만 종료일 행이 표시되며, 종료일을 고르지 않으면 끝없이 반복합니다.
+ */
+public class RecurrencePicker {
+    private static final String[] FREQUENCY_LABELS = { "반복 안 함", "매일", "매주", "매월" };
+    private static final String[] WEEKDAY_LABELS = { "월", "화", "수", "목", "금", "토", "일" };
+
+    private final Context context;
+    private final TextView repeatText;
+    private final View endLayout;
+    private final TextView endText;
+
+    // 반복 주기 (null이면 반복 안 함)
+    private TodoRecurrence.Frequency frequency;
+    // 매주 반복할 요일 (TodoRecurrence.weekdayBit의 조합)
+    private int weekdays;
+    private int endDay = TodoRecurrence.NO_END;
+
+    /**
+     * 다이얼로그의 반복/종료일 행에 클릭 리스너를 연결합니다.
+     *
+     * @param dialog dialog_add_todo 레이아웃을 사용하는 다이얼로그
+     */
+    public RecurrencePicker(Dialog dialog) {
+        context = dialog.getContext();
+        repeatText = dialog.findViewById(R.id.repeat_text);
+        endLayout = dialog.findViewById(R.id.repeat_end_layout);
+        endText = dialog.findViewById(R.id.repeat_end_text);
+
+        ((View) repeatText.getParent()).setOnClickListener(v -> showFrequencyDialog());
+        ((View) endText.getParent()).setOnClickListener(v -> showEndDatePicker());
+    }
+
+    public boolean isRepeating() {
+        return frequency != null;
+    }
+
+    /**
+     * 종료일이 시작 날짜보다 앞서지 않는지 확인합니다.
+     */
+    public boolean endsOnOrAfter(int startDay) {
+        return endDay >= startDay;
+    }
+
+    /**
+     * 시작 날짜가 반복 할 일에 쓸 수 있는 날짜 범위 안인지 확인합니다. (종료일은 선택할 때 범위로 제한됨)
+     */
+    public boolean supportsStartDay(int startDay) {
+        return TodoRecurrence.isSupportedDay(startDay);
+    }
+
+    /**
+     * 선택한 설정으로 반복 규칙을 만듭니다. ({@link #isRepeating()}이 true일 때만 호출)
+     * 매주 반복에서 요일을 고르지 않았으면 시작 날짜의 요일에 반복합니다.
+     *
+     * @param startDay 첫 날짜 (epoch day)
+     * @param minute   자정부터의 분
+     * @param task     할 일 내용
+     */
+    public TodoRecurrence build(int startDay, int minute, String task) {
+        int days = weekdays;
+        if (days == 0) {
+            days = TodoRecurrence.weekdayBit(LocalDate.ofEpochDay(startDay).getDayOfWeek());
+        }
+        return new TodoRecurrence(0, task, minute, frequency, days, startDay, endDay);
+    }
+
+    /**
+     * 반복 주기 선택 다이얼로그를 표시합니다.
+     */
+    private void showFrequencyDialog() {
+        AlertDialog.Builder builder = new AlertDialog.Builder(context);
+        builder.setTitle("반복");
+        builder.setItems(FREQUENCY_LABELS, (dialog, which) -> {
+            if (which == 0) {
+                frequency = null;
+                endDay = TodoRecurrence.NO_END;
+            } else {
+                frequency = TodoRecurrence.Frequency.values()[which - 1];
+            }
+            if (frequency == TodoRecurrence.Frequency.WEEKLY) {
+                showWeekdayDialog();
+            }
+            updateViews();
+        });
+        builder.show();
+    }
+
+    /**
+     * 매주 반복할 요일 선택 다이얼로그를 표시합니다.
+     */
+    private void showWeekdayDialog() {
+        DayOfWeek[] days = DayOfWeek.values();
+        boolean[] checked = new boolean[days.length];
+        for (int i = 0; i < days.length; i++) {
+            checked[i] = (weekdays & TodoRecurrence.weekdayBit(days[i])) != 0;
+        }
+
+        AlertDialog.Builder builder = new AlertDialog.Builder(context);
+        builder.setTitle("반복할 요일");
+        builder.setMultiChoiceItems(WEEKDAY_LABELS, checked, (dialog, which, isChecked) -> checked[which] = isChecked);
+        builder.setPositiveButton("확인", (dialog, which) -> {
+            weekdays = 0;
+            for (int i = 0; i < days.length; i++) {
+                if (checked[i]) {
+                    weekdays |= TodoRecurrence.weekdayBit(days[i]);
+                }
+            }
+            updateViews();
+        });
+        builder.setNegativeButton("취소", (dialog, which) -> dialog.cancel());
+        builder.show();
+    }
+
+    /**
+     * 반복 종료일 선택 다이얼로그를 표시합니다. "종료일 없음"을 누르면 끝없이 반복합니다.
+     */
+    private void showEndDatePicker() {
+        LocalDate initial = endDay == TodoRecurrence.NO_END
+                ? LocalDate.now().plusMonths(1)
+                : LocalDate.ofEpochDay(endDay);
+        DatePickerDialog datePickerDialog = new DatePickerDialog(
+                context,
+                (view, year, month, dayOfMonth) -> {
+                    endDay = TaskFlowDate.toEpochDay(year, month, dayOfMonth);
+                    updateViews();
+                },
+                initial.getYear(),
+                initial.getMonthValue() - 1,
+                initial.getDayOfMonth());
+        // 반복 항목 ID에 넣을 수 있는 날짜만 고를 수 있게 함
+        datePickerDialog.getDatePicker().setMinDate(TaskFlowDate.toEpochMillis(TodoRecurrence.MIN_DAY));
+        datePickerDialog.getDatePicker().setMaxDate(TaskFlowDate.toEpochMillis(TodoRecurrence.MAX_DAY));
+        datePickerDialog.setButton(DialogInterface.BUTTON_NEUTRAL, "종료일 없음", (dialog, which) -> {
+            endDay = TodoRecurrence.NO_END;
+            updateViews();
+        });
+        datePickerDialog.show();
+    }
+
+    private void updateViews() {
+        endLayout.setVisibility(isRepeating() ? View.VISIBLE : View.GONE);
+        endText.setText(endDay == TodoRecurrence.NO_END ? "종료일 없음" : TaskFlowDate.formatDateWithDay(endDay));
+
+        if (frequency == null) {
+            repeatText.setText(FREQUENCY_LABELS[0]);
+        } else if (frequency == TodoRecurrence.Frequency.WEEKLY && weekdays != 0) {
+            StringBuilder label = new StringBuilder("매주");
+            DayOfWeek[] days = DayOfWeek.values();
+            for (int i = 0; i < days.length; i++) {
+                if ((weekdays & TodoRecurrence.weekdayBit(days[i])) != 0) {
+                    label.append(label.length() == 2 ? " " : ", ").append(WEEKDAY_LABELS[i]);
+                }
+            }
+            repeatText.setText(label);
+        } else {
+            repeatText.setText(FREQUENCY_LABELS[frequency.ordinal() + 1]);
+        }
+    }
+}
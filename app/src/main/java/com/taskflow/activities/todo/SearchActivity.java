@@ -0,0 +1,148 @@
+package com.taskflow.activities.todo;
+
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.util.LruCache;
+import android.view.View;
+import android.widget.EditText;
+import android.widget.TextView;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.taskflow.R;
+import com.taskflow.data.TodoChange;
+import com.taskflow.data.TodoItem;
+import com.taskflow.data.TodoListAdapter;
+import com.taskflow.data.TodoRepository;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 할 일 내용으로 검색하는 액티비티
+ *
+ * 입력이 잠시 멈추면 백그라운드에서 전문 검색을 실행하고, 새 입력이 들어오면 이전 검색은 취소합니다.
+ * 최근 검색 결과는 메모리에 보관해 같은 검색어를 다시 입력하면 바로 표시합니다.
+ */
+public class SearchActivity extends AppCompatActivity {
+    // 마지막 입력 후 검색을 시작하기까지 기다리는 시간
+    private static final long SEARCH_DELAY_MS = 250;
+
+    // 보관할 최근 검색어 수
+    private static final int RESULT_CACHE_SIZE = 20;
+
+    // UI 컴포넌트
+    private EditText searchInput;
+    private TextView emptyText;
+
+    // 데이터 관리
+    private TodoRepository repository;
+    private TodoListAdapter adapter;
+    private TodoRepository.Request searchRequest;
+    private final LruCache<String, List<TodoItem>> resultCache = new LruCache<>(RESULT_CACHE_SIZE);
+
+    // 입력 지연 처리
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable searchRunnable = this::search;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_search);
+
+        repository = TodoRepository.getInstance(this);
+
+        // UI 초기화
+        searchInput = findViewById(R.id.search_input);
+        emptyText = findViewById(R.id.empty_text);
+        RecyclerView todoListView = findViewById(R.id.todo_listview);
+        todoListView.setLayoutManager(new LinearLayoutManager(this));
+        adapter = new TodoListAdapter(this, new ArrayList<>(), repository);
+        todoListView.setAdapter(adapter);
+
+        // 변경된 항목은 표시 중인 결과에 바로 반영하고, 캐시된 결과는 맞지 않을 수 있으므로 비움
+        repository.observeChanges(this, new TodoRepository.ChangeObserver() {
+            @Override
+            public void onTodosChanged(List<TodoChange> changes) {
+                resultCache.evictAll();
+                adapter.applyChanges(changes, TodoChange.NO_DAY);
+            }
+
+            @Override
+            public void onTodosReset() {
+                resultCache.evictAll();
+                search();
+            }
+        });
+
+        // 입력이 멈추면 검색
+        searchInput.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                handler.removeCallbacks(searchRunnable);
+                handler.postDelayed(searchRunnable, SEARCH_DELAY_MS);
+            }
+        });
+    }
+
+    /**
+     * 현재 입력된 검색어로 검색합니다.
+     */
+    private void search() {
+        handler.removeCallbacks(searchRunnable);
+        if (searchRequest != null) {
+            searchRequest.cancel();
+        }
+
+        String query = searchInput.getText().toString().trim();
+        if (query.isEmpty()) {
+            showResults(new ArrayList<>(), false);
+            return;
+        }
+
+        // 최근 검색 결과가 있으면 DB를 거치지 않고 표시
+        List<TodoItem> cached = resultCache.get(query);
+        if (cached != null) {
+            showResults(cached, true);
+            return;
+        }
+
+        searchRequest = repository.searchTodos(this, query, results -> {
+            resultCache.put(query, results);
+            showResults(results, true);
+        });
+    }
+
+    /**
+     * 검색 결과를 표시합니다.
+     *
+     * @param searched 검색어가 있었는지 여부 (빈 검색어에는 결과 없음 안내를 표시하지 않음)
+     */
+    private void showResults(List<TodoItem> results, boolean searched) {
+        adapter.updateData(results);
+        emptyText.setVisibility(searched && results.isEmpty() ? View.VISIBLE : View.GONE);
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        // 모아 둔 완료 체크를 즉시 저장
+        repository.flushPendingCompletions();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        handler.removeCallbacks(searchRunnable);
+    }
+}
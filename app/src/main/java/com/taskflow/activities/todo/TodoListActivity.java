@@ -2,6 +2,7 @@ package com.taskflow.activities.todo;
 
 import android.app.DatePickerDialog;
 import android.app.Dialog;
+import android.content.Intent;
 import android.content.res.ColorStateList;
 import android.graphics.Color;
 import android.graphics.drawable.ColorDrawable;
@@ -10,33 +11,40 @@ import android.view.View;
 import android.view.Window;
 import android.widget.*;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.taskflow.R;
+import com.taskflow.utils.TaskFlowDate;
 import com.taskflow.utils.TaskFlowUI;
-import com.taskflow.data.TodoDBHelper;
+import com.taskflow.data.TodoChange;
 import com.taskflow.data.TodoItem;
 import com.taskflow.data.TodoListAdapter;
-import java.text.SimpleDateFormat;
+import com.taskflow.data.TodoPreloader;
+import com.taskflow.data.TodoRepository;
 import java.util.Calendar;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * 투두리스트 작성 및 관리 화면
  * 
  * 주요 기능:
- * - ListView를 통한 투두 항목 표시
+ * - RecyclerView를 통한 투두 항목 표시
  * - SQLite DB를 활용한 데이터 저장 및 조회
  * - CRUD (Create, Read, Update, Delete) 기능
  * - 검색 기능
  * - 완료 상태 관리
  */
-public class TodoListActivity extends AppCompatActivity {
+public class TodoListActivity extends AppCompatActivity implements TodoRepository.ChangeObserver {
     // UI 컴포넌트
-    private ListView todoListView;
+    private RecyclerView todoListView;
 
     // 데이터 관리
-    private TodoDBHelper dbHelper;
+    private TodoRepository repository;
+    private TodoRepository.Request todosRequest;
+    // 목록을 불러오는 중인지 여부, 불러온 날짜
+    private boolean todosLoading;
+    private int loadedDay;
     private TodoListAdapter adapter;
     private List<TodoItem> todoList;
     private String currentDate;
@@ -48,7 +56,7 @@ public class TodoListActivity extends AppCompatActivity {
 
         // 현재 날짜 저장 - TaskFlowUI.date가 null이면 오늘 날짜 사용
         if (TaskFlowUI.date == null || TaskFlowUI.date.isEmpty()) {
-            currentDate = formatDateWithDay(new java.util.Date());
+            currentDate = TaskFlowDate.formatDateWithDay(TaskFlowDate.today());
             TaskFlowUI.date = currentDate;
         } else {
             currentDate = TaskFlowUI.date;
@@ -57,12 +65,15 @@ public class TodoListActivity extends AppCompatActivity {
         // UI 초기화
         initializeViews();
 
-        // DB 헬퍼 초기화
-        dbHelper = new TodoDBHelper(this);
+        // 비동기 저장소 초기화
+        repository = TodoRepository.getInstance(this);
 
         // 투두리스트 로드
         loadTodoList();
 
+        // 다른 화면에서의 변경도 다시 조회하지 않고 목록에 반영
+        repository.observeChanges(this, this);
+
         // 하단 네비게이션 설정
         TaskFlowUI.initBottomNav(this);
         highlightCurrentNav();
@@ -77,22 +88,80 @@ public class TodoListActivity extends AppCompatActivity {
      */
     private void initializeViews() {
         todoListView = findViewById(R.id.todo_listview);
+        todoListView.setLayoutManager(new LinearLayoutManager(this));
+
+        // 전체 작업 보기
+        findViewById(R.id.show_all_btn).setOnClickListener(
+                v -> startActivity(new Intent(this, AllTodosActivity.class)));
+
+        // 검색
+        findViewById(R.id.search_btn).setOnClickListener(
+                v -> startActivity(new Intent(this, SearchActivity.class)));
     }
 
     /**
-     * DB에서 오늘 날짜의 투두 리스트를 로드합니다.
+     * DB에서 오늘 날짜의 투두 리스트를 백그라운드로 로드합니다.
      */
     private void loadTodoList() {
-        todoList = dbHelper.getTodosForToday();
+        if (todosRequest != null) {
+            todosRequest.cancel();
+        }
+        loadedDay = TaskFlowDate.today();
+
+        // 스플래시에서 미리 읽어 둔 목록이 있으면 첫 프레임부터 바로 표시
+        List<TodoItem> preloaded = TodoPreloader.takeTodos(this, loadedDay);
+        if (preloaded != null) {
+            showTodoList(preloaded);
+            return;
+        }
+        todosLoading = true;
+        todosRequest = repository.getTodosByDay(this, loadedDay, this::showTodoList);
+    }
+
+    /**
+     * 변경 이벤트를 오늘 목록에 반영합니다.
+     */
+    @Override
+    public void onTodosChanged(List<TodoChange> changes) {
+        if (todosLoading || adapter == null) {
+            // 조회 중인 결과에 이 변경이 포함됐는지 알 수 없으므로 다시 조회
+            loadTodoList();
+            return;
+        }
+        todoList = adapter.applyChanges(changes, loadedDay);
+        updateTitle();
+    }
+
+    /**
+     * 백업 복원 등으로 전체 데이터가 바뀌면 목록을 다시 조회합니다.
+     */
+    @Override
+    public void onTodosReset() {
+        loadTodoList();
+    }
+
+    /**
+     * 조회된 투두 리스트를 화면에 표시합니다.
+     */
+    private void showTodoList(List<TodoItem> todos) {
+        todosLoading = false;
+        todoList = todos;
 
         if (adapter == null) {
-            adapter = new TodoListAdapter(this, todoList, dbHelper);
+            adapter = new TodoListAdapter(this, todoList, repository);
             todoListView.setAdapter(adapter);
+            // 첫 목록을 그린 시점을 시작 완료로 알림 (시작 시간 측정 기준, 두 번째 호출부터는 무시됨)
+            todoListView.post(this::reportFullyDrawn);
         } else {
             adapter.updateData(todoList);
         }
+        updateTitle();
+    }
 
-        // 항목 개수 표시
+    /**
+     * 완료/전체 항목 개수를 제목에 표시합니다.
+     */
+    private void updateTitle() {
         int totalCount = todoList.size();
         int completedCount = 0;
         for (TodoItem item : todoList) {
@@ -136,7 +205,7 @@ public class TodoListActivity extends AppCompatActivity {
         // 시간 기본값 설정 (17:00)
         final int[] selectedHour = { 17 };
         final int[] selectedMinute = { 0 };
-        timeText.setText(String.format(Locale.getDefault(), "오후 %d:%02d", selectedHour[0] - 12, selectedMinute[0]));
+        timeText.setText(TaskFlowDate.formatTime(TaskFlowDate.toMinuteOfDay(selectedHour[0], selectedMinute[0])));
 
         // 시간 선택 클릭 리스너
         timeLayout.setOnClickListener(v -> {
@@ -147,9 +216,7 @@ public class TodoListActivity extends AppCompatActivity {
                         selectedMinute[0] = minute;
 
                         // AM/PM 형식으로 표시
-                        String amPm = hourOfDay >= 12 ? "오후" : "오전";
-                        int displayHour = hourOfDay > 12 ? hourOfDay - 12 : (hourOfDay == 0 ? 12 : hourOfDay);
-                        timeText.setText(String.format(Locale.getDefault(), "%s %d:%02d", amPm, displayHour, minute));
+                        timeText.setText(TaskFlowDate.formatTime(TaskFlowDate.toMinuteOfDay(hourOfDay, minute)));
                     },
                     selectedHour[0],
                     selectedMinute[0],
@@ -157,6 +224,9 @@ public class TodoListActivity extends AppCompatActivity {
             timePickerDialog.show();
         });
 
+        // 반복 설정
+        RecurrencePicker recurrencePicker = new RecurrencePicker(dialog);
+
         // 추가 버튼
         addBtn.setOnClickListener(v -> {
             String task = todoInput.getText().toString().trim();
@@ -165,42 +235,44 @@ public class TodoListActivity extends AppCompatActivity {
                 return;
             }
 
-            // 마감 기한을 yyyy-MM-dd (요일) 형식으로 저장
-            String deadlineDate = formatDateWithDay(selectedDeadline.getTime());
+            // 마감 기한을 날짜 키(epoch day)로 저장
+            int deadlineDay = TaskFlowDate.toEpochDay(selectedDeadline);
 
-            // 시간을 HH:mm 형식으로 저장
-            String deadlineTime = String.format(Locale.getDefault(), "%02d:%02d", selectedHour[0], selectedMinute[0]);
+            // 시간을 자정부터의 분으로 저장
+            int deadlineMinute = TaskFlowDate.toMinuteOfDay(selectedHour[0], selectedMinute[0]);
 
-            // DB에 추가
-            long result = dbHelper.addTodo(deadlineDate, deadlineTime, task);
-            if (result != -1) {
-                loadTodoList();
-                TaskFlowUI.showText(this, "추가되었습니다.");
-                dialog.dismiss();
+            if (recurrencePicker.isRepeating() && !recurrencePicker.endsOnOrAfter(deadlineDay)) {
+                TaskFlowUI.showText(this, "반복 종료일은 마감 기한 이후여야 합니다.");
+                return;
+            }
+            if (recurrencePicker.isRepeating() && !recurrencePicker.supportsStartDay(deadlineDay)) {
+                TaskFlowUI.showText(this, "반복 할 일은 1970년 1월 1일부터 2149년 6월 6일까지만 설정할 수 있습니다.");
+                return;
+            }
+
+            TodoRepository.Callback<Long> onAdded = result -> {
+                if (result != -1) {
+                    TaskFlowUI.showText(this, "추가되었습니다.");
+                    dialog.dismiss();
+                } else {
+                    addBtn.setEnabled(true);
+                    TaskFlowUI.showText(this, "추가 실패. 다시 시도해주세요.");
+                }
+            };
+
+            // DB에 추가 (중복 추가 방지를 위해 저장이 끝날 때까지 버튼 비활성화)
+            // 반복 할 일은 규칙만 저장하고, 날짜별 항목은 목록과 캘린더를 조회할 때 계산
+            addBtn.setEnabled(false);
+            if (recurrencePicker.isRepeating()) {
+                repository.addRecurrence(this, recurrencePicker.build(deadlineDay, deadlineMinute, task), onAdded);
             } else {
-                TaskFlowUI.showText(this, "추가 실패. 다시 시도해주세요.");
+                repository.addTodo(this, deadlineDay, deadlineMinute, task, onAdded);
             }
         });
 
         dialog.show();
     }
 
-    /**
-     * 날짜를 yyyy-MM-dd (요일) 형식으로 포맷합니다.
-     * 
-     * @param date 변환할 날짜
-     * @return yyyy-MM-dd (요일) 형식의 문자열
-     */
-    private String formatDateWithDay(java.util.Date date) {
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-        SimpleDateFormat dayFormat = new SimpleDateFormat("E", Locale.KOREAN);
-
-        String formattedDate = dateFormat.format(date);
-        String dayOfWeek = dayFormat.format(date);
-
-        return formattedDate + " (" + dayOfWeek + ")";
-    }
-
     /**
      * 현재 활성화된 네비게이션 버튼을 하이라이트합니다.
      */
@@ -239,12 +311,16 @@ public class TodoListActivity extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
-        // 캘린더에서 돌아왔을 때 할 일 목록 새로고침
-        loadTodoList();
+        // 변경은 이벤트로 반영되므로 날짜가 바뀐 경우에만 다시 조회
+        if (loadedDay != TaskFlowDate.today()) {
+            loadTodoList();
+        }
     }
 
     @Override
     protected void onPause() {
         super.onPause();
+        // 모아 둔 완료 체크를 즉시 저장
+        repository.flushPendingCompletions();
     }
 }
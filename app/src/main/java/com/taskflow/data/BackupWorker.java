@@ -0,0 +1,59 @@
+package com.taskflow.data;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 하루 한 번 {@link TodoBackupStore}로 자동 백업을 실행하는 WorkManager 작업
+ * 기기가 유휴 상태이고 배터리가 충분할 때(주로 밤사이) 실행되며, 실패하면 MAX_ATTEMPTS번까지 다시 시도합니다.
+ */
+public class BackupWorker extends Worker {
+    private static final String TAG = "BackupWorker";
+
+    // 중복 등록을 막기 위한 작업 이름
+    private static final String WORK_NAME = "todo-nightly-backup";
+    // 한 번의 예약 실행에서 다시 시도하는 최대 횟수 (넘으면 다음 날 실행에 맡김)
+    private static final int MAX_ATTEMPTS = 3;
+
+    public BackupWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * 매일 자동 백업을 예약합니다. 이미 예약되어 있으면 그대로 둡니다.
+     *
+     * @param context 컨텍스트
+     */
+    public static void schedule(Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiresDeviceIdle(true)
+                .setRequiresBatteryNotLow(true)
+                .build();
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(BackupWorker.class, 1, TimeUnit.DAYS)
+                .setConstraints(constraints)
+                .build();
+        WorkManager.getInstance(context)
+                .enqueueUniquePeriodicWork(WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            new TodoBackupStore(getApplicationContext()).runBackup();
+            return Result.success();
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Nightly backup failed (attempt " + (getRunAttemptCount() + 1) + ")", e);
+            return getRunAttemptCount() < MAX_ATTEMPTS ? Result.retry() : Result.failure();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.taskflow.data;
+
+import androidx.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.net.ftp.FTP;
+import org.apache.commons.net.ftp.FTPClient;
+import org.apache.commons.net.ftp.FTPReply;
+
+/**
+ * 동기화 파일을 FTP 서버의 한 디렉터리에 올리고 받는 클래스 (commons-net)
+ *
+ * - 올리기는 서버에 "이름.part"로 쓴 뒤 이름을 바꾸므로, 다른 기기는 완성된 파일만 보게 됩니다.
+ * - 중간에 끊기면 이미 올라간/받은 만큼은 건너뛰고 이어서 전송합니다. (APPE / REST)
+ * - 호스트와 포트를 그대로 받으므로 localhost에서 실행한 FTP 서버로도 동작을 확인할 수 있습니다.
+ * - 모든 메서드는 네트워크를 사용하므로 백그라운드 스레드에서 호출해야 합니다.
+ */
+public class FtpTransport implements Closeable {
+    // 전송 중인 파일의 접미사
+    static final String PART_SUFFIX = ".part";
+
+    // 연결/응답 대기 시간
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(15);
+    private static final Duration DATA_TIMEOUT = Duration.ofSeconds(30);
+
+    // 전송 버퍼 크기
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FTPClient client = new FTPClient();
+    private final String host;
+    private final int port;
+    private final String user;
+    private final String password;
+    private final String remoteDir;
+
+    /**
+     * 생성자 (연결은 {@link #connect()}에서)
+     *
+     * @param remoteDir 동기화 파일을 두는 서버 디렉터리 (없으면 만듦)
+     */
+    public FtpTransport(String host, int port, String user, String password, String remoteDir) {
+        this.host = host;
+        this.port = port;
+        this.user = user;
+        this.password = password;
+        this.remoteDir = remoteDir;
+    }
+
+    /**
+     * 서버에 접속해 로그인하고 동기화 디렉터리로 이동합니다.
+     */
+    public void connect() throws IOException {
+        client.setConnectTimeout((int) CONNECT_TIMEOUT.toMillis());
+        client.setDefaultTimeout((int) DATA_TIMEOUT.toMillis());
+        client.setDataTimeout(DATA_TIMEOUT);
+        client.setBufferSize(BUFFER_SIZE);
+        client.connect(host, port);
+        check(FTPReply.isPositiveCompletion(client.getReplyCode()), "connect");
+        check(client.login(user, password), "login");
+        client.enterLocalPassiveMode();
+        check(client.setFileType(FTP.BINARY_FILE_TYPE), "binary mode");
+
+        if (!remoteDir.isEmpty() && !client.changeWorkingDirectory(remoteDir)) {
+            check(client.makeDirectory(remoteDir), "mkdir " + remoteDir);
+            check(client.changeWorkingDirectory(remoteDir), "cd " + remoteDir);
+        }
+    }
+
+    /**
+     * 동기화 디렉터리의 완성된 파일 이름 목록을 반환합니다. (전송 중인 .part 파일 제외)
+     */
+    public List<String> list() throws IOException {
+        String[] names = client.listNames();
+        check(names != null || FTPReply.isPositiveCompletion(client.getReplyCode()), "list");
+        List<String> result = new ArrayList<>();
+        if (names != null) {
+            for (String name : names) {
+                // 서버에 따라 경로를 붙여 돌려주므로 파일 이름만 사용
+                String fileName = name.substring(name.lastIndexOf('/') + 1);
+                if (!fileName.endsWith(PART_SUFFIX)) {
+                    result.add(fileName);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 로컬 파일을 올립니다. 이전에 올리다 만 부분이 있으면 그 뒤부터 이어서 올립니다.
+     *
+     * @param local      올릴 파일
+     * @param remoteName 서버에 저장할 이름
+     */
+    public void upload(File local, String remoteName) throws IOException {
+        String part = remoteName + PART_SUFFIX;
+        long offset = Math.max(remoteSize(part), 0);
+        if (offset > local.length()) {
+            // 다른 내용의 조각이 남아 있으면 처음부터
+            client.deleteFile(part);
+            offset = 0;
+        }
+
+        if (offset < local.length() || offset == 0) {
+            try (InputStream in = new BufferedInputStream(new FileInputStream(local), BUFFER_SIZE)) {
+                skipFully(in, offset);
+                client.setRestartOffset(0);
+                boolean stored = offset > 0 ? client.appendFile(part, in) : client.storeFile(part, in);
+                check(stored, "upload " + remoteName);
+            }
+        }
+        check(remoteSize(part) == local.length(), "verify " + remoteName);
+        // 같은 이름이 이미 있으면(이전 시도에서 이름 변경 후 종료) 새 파일로 교체
+        client.deleteFile(remoteName);
+        check(client.rename(part, remoteName), "rename " + remoteName);
+    }
+
+    /**
+     * 서버 파일을 받습니다. 이전에 받다 만 부분(대상 파일 이름.part)이 있으면 그 뒤부터 이어서 받습니다.
+     *
+     * @param remoteName 받을 서버 파일 이름
+     * @param target     저장할 로컬 파일
+     */
+    public void download(String remoteName, File target) throws IOException {
+        long size = remoteSize(remoteName);
+        check(size >= 0, "size " + remoteName);
+
+        File part = new File(target.getPath() + PART_SUFFIX);
+        long offset = part.length();
+        if (offset > size) {
+            part.delete();
+            offset = 0;
+        }
+        if (offset < size || size == 0) {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(part, offset > 0), BUFFER_SIZE)) {
+                client.setRestartOffset(offset);
+                check(client.retrieveFile(remoteName, out), "download " + remoteName);
+            }
+        }
+        if (part.length() != size) {
+            throw new IOException("Incomplete download " + remoteName);
+        }
+        if (!part.renameTo(target)) {
+            throw new IOException("Cannot rename " + part);
+        }
+    }
+
+    /**
+     * 서버 파일의 크기를 반환합니다. (없으면 -1)
+     */
+    private long remoteSize(String name) throws IOException {
+        String size = client.getSize(name);
+        if (size == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(size.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Unexpected SIZE reply " + size);
+        }
+    }
+
+    private static void skipFully(InputStream in, long count) throws IOException {
+        while (count > 0) {
+            long skipped = in.skip(count);
+            if (skipped <= 0) {
+                throw new IOException("Unexpected end of file");
+            }
+            count -= skipped;
+        }
+    }
+
+    /**
+     * 서버가 거부했으면 응답 내용을 담아 IOException을 던집니다. (작업자가 나중에 다시 시도)
+     */
+    private void check(boolean ok, String action) throws IOException {
+        if (!ok) {
+            throw new IOException("FTP " + action + " failed: " + replyString());
+        }
+    }
+
+    @Nullable
+    private String replyString() {
+        String reply = client.getReplyString();
+        return reply == null ? null : reply.trim();
+    }
+
+    /**
+     * 로그아웃하고 연결을 끊습니다. 이미 끊겼으면 무시합니다.
+     */
+    @Override
+    public void close() {
+        if (!client.isConnected()) {
+            return;
+        }
+        try {
+            client.logout();
+        } catch (IOException e) {
+            // 연결이 이미 끊긴 경우
+        }
+        try {
+            client.disconnect();
+        } catch (IOException e) {
+            // 닫는 중 오류는 무시
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.taskflow.data;
+
+/**
+ * 날짜 범위 안의 날짜별 할 일 개수를 담는 요약 클래스
+ * 캘린더가 한 번의 조회 결과로 모든 날짜의 점과 완료율을 그릴 수 있도록 합니다.
+ */
+public class MonthSummary {
+    private final int firstDay; // 범위 시작 날짜 (epoch day)
+    private final int[] totalCounts; // 날짜별 전체 개수
+    private final int[] completedCounts; // 날짜별 완료 개수
+
+    /**
+     * 생성자
+     *
+     * @param firstDay 범위 시작 날짜 (epoch day)
+     * @param lastDay  범위 마지막 날짜 (epoch day, 포함)
+     */
+    public MonthSummary(int firstDay, int lastDay) {
+        this.firstDay = firstDay;
+        int dayCount = Math.max(0, lastDay - firstDay + 1);
+        this.totalCounts = new int[dayCount];
+        this.completedCounts = new int[dayCount];
+    }
+
+    /**
+     * 특정 날짜의 개수를 기록합니다.
+     */
+    void set(int day, int total, int completed) {
+        if (contains(day)) {
+            totalCounts[day - firstDay] = total;
+            completedCounts[day - firstDay] = completed;
+        }
+    }
+
+    /**
+     * 특정 날짜의 개수에 더합니다. (반복 규칙에서 계산된 항목)
+     */
+    void add(int day, int total, int completed) {
+        if (contains(day)) {
+            totalCounts[day - firstDay] += total;
+            completedCounts[day - firstDay] += completed;
+        }
+    }
+
+    public int getFirstDay() {
+        return firstDay;
+    }
+
+    public int getLastDay() {
+        return firstDay + totalCounts.length - 1;
+    }
+
+    /**
+     * 날짜가 요약 범위 안에 있는지 확인합니다.
+     */
+    public boolean contains(int day) {
+        return day >= firstDay && day < firstDay + totalCounts.length;
+    }
+
+    public int getTotalCount(int day) {
+        return contains(day) ? totalCounts[day - firstDay] : 0;
+    }
+
+    public int getCompletedCount(int day) {
+        return contains(day) ? completedCounts[day - firstDay] : 0;
+    }
+
+    public boolean hasTodos(int day) {
+        return getTotalCount(day) > 0;
+    }
+
+    /**
+     * 해당 날짜의 완료율을 반환합니다.
+     *
+     * @return 0.0 ~ 1.0 (할 일이 없으면 0)
+     */
+    public float getCompletionRatio(int day) {
+        int total = getTotalCount(day);
+        return total == 0 ? 0f : (float) getCompletedCount(day) / total;
+    }
+}
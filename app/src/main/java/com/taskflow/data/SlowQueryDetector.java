@@ -0,0 +1,265 @@
+package com.taskflow.data;
+
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
+import android.os.CancellationSignal;
+import android.os.SystemClock;
+import android.util.Log;
+import androidx.annotation.Nullable;
+import com.taskflow.BuildConfig;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 디버그 빌드에서 TodoDBHelper의 조회 시간을 재고, 기준보다 느린 조회의 실행 계획을 남기는 래퍼
+ *
+ * - 기준 시간(BuildConfig.SLOW_QUERY_THRESHOLD_MS, {@link #setThresholdMillis}로 변경)을 넘으면
+ *   같은 SQL과 인자로 EXPLAIN QUERY PLAN을 실행해 계획과 인자 형태(값은 남기지 않음)를 기록합니다.
+ * - todo_table(또는 SQL에서 붙인 별칭)을 범위 조건 없이 훑는 계획은 전체 스캔으로 표시하고 경고 로그를 남깁니다.
+ *   인덱스 없는 SCAN은 항상, 인덱스(커버링 포함)를 처음부터 훑는 SCAN은 LIMIT으로 인덱스 순서대로 읽다 멈추는
+ *   경우(정렬용 임시 B-tree 없음)가 아니면 전체 스캔입니다. 범위 조건이 있으면 SCAN이 아니라 SEARCH로 표시됩니다.
+ * - 기록은 최근 MAX_CAPTURES개만 메모리에 두며, 테스트에서 {@link #getCaptures()}로 확인할 수 있습니다.
+ * - 릴리스 빌드에서는 꺼져 있어 rawQuery를 그대로 호출합니다.
+ */
+public final class SlowQueryDetector {
+    private static final String TAG = "SlowQuery";
+
+    // 보관하는 느린 조회 기록 수
+    private static final int MAX_CAPTURES = 100;
+
+    // 계획의 스캔 단계 (SQLite 3.36 이전은 "SCAN TABLE todo_table AS t", 이후는 별칭만 "SCAN t"로 표시됨)
+    private static final Pattern SCAN_STEP = Pattern.compile(
+            "\\bSCAN (?:TABLE )?(\\w+)(?: AS (\\w+))?( USING (?:COVERING )?INDEX)?");
+
+    // SQL에서 todo_table을 가리키는 이름과 별칭 ("FROM todo_table t", "JOIN todo_table AS t" 등)
+    private static final Pattern TODO_TABLE_REF = Pattern.compile(
+            "(?:\\b(?:FROM|JOIN|UPDATE|INTO)\\s+|,\\s*)" + TodoDBHelper.TABLE_TODO + "\\b(?:\\s+(?:AS\\s+)?(\\w+))?",
+            Pattern.CASE_INSENSITIVE);
+
+    // 테이블 이름 뒤에 올 수 있지만 별칭이 아닌 키워드
+    private static final Set<String> NOT_ALIAS = new HashSet<>(Arrays.asList(
+            "WHERE", "ON", "USING", "JOIN", "LEFT", "INNER", "CROSS", "NATURAL", "OUTER", "ORDER", "GROUP",
+            "HAVING", "LIMIT", "INDEXED", "NOT", "UNION", "EXCEPT", "INTERSECT", "SET", "VALUES", "SELECT",
+            "DEFAULT", "WINDOW", "RETURNING"));
+
+    private static final Pattern LIMIT = Pattern.compile("\\bLIMIT\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final boolean ENABLED = BuildConfig.DEBUG;
+    private static volatile long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(BuildConfig.SLOW_QUERY_THRESHOLD_MS);
+
+    private static final Deque<Capture> captures = new ArrayDeque<>();
+
+    private SlowQueryDetector() {
+    }
+
+    /**
+     * {@link SQLiteDatabase#rawQuery}를 실행합니다. 켜져 있으면 첫 결과 창을 채우는 시간까지 잽니다.
+     * (커서는 처음 읽을 때 실행되므로 개수를 미리 읽음, 호출부는 결과를 모두 읽으므로 추가 비용 없음)
+     */
+    public static Cursor rawQuery(SQLiteDatabase db, String sql, @Nullable String[] args,
+            @Nullable CancellationSignal signal) {
+        if (!ENABLED) {
+            return db.rawQuery(sql, args, signal);
+        }
+        long start = SystemClock.elapsedRealtimeNanos();
+        Cursor cursor = db.rawQuery(sql, args, signal);
+        cursor.getCount();
+        check(db, sql, args, SystemClock.elapsedRealtimeNanos() - start);
+        return cursor;
+    }
+
+    public static Cursor rawQuery(SQLiteDatabase db, String sql, @Nullable String[] args) {
+        return rawQuery(db, sql, args, null);
+    }
+
+    /**
+     * {@link DatabaseUtils#longForQuery}를 실행합니다.
+     */
+    public static long longForQuery(SQLiteDatabase db, String sql, @Nullable String[] args) {
+        if (!ENABLED) {
+            return DatabaseUtils.longForQuery(db, sql, args);
+        }
+        long start = SystemClock.elapsedRealtimeNanos();
+        long result = DatabaseUtils.longForQuery(db, sql, args);
+        check(db, sql, args, SystemClock.elapsedRealtimeNanos() - start);
+        return result;
+    }
+
+    /**
+     * {@link SQLiteDatabase#execSQL(String, Object[])}를 실행합니다. (복원처럼 todo_table을 고치는 문장용)
+     * 인자는 실행 계획을 구할 때 문자열로 바꿔 넘기며, 이는 계획에만 쓰이고 실행 결과에는 영향이 없습니다.
+     */
+    public static void execSQL(SQLiteDatabase db, String sql, Object[] args) {
+        if (!ENABLED) {
+            db.execSQL(sql, args);
+            return;
+        }
+        long start = SystemClock.elapsedRealtimeNanos();
+        db.execSQL(sql, args);
+        String[] stringArgs = new String[args.length];
+        for (int i = 0; i < args.length; i++) {
+            stringArgs[i] = args[i] == null ? null : String.valueOf(args[i]);
+        }
+        check(db, sql, stringArgs, SystemClock.elapsedRealtimeNanos() - start);
+    }
+
+    public static void execSQL(SQLiteDatabase db, String sql) {
+        execSQL(db, sql, new Object[0]);
+    }
+
+    private static void check(SQLiteDatabase db, String sql, @Nullable String[] args, long elapsedNanos) {
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+        List<String> plan = explain(db, sql, args);
+        boolean fullScan = isFullScan(sql, plan);
+        Capture capture = new Capture(sql, argShapes(args), elapsedNanos, plan, fullScan);
+        synchronized (captures) {
+            if (captures.size() == MAX_CAPTURES) {
+                captures.removeFirst();
+            }
+            captures.addLast(capture);
+        }
+        if (fullScan) {
+            Log.w(TAG, capture.toString());
+        } else {
+            Log.d(TAG, capture.toString());
+        }
+    }
+
+    /**
+     * 계획에 todo_table을 범위 조건 없이 끝까지 훑는 단계가 있는지 확인합니다.
+     */
+    private static boolean isFullScan(String sql, List<String> plan) {
+        Set<String> names = todoTableNames(sql);
+        // LIMIT이 있고 정렬을 따로 하지 않으면 인덱스 순서대로 읽다가 멈춤
+        boolean stopsEarly = LIMIT.matcher(sql).find();
+        for (String step : plan) {
+            if (step.contains("TEMP B-TREE")) {
+                stopsEarly = false;
+            }
+        }
+        for (String step : plan) {
+            Matcher scan = SCAN_STEP.matcher(step);
+            while (scan.find()) {
+                boolean todoTable = names.contains(scan.group(1).toLowerCase(Locale.ROOT))
+                        || (scan.group(2) != null && names.contains(scan.group(2).toLowerCase(Locale.ROOT)));
+                if (todoTable && (scan.group(3) == null || !stopsEarly)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * SQL에서 todo_table을 가리키는 이름(테이블 이름과 별칭)을 소문자로 모읍니다.
+     */
+    private static Set<String> todoTableNames(String sql) {
+        Set<String> names = new HashSet<>();
+        names.add(TodoDBHelper.TABLE_TODO.toLowerCase(Locale.ROOT));
+        Matcher ref = TODO_TABLE_REF.matcher(sql);
+        while (ref.find()) {
+            String alias = ref.group(1);
+            if (alias != null && !NOT_ALIAS.contains(alias.toUpperCase(Locale.ROOT))) {
+                names.add(alias.toLowerCase(Locale.ROOT));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 같은 SQL과 인자로 EXPLAIN QUERY PLAN을 실행해 단계별 설명(detail 열)을 반환합니다.
+     */
+    private static List<String> explain(SQLiteDatabase db, String sql, @Nullable String[] args) {
+        List<String> plan = new ArrayList<>();
+        try (Cursor cursor = db.rawQuery("EXPLAIN QUERY PLAN " + sql, args)) {
+            int detailIndex = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.add(cursor.getString(detailIndex));
+            }
+        } catch (SQLiteException | IllegalArgumentException e) {
+            plan.add("EXPLAIN failed: " + e.getMessage());
+        }
+        return plan;
+    }
+
+    /**
+     * 인자 값 대신 형태만 남깁니다. (검색어 등 사용자 데이터가 로그에 남지 않도록)
+     */
+    private static List<String> argShapes(@Nullable String[] args) {
+        if (args == null) {
+            return Collections.emptyList();
+        }
+        List<String> shapes = new ArrayList<>(args.length);
+        for (String arg : args) {
+            if (arg == null) {
+                shapes.add("null");
+            } else if (arg.matches("-?\\d+")) {
+                shapes.add("int");
+            } else {
+                shapes.add("text(" + arg.length() + ")");
+            }
+        }
+        return shapes;
+    }
+
+    /**
+     * 기록된 느린 조회를 오래된 순서로 반환합니다.
+     */
+    public static List<Capture> getCaptures() {
+        synchronized (captures) {
+            return new ArrayList<>(captures);
+        }
+    }
+
+    public static void clearCaptures() {
+        synchronized (captures) {
+            captures.clear();
+        }
+    }
+
+    /**
+     * 느린 조회로 볼 기준 시간을 바꿉니다. (0이면 모든 조회의 계획을 기록)
+     */
+    public static void setThresholdMillis(long millis) {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * 기준 시간을 넘은 조회 하나의 기록
+     */
+    public static final class Capture {
+        public final String sql;
+        public final List<String> argShapes;
+        public final long elapsedNanos;
+        public final List<String> plan;
+        public final boolean fullScan;
+
+        Capture(String sql, List<String> argShapes, long elapsedNanos, List<String> plan, boolean fullScan) {
+            this.sql = sql;
+            this.argShapes = Collections.unmodifiableList(argShapes);
+            this.elapsedNanos = elapsedNanos;
+            this.plan = Collections.unmodifiableList(plan);
+            this.fullScan = fullScan;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s%.1fms %s %s%n  plan: %s",
+                    fullScan ? "[FULL SCAN] " : "", elapsedNanos / 1e6, sql, argShapes, String.join(" | ", plan));
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.taskflow.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+import androidx.annotation.VisibleForTesting;
+import androidx.security.crypto.EncryptedSharedPreferences;
+import androidx.security.crypto.MasterKey;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.UUID;
+
+/**
+ * FTP 동기화 설정과 진행 상태를 저장하는 클래스 (SharedPreferences)
+ *
+ * - 서버 정보와 사용 여부는 설정 화면에서 저장합니다.
+ * - 비밀번호는 Android 키스토어의 키로 암호화한 별도 파일(EncryptedSharedPreferences)에 저장합니다.
+ *   이전 버전이 일반 설정 파일에 저장한 비밀번호는 처음 읽을 때 옮기고 지웁니다.
+ * - 이 기기의 ID, 마지막으로 올린 변경 순번, 기기별로 마지막으로 받은 순번은 동기화 엔진이 기록합니다.
+ */
+public class SyncSettings {
+    private static final String TAG = "SyncSettings";
+
+    // 설정 파일 이름
+    private static final String PREFS_NAME = "taskflow_sync";
+    // 암호화된 설정 파일 이름에 붙이는 접미사
+    private static final String SECRET_SUFFIX = "_secret";
+
+    // 설정 키
+    private static final String KEY_ENABLED = "enabled";
+    private static final String KEY_HOST = "host";
+    private static final String KEY_PORT = "port";
+    private static final String KEY_USER = "user";
+    private static final String KEY_PASSWORD = "password";
+    private static final String KEY_REMOTE_DIR = "remote_dir";
+    private static final String KEY_DEVICE_ID = "device_id";
+    private static final String KEY_LAST_PUSHED_SEQ = "last_pushed_seq";
+    private static final String KEY_PULLED_PREFIX = "pulled_";
+
+    // 기본값
+    public static final int DEFAULT_PORT = 21;
+    public static final String DEFAULT_REMOTE_DIR = "taskflow";
+
+    // 아직 아무것도 올리지 않았음 (첫 동기화는 전체 항목을 올림)
+    static final long NOT_PUSHED = -1;
+
+    private final Context context;
+    private final String secretPrefsName;
+    private final SharedPreferences prefs;
+    // 암호화된 설정 (키스토어 접근이 느리므로 비밀번호가 필요할 때 처음 만듦)
+    private SharedPreferences secretPrefs;
+
+    /**
+     * 생성자
+     *
+     * @param context 컨텍스트
+     */
+    public SyncSettings(Context context) {
+        this(context, PREFS_NAME);
+    }
+
+    /**
+     * 설정 파일 이름을 지정해 만듭니다. (테스트에서 기기마다 다른 ID와 진행 상태를 쓸 때 사용)
+     *
+     * @param prefsName 설정 파일 이름 (비밀번호는 이름에 "_secret"을 붙인 파일에 저장)
+     */
+    @VisibleForTesting
+    public SyncSettings(Context context, String prefsName) {
+        this.context = context.getApplicationContext();
+        this.secretPrefsName = prefsName + SECRET_SUFFIX;
+        this.prefs = this.context.getSharedPreferences(prefsName, Context.MODE_PRIVATE);
+    }
+
+    public boolean isEnabled() {
+        return prefs.getBoolean(KEY_ENABLED, false);
+    }
+
+    public String getHost() {
+        return prefs.getString(KEY_HOST, "");
+    }
+
+    public int getPort() {
+        return prefs.getInt(KEY_PORT, DEFAULT_PORT);
+    }
+
+    public String getUser() {
+        return prefs.getString(KEY_USER, "");
+    }
+
+    public String getPassword() {
+        return getSecretPrefs().getString(KEY_PASSWORD, "");
+    }
+
+    public String getRemoteDir() {
+        return prefs.getString(KEY_REMOTE_DIR, DEFAULT_REMOTE_DIR);
+    }
+
+    /**
+     * 서버 정보와 사용 여부를 저장합니다.
+     * 암호화된 설정을 열 수 없으면 아무것도 저장하지 않고 IllegalStateException이 발생합니다.
+     */
+    public void save(boolean enabled, String host, int port, String user, String password, String remoteDir) {
+        SharedPreferences secret = getSecretPrefs();
+        prefs.edit()
+                .putBoolean(KEY_ENABLED, enabled)
+                .putString(KEY_HOST, host)
+                .putInt(KEY_PORT, port)
+                .putString(KEY_USER, user)
+                .putString(KEY_REMOTE_DIR, remoteDir)
+                .apply();
+        secret.edit().putString(KEY_PASSWORD, password).apply();
+    }
+
+    /**
+     * 암호화된 설정을 엽니다.
+     * 다른 기기에서 복원된 파일처럼 이 기기의 키로 풀 수 없으면 지우고 새로 만듭니다. (비밀번호는 다시 입력)
+     */
+    private synchronized SharedPreferences getSecretPrefs() {
+        if (secretPrefs == null) {
+            try {
+                secretPrefs = openSecretPrefs();
+            } catch (GeneralSecurityException | IOException e) {
+                Log.e(TAG, "Cannot decrypt sync settings, resetting them", e);
+                context.deleteSharedPreferences(secretPrefsName);
+                try {
+                    secretPrefs = openSecretPrefs();
+                } catch (GeneralSecurityException | IOException retry) {
+                    throw new IllegalStateException("Cannot open encrypted sync settings", retry);
+                }
+            }
+            // 이전 버전이 평문으로 저장한 비밀번호를 옮김
+            String legacy = prefs.getString(KEY_PASSWORD, null);
+            if (legacy != null) {
+                secretPrefs.edit().putString(KEY_PASSWORD, legacy).commit();
+                prefs.edit().remove(KEY_PASSWORD).commit();
+            }
+        }
+        return secretPrefs;
+    }
+
+    private SharedPreferences openSecretPrefs() throws GeneralSecurityException, IOException {
+        MasterKey masterKey = new MasterKey.Builder(context)
+                .setKeyScheme(MasterKey.KeyScheme.AES256_GCM)
+                .build();
+        return EncryptedSharedPreferences.create(context, secretPrefsName, masterKey,
+                EncryptedSharedPreferences.PrefKeyEncryptionScheme.AES256_SIV,
+                EncryptedSharedPreferences.PrefValueEncryptionScheme.AES256_GCM);
+    }
+
+    /**
+     * 이 기기의 ID를 반환합니다. 처음 호출할 때 만들어 저장합니다.
+     * 서버 파일 이름에 들어가므로 '-' 없이 만듭니다.
+     */
+    synchronized String getDeviceId() {
+        String deviceId = prefs.getString(KEY_DEVICE_ID, null);
+        if (deviceId == null) {
+            deviceId = UUID.randomUUID().toString().replace("-", "");
+            prefs.edit().putString(KEY_DEVICE_ID, deviceId).commit();
+        }
+        return deviceId;
+    }
+
+    long getLastPushedSeq() {
+        return prefs.getLong(KEY_LAST_PUSHED_SEQ, NOT_PUSHED);
+    }
+
+    void setLastPushedSeq(long seq) {
+        prefs.edit().putLong(KEY_LAST_PUSHED_SEQ, seq).commit();
+    }
+
+    /**
+     * 다른 기기에서 마지막으로 받아 반영한 변경 순번을 반환합니다. (받은 적 없으면 0)
+     */
+    long getPulledSeq(String deviceId) {
+        return prefs.getLong(KEY_PULLED_PREFIX + deviceId, 0);
+    }
+
+    void setPulledSeq(String deviceId, long seq) {
+        prefs.edit().putLong(KEY_PULLED_PREFIX + deviceId, seq).commit();
+    }
+
+    /**
+     * 동기화 진행 상태를 지웁니다. 다시 켜면 전체 항목을 올리고 다른 기기의 파일을 처음부터 받습니다.
+     */
+    void resetProgress() {
+        SharedPreferences.Editor editor = prefs.edit().remove(KEY_LAST_PUSHED_SEQ);
+        for (String key : prefs.getAll().keySet()) {
+            if (key.startsWith(KEY_PULLED_PREFIX)) {
+                editor.remove(key);
+            }
+        }
+        editor.commit();
+    }
+}
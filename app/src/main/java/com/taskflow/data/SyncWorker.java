@@ -0,0 +1,100 @@
+package com.taskflow.data;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TodoSyncEngine}으로 FTP 동기화를 실행하는 WorkManager 작업
+ * 네트워크가 연결되어 있을 때만 실행되며, 서버에 닿지 못하면 간격을 늘려 가며 다시 시도합니다.
+ */
+public class SyncWorker extends Worker {
+    private static final String TAG = "SyncWorker";
+
+    // 중복 등록을 막기 위한 작업 이름
+    private static final String PERIODIC_WORK_NAME = "todo-ftp-sync";
+    private static final String ONE_TIME_WORK_NAME = "todo-ftp-sync-now";
+
+    // 주기 동기화 간격
+    private static final long SYNC_INTERVAL_HOURS = 1;
+
+    // 재시도 첫 대기 시간 (실패할 때마다 두 배로 늘어남)
+    private static final long BACKOFF_SECONDS = 30;
+
+    // 이 횟수만큼 연속으로 실패하면 다음 주기까지 포기 (받은 파일이 손상된 경우 등)
+    private static final int MAX_ATTEMPTS = 8;
+
+    public SyncWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * 주기 동기화를 예약합니다. 이미 예약되어 있으면 그대로 둡니다.
+     *
+     * @param context 컨텍스트
+     */
+    public static void schedule(Context context) {
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(SyncWorker.class,
+                SYNC_INTERVAL_HOURS, TimeUnit.HOURS)
+                .setConstraints(constraints())
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_SECONDS, TimeUnit.SECONDS)
+                .build();
+        WorkManager.getInstance(context)
+                .enqueueUniquePeriodicWork(PERIODIC_WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    /**
+     * 지금 한 번 동기화합니다. 이미 대기 중인 요청이 있으면 그대로 둡니다.
+     *
+     * @param context 컨텍스트
+     */
+    public static void syncNow(Context context) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(SyncWorker.class)
+                .setConstraints(constraints())
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_SECONDS, TimeUnit.SECONDS)
+                .build();
+        WorkManager.getInstance(context)
+                .enqueueUniqueWork(ONE_TIME_WORK_NAME, ExistingWorkPolicy.KEEP, request);
+    }
+
+    /**
+     * 예약된 동기화를 모두 취소합니다.
+     *
+     * @param context 컨텍스트
+     */
+    public static void cancel(Context context) {
+        WorkManager workManager = WorkManager.getInstance(context);
+        workManager.cancelUniqueWork(PERIODIC_WORK_NAME);
+        workManager.cancelUniqueWork(ONE_TIME_WORK_NAME);
+    }
+
+    private static Constraints constraints() {
+        return new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            new TodoSyncEngine(getApplicationContext()).sync();
+            return Result.success();
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Sync failed (attempt " + (getRunAttemptCount() + 1) + ")", e);
+            return getRunAttemptCount() < MAX_ATTEMPTS ? Result.retry() : Result.failure();
+        }
+    }
+}
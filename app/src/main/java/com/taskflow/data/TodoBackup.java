@@ -0,0 +1,547 @@
+package com.taskflow.data;
+
+import android.os.CancellationSignal;
+import androidx.annotation.Nullable;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.taskflow.utils.TaskFlowDate;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 투두 데이터 백업 파일(JSON)을 쓰고 읽는 클래스
+ *
+ * 파일 형식:
+ * {"format": "taskflow-backup", "version": 2, "type": "full" | "delta", "exportedAt": 밀리초,
+ *  "fromSeq": 이전 백업의 변경 순번 (delta만), "seq": 이 백업에 반영된 변경 순번,
+ *  "todos": [{"id", "uid", "day", "minute", "task", "completed", "createdAt"} | {"id", "uid", "deleted": true}, ...],
+ *  "recurrences": [{"uid", "task", "minute", "freq", "weekdays", "startDay", "endDay", "createdAt"}
+ *                  | {"uid", "deleted": true}, ...],
+ *  "overrides": [{"recurrence": 규칙 uid, "day", "completed", "skipped", "task"}
+ *                | {"recurrence", "day", "deleted": true}, ...],
+ *  "count": 할 일 항목 수}
+ *
+ * 전체 백업(full)은 모든 항목을, 증분 백업(delta)은 변경 순번 fromSeq 이후 바뀐 항목만 담습니다.
+ * 전체 백업 위에 증분 백업을 순서대로 병합 복원하면 마지막 증분 시점의 데이터가 됩니다.
+ * 동기화도 같은 형식을 쓰며, 기기마다 다른 id 대신 uid로 항목을 맞춥니다. (uid가 없는 이전 백업도 읽을 수 있음)
+ * 반복 규칙과 날짜별 예외는 복원 방식과 관계없이 규칙 uid로 맞춥니다. 이전 앱은 모르는 필드를 건너뛰므로 버전은 그대로입니다.
+ *
+ * 항목은 커서에서 읽는 즉시 JsonWriter로 흘려 보내므로 항목 수와 관계없이 메모리 사용량이 일정합니다.
+ * 항목 수는 다 쓴 뒤에야 알 수 있으므로 목록 뒤에 기록합니다.
+ * 복원도 JsonReader로 한 항목씩 읽어 파일 전체를 메모리에 올리지 않습니다.
+ */
+public final class TodoBackup {
+    // 파일 형식 식별자 및 버전
+    static final String FORMAT = "taskflow-backup";
+    static final int VERSION = 2;
+
+    // 백업 종류
+    static final String TYPE_FULL = "full";
+    static final String TYPE_DELTA = "delta";
+
+    // 최상위 필드 이름
+    static final String FIELD_FORMAT = "format";
+    static final String FIELD_VERSION = "version";
+    static final String FIELD_TYPE = "type";
+    static final String FIELD_FROM_SEQ = "fromSeq";
+    static final String FIELD_SEQ = "seq";
+    static final String FIELD_EXPORTED_AT = "exportedAt";
+    static final String FIELD_TODOS = "todos";
+    static final String FIELD_RECURRENCES = "recurrences";
+    static final String FIELD_OVERRIDES = "overrides";
+    static final String FIELD_COUNT = "count";
+
+    // 항목 필드 이름
+    static final String FIELD_ID = "id";
+    static final String FIELD_UID = "uid";
+    static final String FIELD_DAY = "day";
+    static final String FIELD_MINUTE = "minute";
+    static final String FIELD_TASK = "task";
+    static final String FIELD_COMPLETED = "completed";
+    static final String FIELD_CREATED_AT = "createdAt";
+    static final String FIELD_DELETED = "deleted";
+
+    // 반복 규칙/날짜별 예외 필드 이름
+    static final String FIELD_FREQ = "freq";
+    static final String FIELD_WEEKDAYS = "weekdays";
+    static final String FIELD_START_DAY = "startDay";
+    static final String FIELD_END_DAY = "endDay";
+    static final String FIELD_RECURRENCE = "recurrence";
+    static final String FIELD_SKIPPED = "skipped";
+
+    // 입출력 버퍼 크기 (작은 읽기/쓰기가 매번 파일/프로바이더까지 가지 않도록)
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 복원 방식
+     */
+    public enum Mode {
+        // 기존 항목을 모두 지우고 백업 내용으로 교체
+        REPLACE,
+        // 같은 ID는 백업 내용으로 덮어쓰고 나머지 기존 항목은 유지
+        MERGE,
+        // 다른 기기의 변경을 uid 기준으로 반영 (이 기기의 변경으로 다시 올리지 않음)
+        SYNC
+    }
+
+    /**
+     * 진행률 리스너
+     */
+    public interface ProgressListener {
+        /**
+         * @param done  지금까지 처리한 항목 수
+         * @param total 전체 항목 수 (시작 시점 기준, 알 수 없으면 0)
+         */
+        void onProgress(int done, int total);
+    }
+
+    private TodoBackup() {
+    }
+
+    /**
+     * 모든 투두 항목을 백업 파일 형식으로 씁니다. (백그라운드 스레드에서 호출)
+     * 출력 스트림은 호출한 쪽에서 닫습니다.
+     *
+     * @param dbHelper 데이터베이스 헬퍼
+     * @param out      출력 스트림
+     * @param signal   취소 신호 (취소되면 OperationCanceledException 발생)
+     * @param listener 진행률 리스너 (호출한 스레드에서 호출됨)
+     * @return 내보낸 할 일 항목 수 (반복 규칙과 날짜별 예외 제외)
+     */
+    static int export(TodoDBHelper dbHelper, OutputStream out, @Nullable CancellationSignal signal,
+            @Nullable ProgressListener listener) throws IOException {
+        return export(dbHelper, out, dbHelper.getChangeSeq(), signal, listener);
+    }
+
+    /**
+     * 모든 투두 항목을 전체 백업으로 씁니다.
+     *
+     * @param seq 이 백업에 반영된 변경 순번, 항목을 읽기 전에 구해야 내보내는 중에 바뀐 항목이
+     *            다음 증분 백업에 다시 포함됨
+     */
+    static int export(TodoDBHelper dbHelper, OutputStream out, long seq, @Nullable CancellationSignal signal,
+            @Nullable ProgressListener listener) throws IOException {
+        JsonWriter writer = beginDocument(out, TYPE_FULL);
+        writer.name(FIELD_SEQ).value(seq);
+
+        writer.name(FIELD_TODOS).beginArray();
+        int count = dbHelper.exportTodos(writer, signal, listener);
+        writer.endArray();
+        writer.name(FIELD_RECURRENCES).beginArray();
+        dbHelper.exportRecurrences(writer, signal);
+        writer.endArray();
+        writer.name(FIELD_OVERRIDES).beginArray();
+        dbHelper.exportOverrides(writer, signal);
+        writer.endArray();
+        endDocument(writer, count);
+        return count;
+    }
+
+    /**
+     * 변경 순번 (fromSeq, toSeq] 사이에 바뀐 항목만 증분 백업 형식으로 씁니다. (백그라운드 스레드에서 호출)
+     * 출력 스트림은 호출한 쪽에서 닫습니다.
+     *
+     * @param localOnly true면 이 기기에서 바뀐 항목만 씀 (동기화로 받은 변경 제외)
+     * @return 쓴 항목 수 (반복 규칙과 날짜별 예외 포함, 0이면 보낼 변경 없음)
+     */
+    static int exportChanges(TodoDBHelper dbHelper, OutputStream out, long fromSeq, long toSeq,
+            boolean localOnly, @Nullable CancellationSignal signal) throws IOException {
+        JsonWriter writer = beginDocument(out, TYPE_DELTA);
+        writer.name(FIELD_FROM_SEQ).value(fromSeq);
+        writer.name(FIELD_SEQ).value(toSeq);
+
+        writer.name(FIELD_TODOS).beginArray();
+        int count = dbHelper.exportChanges(writer, fromSeq, toSeq, localOnly, signal);
+        writer.endArray();
+        writer.name(FIELD_RECURRENCES).beginArray();
+        int recurrences = dbHelper.exportRecurrenceChanges(writer, fromSeq, toSeq, localOnly, signal);
+        writer.endArray();
+        writer.name(FIELD_OVERRIDES).beginArray();
+        int overrides = dbHelper.exportOverrideChanges(writer, fromSeq, toSeq, localOnly, signal);
+        writer.endArray();
+        endDocument(writer, count);
+        return count + recurrences + overrides;
+    }
+
+    private static JsonWriter beginDocument(OutputStream out, String type) throws IOException {
+        // 중간에 실패하면 JsonWriter.close()가 "Incomplete document"로 원래 예외를 가리므로
+        // JsonWriter는 닫지 않고 flush만 하며, 스트림은 호출한 쪽에서 닫음
+        Writer buffered = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        JsonWriter writer = new JsonWriter(buffered);
+        writer.beginObject();
+        writer.name(FIELD_FORMAT).value(FORMAT);
+        writer.name(FIELD_VERSION).value(VERSION);
+        writer.name(FIELD_TYPE).value(type);
+        writer.name(FIELD_EXPORTED_AT).value(System.currentTimeMillis());
+        return writer;
+    }
+
+    private static void endDocument(JsonWriter writer, int count) throws IOException {
+        writer.name(FIELD_COUNT).value(count);
+        writer.endObject();
+        writer.flush();
+    }
+
+    /**
+     * 백업 파일을 읽어 데이터베이스에 복원합니다. (쓰기 스레드에서 호출)
+     * 증분 백업은 병합 방식으로 복원해야 삭제 표시가 반영됩니다.
+     * 항목은 임시 테이블에 나눠 커밋하며 쌓고, 끝까지 읽은 뒤에만 한 트랜잭션으로 todo_table에 반영하므로
+     * 형식 오류, 취소, 앱 종료 중 어느 경우에도 기존 데이터는 그대로 남습니다.
+     * 입력 스트림은 호출한 쪽에서 닫습니다.
+     *
+     * @param dbHelper 데이터베이스 헬퍼
+     * @param in       입력 스트림
+     * @param mode     복원 방식
+     * @param signal   취소 신호 (취소되면 OperationCanceledException 발생)
+     * @param listener 진행률 리스너 (전체 수는 알 수 없으므로 total은 0)
+     * @return 복원한 항목 수
+     * @throws IOException 읽기 실패 또는 백업 파일 형식이 아닌 경우
+     */
+    static int restore(TodoDBHelper dbHelper, InputStream in, Mode mode, @Nullable CancellationSignal signal,
+            @Nullable ProgressListener listener) throws IOException {
+        JsonReader reader = new JsonReader(new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE));
+        try (TodoDBHelper.RestoreSession session = dbHelper.beginRestore(signal, listener)) {
+            boolean formatChecked = false;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case FIELD_FORMAT:
+                        if (!FORMAT.equals(reader.nextString())) {
+                            throw new IOException("Not a TaskFlow backup");
+                        }
+                        formatChecked = true;
+                        break;
+                    case FIELD_VERSION:
+                        int version = reader.nextInt();
+                        if (version > VERSION) {
+                            throw new IOException("Unsupported backup version " + version);
+                        }
+                        break;
+                    case FIELD_TODOS:
+                        // 다른 JSON 파일의 배열을 복원하지 않도록 형식 확인 후에만 읽음
+                        if (!formatChecked) {
+                            throw new IOException("Not a TaskFlow backup");
+                        }
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            readTodo(reader, session);
+                        }
+                        reader.endArray();
+                        break;
+                    case FIELD_RECURRENCES:
+                        if (!formatChecked) {
+                            throw new IOException("Not a TaskFlow backup");
+                        }
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            readRecurrence(reader, session);
+                        }
+                        reader.endArray();
+                        break;
+                    case FIELD_OVERRIDES:
+                        if (!formatChecked) {
+                            throw new IOException("Not a TaskFlow backup");
+                        }
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            readOverride(reader, session);
+                        }
+                        reader.endArray();
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            if (!formatChecked) {
+                throw new IOException("Not a TaskFlow backup");
+            }
+            return session.commit(mode);
+        }
+    }
+
+    /**
+     * 항목 하나를 읽어 복원 세션에 추가합니다. 모르는 필드는 건너뜁니다.
+     */
+    private static void readTodo(JsonReader reader, TodoDBHelper.RestoreSession session) throws IOException {
+        long id = -1;
+        String uid = null;
+        int day = Integer.MIN_VALUE;
+        int minute = TaskFlowDate.NO_TIME;
+        String task = null;
+        boolean completed = false;
+        String createdAt = null;
+        boolean deleted = false;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case FIELD_ID:
+                    id = reader.nextLong();
+                    break;
+                case FIELD_UID:
+                    uid = nextStringOrNull(reader);
+                    break;
+                case FIELD_DAY:
+                    day = reader.nextInt();
+                    break;
+                case FIELD_MINUTE:
+                    minute = reader.nextInt();
+                    break;
+                case FIELD_TASK:
+                    task = reader.nextString();
+                    break;
+                case FIELD_COMPLETED:
+                    completed = reader.nextBoolean();
+                    break;
+                case FIELD_CREATED_AT:
+                    createdAt = nextStringOrNull(reader);
+                    break;
+                case FIELD_DELETED:
+                    deleted = reader.nextBoolean();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        if (deleted && id > 0) {
+            session.addDeleted(id, uid);
+            return;
+        }
+        if (id <= 0 || day == Integer.MIN_VALUE || task == null) {
+            throw new IOException("Incomplete todo at " + reader.getPath());
+        }
+        session.add(id, day, minute, task, completed, createdAt, uid);
+    }
+
+    /**
+     * 반복 규칙 하나를 읽어 복원 세션에 추가합니다. 모르는 필드는 건너뜁니다.
+     */
+    private static void readRecurrence(JsonReader reader, TodoDBHelper.RestoreSession session) throws IOException {
+        String uid = null;
+        String task = null;
+        int minute = TaskFlowDate.NO_TIME;
+        TodoRecurrence.Frequency frequency = null;
+        int weekdays = 0;
+        int startDay = Integer.MIN_VALUE;
+        int endDay = TodoRecurrence.NO_END;
+        String createdAt = null;
+        boolean deleted = false;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case FIELD_UID:
+                    uid = nextStringOrNull(reader);
+                    break;
+                case FIELD_TASK:
+                    task = reader.nextString();
+                    break;
+                case FIELD_MINUTE:
+                    minute = reader.nextInt();
+                    break;
+                case FIELD_FREQ:
+                    String name = reader.nextString();
+                    try {
+                        frequency = TodoRecurrence.Frequency.valueOf(name);
+                    } catch (IllegalArgumentException e) {
+                        throw new IOException("Unknown frequency " + name + " at " + reader.getPath());
+                    }
+                    break;
+                case FIELD_WEEKDAYS:
+                    weekdays = reader.nextInt();
+                    break;
+                case FIELD_START_DAY:
+                    startDay = reader.nextInt();
+                    break;
+                case FIELD_END_DAY:
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+                    } else {
+                        endDay = reader.nextInt();
+                    }
+                    break;
+                case FIELD_CREATED_AT:
+                    createdAt = nextStringOrNull(reader);
+                    break;
+                case FIELD_DELETED:
+                    deleted = reader.nextBoolean();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        if (uid == null) {
+            throw new IOException("Recurrence without uid at " + reader.getPath());
+        }
+        if (deleted) {
+            session.addRecurrenceDeleted(uid);
+            return;
+        }
+        if (task == null || frequency == null || startDay == Integer.MIN_VALUE) {
+            throw new IOException("Incomplete recurrence at " + reader.getPath());
+        }
+        session.addRecurrence(uid, task, minute, frequency, weekdays, startDay, endDay, createdAt);
+    }
+
+    /**
+     * 날짜별 예외 하나를 읽어 복원 세션에 추가합니다. 모르는 필드는 건너뜁니다.
+     */
+    private static void readOverride(JsonReader reader, TodoDBHelper.RestoreSession session) throws IOException {
+        String recurrenceUid = null;
+        int day = Integer.MIN_VALUE;
+        boolean completed = false;
+        boolean skipped = false;
+        String task = null;
+        boolean deleted = false;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case FIELD_RECURRENCE:
+                    recurrenceUid = nextStringOrNull(reader);
+                    break;
+                case FIELD_DAY:
+                    day = reader.nextInt();
+                    break;
+                case FIELD_COMPLETED:
+                    completed = reader.nextBoolean();
+                    break;
+                case FIELD_SKIPPED:
+                    skipped = reader.nextBoolean();
+                    break;
+                case FIELD_TASK:
+                    task = nextStringOrNull(reader);
+                    break;
+                case FIELD_DELETED:
+                    deleted = reader.nextBoolean();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        if (recurrenceUid == null || day == Integer.MIN_VALUE) {
+            throw new IOException("Incomplete override at " + reader.getPath());
+        }
+        if (deleted) {
+            session.addOverrideDeleted(recurrenceUid, day);
+        } else {
+            session.addOverride(recurrenceUid, day, completed, skipped, task);
+        }
+    }
+
+    private static String nextStringOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    /**
+     * 삭제된 항목을 씁니다. (증분 백업)
+     */
+    static void writeDeleted(JsonWriter writer, long id, @Nullable String uid) throws IOException {
+        writer.beginObject();
+        writer.name(FIELD_ID).value(id);
+        writer.name(FIELD_UID).value(uid);
+        writer.name(FIELD_DELETED).value(true);
+        writer.endObject();
+    }
+
+    /**
+     * 항목 하나를 씁니다.
+     */
+    static void writeTodo(JsonWriter writer, long id, int day, int minute, String task, boolean completed,
+            @Nullable String createdAt, @Nullable String uid) throws IOException {
+        writer.beginObject();
+        writer.name(FIELD_ID).value(id);
+        writer.name(FIELD_UID).value(uid);
+        writer.name(FIELD_DAY).value(day);
+        writer.name(FIELD_MINUTE).value(minute);
+        writer.name(FIELD_TASK).value(task);
+        writer.name(FIELD_COMPLETED).value(completed);
+        writer.name(FIELD_CREATED_AT).value(createdAt);
+        writer.endObject();
+    }
+
+    /**
+     * 반복 규칙 하나를 씁니다.
+     *
+     * @param endDay 마지막 날짜, 없으면 {@link TodoRecurrence#NO_END} (null로 씀)
+     */
+    static void writeRecurrence(JsonWriter writer, String uid, String task, int minute,
+            TodoRecurrence.Frequency frequency, int weekdays, int startDay, int endDay, @Nullable String createdAt)
+            throws IOException {
+        writer.beginObject();
+        writer.name(FIELD_UID).value(uid);
+        writer.name(FIELD_TASK).value(task);
+        writer.name(FIELD_MINUTE).value(minute);
+        writer.name(FIELD_FREQ).value(frequency.name());
+        writer.name(FIELD_WEEKDAYS).value(weekdays);
+        writer.name(FIELD_START_DAY).value(startDay);
+        if (endDay == TodoRecurrence.NO_END) {
+            writer.name(FIELD_END_DAY).nullValue();
+        } else {
+            writer.name(FIELD_END_DAY).value(endDay);
+        }
+        writer.name(FIELD_CREATED_AT).value(createdAt);
+        writer.endObject();
+    }
+
+    /**
+     * 삭제된 반복 규칙을 씁니다. (증분 백업)
+     */
+    static void writeRecurrenceDeleted(JsonWriter writer, String uid) throws IOException {
+        writer.beginObject();
+        writer.name(FIELD_UID).value(uid);
+        writer.name(FIELD_DELETED).value(true);
+        writer.endObject();
+    }
+
+    /**
+     * 날짜별 예외 하나를 씁니다.
+     *
+     * @param task 그 날짜만 고친 내용 (없으면 null)
+     */
+    static void writeOverride(JsonWriter writer, String recurrenceUid, int day, boolean completed, boolean skipped,
+            @Nullable String task) throws IOException {
+        writer.beginObject();
+        writer.name(FIELD_RECURRENCE).value(recurrenceUid);
+        writer.name(FIELD_DAY).value(day);
+        writer.name(FIELD_COMPLETED).value(completed);
+        writer.name(FIELD_SKIPPED).value(skipped);
+        writer.name(FIELD_TASK).value(task);
+        writer.endObject();
+    }
+
+    /**
+     * 지워진 날짜별 예외를 씁니다. (증분 백업)
+     */
+    static void writeOverrideDeleted(JsonWriter writer, String recurrenceUid, int day) throws IOException {
+        writer.beginObject();
+        writer.name(FIELD_RECURRENCE).value(recurrenceUid);
+        writer.name(FIELD_DAY).value(day);
+        writer.name(FIELD_DELETED).value(true);
+        writer.endObject();
+    }
+}
@@ -0,0 +1,198 @@
+package com.taskflow.data;
+
+import android.content.Context;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 앱 내부 저장소(files/backups)에 전체 백업과 증분 백업을 쌓아 두는 자동 백업 저장소
+ *
+ * - 처음에는 전체 백업(base-순번.json)을 만들고, 이후에는 마지막 백업 이후 바뀐 항목만
+ *   증분 백업(delta-이전순번-순번.json)으로 씁니다. 백업 시간과 크기는 전체 항목 수가 아니라 그동안의 수정량에 비례합니다.
+ * - 증분이 쌓여 전체 백업 크기의 절반을 넘거나 MAX_DELTAS개가 되면 새 전체 백업을 만들고(압축) 이전 파일을 지웁니다.
+ * - 백업에 반영된 변경 로그는 바로 정리하므로(동기화도 켜져 있으면 양쪽이 모두 읽은 뒤) 로그 테이블은 하루치 수정량 정도만 유지됩니다.
+ * - 파일은 임시 이름으로 쓴 뒤 이름을 바꾸므로, 쓰는 도중 종료되어도 기존 백업은 온전합니다.
+ * - 마지막 백업 순번은 파일 이름에서 읽으므로 따로 저장하지 않습니다.
+ */
+public class TodoBackupStore {
+    // 백업 디렉터리 및 파일 이름
+    private static final String DIRECTORY = "backups";
+    private static final String BASE_PREFIX = "base-";
+    private static final String DELTA_PREFIX = "delta-";
+    private static final String SUFFIX = ".json";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    // 변경 로그 사용처 이름
+    private static final String CHANGELOG_CONSUMER = "backup";
+
+    // 새 전체 백업을 만들기 전까지 쌓아 두는 최대 증분 수
+    private static final int MAX_DELTAS = 14;
+
+    private final TodoDBHelper dbHelper;
+    private final File directory;
+
+    /**
+     * 생성자
+     *
+     * @param context 컨텍스트
+     */
+    public TodoBackupStore(Context context) {
+        this(TodoDBHelper.getInstance(context), new File(context.getFilesDir(), DIRECTORY));
+    }
+
+    /**
+     * 공유 데이터베이스와 백업 디렉터리 대신 테스트용 헬퍼와 디렉터리를 사용합니다.
+     */
+    @VisibleForTesting
+    public TodoBackupStore(TodoDBHelper dbHelper, File directory) {
+        this.dbHelper = dbHelper;
+        this.directory = directory;
+    }
+
+    /**
+     * 마지막 백업 이후의 변경을 백업합니다. (백그라운드 스레드에서 호출)
+     * 전체 백업이 없거나 증분이 너무 많이 쌓였으면 전체 백업을 새로 만듭니다.
+     *
+     * @return 새로 쓴 백업 파일 (바뀐 항목이 없으면 null)
+     */
+    @Nullable
+    public synchronized File runBackup() throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        deleteTempFiles();
+
+        File base = null;
+        List<File> deltas = new ArrayList<>();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.startsWith(BASE_PREFIX) && name.endsWith(SUFFIX)) {
+                    if (base == null || seqOf(file) > seqOf(base)) {
+                        base = file;
+                    }
+                } else if (name.startsWith(DELTA_PREFIX) && name.endsWith(SUFFIX)) {
+                    deltas.add(file);
+                }
+            }
+        }
+
+        if (base != null) {
+            // 전체 백업 이후의 증분만 유효 (이전 압축에서 지우지 못한 파일은 무시)
+            long baseSeq = seqOf(base);
+            deltas.removeIf(delta -> seqOf(delta) <= baseSeq);
+        }
+        if (base == null || shouldCompact(base, deltas)) {
+            return writeBase();
+        }
+
+        long fromSeq = seqOf(base);
+        for (File delta : deltas) {
+            fromSeq = Math.max(fromSeq, seqOf(delta));
+        }
+
+        long toSeq = dbHelper.getChangeSeq();
+        if (toSeq <= fromSeq) {
+            return null;
+        }
+        long from = fromSeq;
+        File target = new File(directory, DELTA_PREFIX + from + "-" + toSeq + SUFFIX);
+        writeAtomically(target, out -> TodoBackup.exportChanges(dbHelper, out, from, toSeq, false, null));
+        dbHelper.pruneChangeLog(CHANGELOG_CONSUMER, toSeq);
+        return target;
+    }
+
+    /**
+     * 증분이 MAX_DELTAS개가 되었거나 합친 크기가 전체 백업의 절반을 넘으면 압축합니다.
+     * 그 이상 쌓이면 복원 시 증분을 차례로 적용하는 비용이 전체 백업 하나를 읽는 것보다 커집니다.
+     */
+    private boolean shouldCompact(File base, List<File> deltas) {
+        if (deltas.size() >= MAX_DELTAS) {
+            return true;
+        }
+        long deltaBytes = 0;
+        for (File delta : deltas) {
+            deltaBytes += delta.length();
+        }
+        return deltaBytes > base.length() / 2;
+    }
+
+    /**
+     * 현재 데이터로 전체 백업을 새로 만들고, 그 이전의 백업 파일과 변경 로그를 지웁니다.
+     */
+    private File writeBase() throws IOException {
+        long seq = dbHelper.getChangeSeq();
+        File target = new File(directory, BASE_PREFIX + seq + SUFFIX);
+        writeAtomically(target, out -> TodoBackup.export(dbHelper, out, seq, null, null));
+
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!file.equals(target)) {
+                    file.delete();
+                }
+            }
+        }
+        dbHelper.pruneChangeLog(CHANGELOG_CONSUMER, seq);
+        return target;
+    }
+
+    /**
+     * 임시 파일에 모두 쓰고 디스크에 반영한 뒤 최종 이름으로 바꿉니다.
+     */
+    private void writeAtomically(File target, BackupWriter writer) throws IOException {
+        File temp = new File(directory, target.getName() + TEMP_SUFFIX);
+        try (FileOutputStream fileOut = new FileOutputStream(temp)) {
+            OutputStream out = new BufferedOutputStream(fileOut);
+            writer.write(out);
+            out.flush();
+            fileOut.getFD().sync();
+        } catch (IOException | RuntimeException e) {
+            temp.delete();
+            throw e;
+        }
+        if (!temp.renameTo(target)) {
+            temp.delete();
+            throw new IOException("Cannot rename " + temp);
+        }
+    }
+
+    private void deleteTempFiles() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.getName().endsWith(TEMP_SUFFIX)) {
+                    file.delete();
+                }
+            }
+        }
+    }
+
+    /**
+     * 파일 이름에서 그 백업에 반영된 변경 순번을 읽습니다. (base-순번.json, delta-이전순번-순번.json)
+     */
+    private static long seqOf(File file) {
+        String name = file.getName();
+        String seq = name.substring(name.lastIndexOf('-') + 1, name.length() - SUFFIX.length());
+        try {
+            return Long.parseLong(seq);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 백업 내용을 출력 스트림에 쓰는 작업
+     */
+    private interface BackupWriter {
+        void write(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,108 @@
+package com.taskflow.data;
+
+/**
+ * 투두 항목 하나에 대한 변경 이벤트
+ *
+ * 쓰기가 커밋된 뒤 데이터 계층이 발행하며, 화면은 전체를 다시 조회하는 대신
+ * 이벤트에 담긴 날짜와 완료 상태 변화만큼 캘린더 개수와 목록 행을 고칩니다.
+ */
+public final class TodoChange {
+    /**
+     * 변경 종류
+     */
+    public enum Type {
+        INSERTED,
+        UPDATED,
+        DELETED
+    }
+
+    // 추가 이벤트의 이전 날짜, 삭제 이벤트의 새 날짜
+    public static final int NO_DAY = Integer.MIN_VALUE;
+
+    private final Type type;
+    private final TodoItem item;
+    private final int oldDay;
+    private final int newDay;
+    private final boolean wasCompleted;
+    private final boolean completed;
+
+    private TodoChange(Type type, TodoItem item, int oldDay, int newDay, boolean wasCompleted, boolean completed) {
+        this.type = type;
+        this.item = item;
+        this.oldDay = oldDay;
+        this.newDay = newDay;
+        this.wasCompleted = wasCompleted;
+        this.completed = completed;
+    }
+
+    static TodoChange inserted(TodoItem item) {
+        return new TodoChange(Type.INSERTED, item, NO_DAY, item.getDay(), false, item.isCompleted());
+    }
+
+    static TodoChange updated(TodoItem before, TodoItem after) {
+        return new TodoChange(Type.UPDATED, after, before.getDay(), after.getDay(),
+                before.isCompleted(), after.isCompleted());
+    }
+
+    static TodoChange deleted(TodoItem before) {
+        return new TodoChange(Type.DELETED, before, before.getDay(), NO_DAY, before.isCompleted(), false);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getId() {
+        return item.getId();
+    }
+
+    /**
+     * 변경 후의 항목 (삭제 이벤트는 삭제 직전의 항목)
+     * 여러 화면이 같은 이벤트를 받으므로 목록에 넣을 때는 {@link TodoItem#copy()}를 사용합니다.
+     */
+    public TodoItem getItem() {
+        return item;
+    }
+
+    /**
+     * @return 변경 전 날짜 (추가 이벤트는 {@link #NO_DAY})
+     */
+    public int getOldDay() {
+        return oldDay;
+    }
+
+    /**
+     * @return 변경 후 날짜 (삭제 이벤트는 {@link #NO_DAY})
+     */
+    public int getNewDay() {
+        return newDay;
+    }
+
+    public boolean wasCompleted() {
+        return wasCompleted;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * 완료 개수 변화량을 반환합니다. 날짜가 바뀐 경우 두 날짜의 개수는 각각 계산해야 합니다.
+     *
+     * @return 완료되면 1, 완료 취소되면 -1, 그대로면 0
+     */
+    public int getCompletedDelta() {
+        return (completed ? 1 : 0) - (wasCompleted ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return "TodoChange{" +
+                "type=" + type +
+                ", id=" + getId() +
+                ", oldDay=" + oldDay +
+                ", newDay=" + newDay +
+                ", completed=" + wasCompleted + "->" + completed +
+                '}';
+    }
+}
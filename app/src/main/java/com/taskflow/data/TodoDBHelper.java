@@ -3,41 +3,238 @@ package com.taskflow.data;
 import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.os.CancellationSignal;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.gson.stream.JsonWriter;
+import com.taskflow.utils.TaskFlowDate;
+import com.taskflow.utils.TaskFlowMetrics;
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 투두리스트 데이터를 관리하는 SQLite 데이터베이스 헬퍼 클래스
  * CRUD(Create, Read, Update, Delete) 기능을 제공합니다.
+ *
+ * 앱 전체에서 하나의 인스턴스({@link #getInstance(Context)})를 공유하며,
+ * 데이터베이스 연결은 한 번 연 뒤 프로세스가 살아있는 동안 유지합니다.
+ * 날짜별 조회 결과는 LRU 캐시에 보관하고, 쓰기 시 영향을 받는 날짜만 갱신합니다.
+ * 쓰기가 커밋되면 바뀐 항목마다 변경 이벤트({@link TodoChange})를 발행합니다.
+ * 모든 변경은 트리거가 변경 로그 테이블에 순번과 함께 남겨 증분 백업에 사용합니다.
+ * 각 작업은 {@link TaskFlowMetrics} 구간으로 감싸 시스템 트레이스와 진단 화면에 실행 시간, 읽고 쓴 행 수를 남깁니다.
+ * 반복 할 일({@link TodoRecurrence})은 규칙만 저장하고, 날짜별 조회와 월 요약에서 해당 범위의 항목을 계산해 함께 돌려줍니다.
  */
 public class TodoDBHelper extends SQLiteOpenHelper {
     // 데이터베이스 버전 및 이름 상수
-    private static final int DATABASE_VERSION = 2;
+    private static final int DATABASE_VERSION = 11;
     private static final String DATABASE_NAME = "TaskFlow.db";
 
     // 테이블 및 컬럼 이름 상수
-    private static final String TABLE_TODO = "todo_table";
+    static final String TABLE_TODO = "todo_table";
     private static final String COLUMN_ID = "id";
     private static final String COLUMN_DATE = "date";
+    private static final String COLUMN_DAY = "day";
     private static final String COLUMN_TIME = "time";
+    private static final String COLUMN_MINUTE = "minute";
     private static final String COLUMN_TASK = "task";
     private static final String COLUMN_COMPLETED = "completed";
     private static final String COLUMN_CREATED_AT = "created_at";
+    private static final String COLUMN_SEARCH_TOKENS = "search_tokens";
+    // 기기 간 동기화에서 항목을 구분하는 전역 ID (기기마다 다른 로컬 id 대신 사용)
+    private static final String COLUMN_UID = "uid";
+
+    // 전문 검색 테이블 (todo_table.search_tokens를 색인하는 FTS4 외부 콘텐츠 테이블)
+    private static final String TABLE_TODO_FTS = "todo_fts";
+
+    // 변경 로그 테이블 (트리거가 todo_table, 반복 규칙, 날짜별 예외의 추가/수정/삭제마다 한 행씩 추가,
+    // 모든 사용처가 읽은 뒤 정리)
+    private static final String TABLE_CHANGELOG = "todo_changelog";
+    private static final String COLUMN_SEQ = "seq";
+    private static final String COLUMN_TODO_ID = "todo_id";
+    private static final String COLUMN_ORIGIN = "origin";
+    private static final String COLUMN_KIND = "kind";
+
+    // 변경 로그의 대상 (todo_id에 항목 ID, 규칙 ID, 날짜별 예외는 해당 반복 항목 ID를 기록)
+    private static final int KIND_TODO = 0;
+    private static final int KIND_RECURRENCE = 1;
+    private static final int KIND_OVERRIDE = 2;
+
+    // 변경 로그의 출처 (동기화로 받은 변경은 다시 올리지 않도록 구분)
+    private static final int ORIGIN_LOCAL = 0;
+    private static final int ORIGIN_SYNC = 1;
+
+    // 변경 로그 사용처(백업, 동기화)별로 어디까지 읽었는지 기록하는 테이블
+    private static final String TABLE_CHANGELOG_CURSOR = "todo_changelog_cursor";
+    private static final String COLUMN_CONSUMER = "consumer";
+
+    // 복원 중인 항목을 쌓아 두는 테이블 (복원이 끝나면 todo_table에 반영하고 삭제)
+    private static final String TABLE_RESTORE = "todo_restore";
+
+    private static final String COLUMN_RESTORE_DELETED = "deleted";
+    // 복원 중인 날짜별 예외의 규칙 uid (로컬 규칙 ID는 반영할 때 찾음)
+    private static final String COLUMN_RULE_UID = "rule_uid";
+
+    // 반복 규칙 테이블 (규칙마다 한 행, 날짜별 항목은 행을 만들지 않고 조회할 때 계산)
+    private static final String TABLE_RECURRENCE = "todo_recurrence";
+    private static final String COLUMN_FREQ = "freq";
+    private static final String COLUMN_WEEKDAYS = "weekdays";
+    private static final String COLUMN_START_DAY = "start_day";
+    private static final String COLUMN_END_DAY = "end_day";
+
+    // 반복 항목의 날짜별 예외 (완료 체크, 그 날짜만 삭제, 그 날짜만 내용 수정), 예외가 있는 날짜만 행이 있음
+    private static final String TABLE_RECURRENCE_OVERRIDE = "todo_recurrence_override";
+    private static final String COLUMN_RECURRENCE_ID = "recurrence_id";
+    private static final String COLUMN_SKIPPED = "skipped";
+
+    // 복원 시 백업에서 todo_table로 옮기는 컬럼 (동기화는 로컬 id를 제외한 나머지를 uid 기준으로 옮김)
+    private static final String SYNC_COLUMNS = COLUMN_DATE + ", " + COLUMN_DAY + ", " + COLUMN_MINUTE + ", "
+            + COLUMN_TASK + ", " + COLUMN_COMPLETED + ", " + COLUMN_CREATED_AT + ", " + COLUMN_SEARCH_TOKENS + ", "
+            + COLUMN_UID;
+    private static final String RESTORE_COLUMNS = COLUMN_ID + ", " + SYNC_COLUMNS;
+
+    // 백업에 쓰고 복원 시 옮기는 반복 규칙 컬럼 (로컬 id 대신 uid로 규칙을 맞춤)
+    private static final String RECURRENCE_RESTORE_COLUMNS = COLUMN_TASK + ", " + COLUMN_MINUTE + ", "
+            + COLUMN_FREQ + ", " + COLUMN_WEEKDAYS + ", " + COLUMN_START_DAY + ", " + COLUMN_END_DAY;
+    private static final String RECURRENCE_EXPORT_COLUMNS = COLUMN_UID + ", " + RECURRENCE_RESTORE_COLUMNS
+            + ", " + COLUMN_CREATED_AT;
+
+    // 새 uid를 만드는 SQL 식 (128비트 난수)
+    private static final String NEW_UID = "lower(hex(randomblob(16)))";
+
+    // 검색 결과 최대 개수
+    private static final int SEARCH_LIMIT = 100;
+
+    // 인덱스 이름 상수
+    private static final String INDEX_TODO_DAY = "idx_todo_day";
+    private static final String INDEX_TODO_SCHEDULE = "idx_todo_schedule";
+    private static final String INDEX_TODO_UID = "idx_todo_uid";
+    private static final String INDEX_RECURRENCE_UID = "idx_recurrence_uid";
+
+    // 조회 시 읽는 컬럼 (SELECT * 대신 필요한 컬럼만)
+    private static final String TODO_COLUMNS = COLUMN_ID + ", " + COLUMN_DAY + ", " + COLUMN_MINUTE + ", "
+            + COLUMN_TASK + ", " + COLUMN_COMPLETED;
+
+    // 페이지 조회 정렬 순서 (INDEX_TODO_SCHEDULE과 rowid 순서가 같아 별도 정렬 없이 인덱스를 따라 읽음)
+    private static final String SCHEDULE_ORDER = COLUMN_DAY + ", " + COLUMN_MINUTE + ", " + COLUMN_ID;
+
+    // 앱 전역에서 공유하는 싱글톤 인스턴스
+    private static volatile TodoDBHelper instance;
+
+    // 날짜별 캐시에 보관할 최대 항목 수
+    private static final int DAY_CACHE_MAX_ITEMS = 2000;
+
+    // 한 번 열어서 계속 사용하는 데이터베이스 연결
+    private SQLiteDatabase database;
+
+    // 날짜별 투두 목록 캐시
+    private final TodoDayCache dayCache = new TodoDayCache(DAY_CACHE_MAX_ITEMS);
+
+    // 진행 중인 복원의 임시 테이블 이름 (이 객체로 잠금)과 다음 이름에 붙일 순번
+    private final Set<String> restoreTables = new HashSet<>();
+    private int restoreSeq;
+
+    // 범위별 반복 항목 캐시에 보관할 최대 항목 수
+    private static final int RECURRENCE_CACHE_MAX_ITEMS = 1000;
+
+    // 반복 규칙과 범위별 반복 항목 캐시
+    private final TodoRecurrenceCache recurrenceCache = new TodoRecurrenceCache(RECURRENCE_CACHE_MAX_ITEMS);
+
+    // 백업 시 한 번에 읽는 행 수
+    private static final int BACKUP_CHUNK = 1000;
+
+    // 복원 시 한 트랜잭션으로 커밋하는 행 수
+    private static final int RESTORE_BATCH = 2000;
+
+    // 한 번에 IN (...)으로 조회할 최대 ID 수 (SQLite 인자 개수 제한 999 이하)
+    private static final int ID_QUERY_CHUNK = 500;
+
+    // 커밋된 변경을 전달받는 리스너 (TodoRepository)
+    private volatile OnTodosChangedListener changeListener;
+
+    /**
+     * 변경 이벤트 리스너
+     */
+    interface OnTodosChangedListener {
+        void onTodosChanged(List<TodoChange> changes);
+
+        /**
+         * 복원처럼 항목별 이벤트로 나타내기에는 너무 많은 항목이 한 번에 바뀌었을 때 호출됩니다.
+         */
+        void onTodosReset();
+    }
+
+    /**
+     * 앱 전역에서 공유하는 헬퍼 인스턴스를 반환합니다.
+     * 액티비티 컨텍스트가 전달되어도 애플리케이션 컨텍스트만 보관합니다.
+     *
+     * @param context 컨텍스트
+     * @return 공유 TodoDBHelper 인스턴스
+     */
+    public static TodoDBHelper getInstance(Context context) {
+        if (instance == null) {
+            synchronized (TodoDBHelper.class) {
+                if (instance == null) {
+                    instance = new TodoDBHelper(context.getApplicationContext(), DATABASE_NAME);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 공유 인스턴스와 별개의 데이터베이스 파일을 사용하는 헬퍼를 만듭니다.
+     * 벤치마크가 앱 데이터를 건드리지 않고 원하는 크기의 데이터로 측정할 때 사용합니다.
+     *
+     * @param context      컨텍스트
+     * @param databaseName 데이터베이스 파일 이름
+     * @return 새 TodoDBHelper (사용 후 close 필요)
+     */
+    @VisibleForTesting
+    public static TodoDBHelper createIsolated(Context context, String databaseName) {
+        return new TodoDBHelper(context.getApplicationContext(), databaseName);
+    }
 
     /**
      * 생성자
      * 
-     * @param context 애플리케이션 컨텍스트
+     * @param context      애플리케이션 컨텍스트
+     * @param databaseName 데이터베이스 파일 이름
+     */
+    private TodoDBHelper(Context context, String databaseName) {
+        super(context, databaseName, null, DATABASE_VERSION);
+        // 읽기와 쓰기가 서로를 막지 않도록 WAL 모드 사용
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    /**
+     * 열려 있는 데이터베이스 연결을 반환합니다.
+     * 처음 호출될 때만 실제로 열고, 이후에는 같은 연결을 재사용합니다.
+     *
+     * @return 쓰기 가능한 데이터베이스
      */
-    public TodoDBHelper(Context context) {
-        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    private synchronized SQLiteDatabase getDatabase() {
+        if (database == null || !database.isOpen()) {
+            database = getWritableDatabase();
+        }
+        return database;
     }
 
     /**
      * 데이터베이스가 처음 생성될 때 호출됩니다.
-     * todo_table을 생성합니다.
+     * todo_table과 날짜 키 인덱스를 생성합니다.
      */
     @Override
     public void onCreate(SQLiteDatabase db) {
@@ -45,12 +242,23 @@ public class TodoDBHelper extends SQLiteOpenHelper {
                 + "("
                 + COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
                 + COLUMN_DATE + " TEXT NOT NULL,"
+                + COLUMN_DAY + " INTEGER NOT NULL DEFAULT 0,"
+                // time은 버전 4 이전 데이터 호환용 컬럼, 새 항목은 minute만 사용
                 + COLUMN_TIME + " TEXT,"
+                + COLUMN_MINUTE + " INTEGER NOT NULL DEFAULT " + TaskFlowDate.NO_TIME + ","
                 + COLUMN_TASK + " TEXT NOT NULL,"
                 + COLUMN_COMPLETED + " INTEGER DEFAULT 0,"
-                + COLUMN_CREATED_AT + " TIMESTAMP DEFAULT CURRENT_TIMESTAMP"
+                + COLUMN_CREATED_AT + " TIMESTAMP DEFAULT CURRENT_TIMESTAMP,"
+                + COLUMN_SEARCH_TOKENS + " TEXT,"
+                + COLUMN_UID + " TEXT"
                 + ")";
         db.execSQL(CREATE_TODO_TABLE);
+        createScheduleIndex(db);
+        createSearchIndex(db);
+        createChangeLog(db);
+        createUidIndex(db);
+        createRecurrence(db);
+        createRecurrenceChangeLog(db);
     }
 
     /**
@@ -62,59 +270,392 @@ public class TodoDBHelper extends SQLiteOpenHelper {
         if (oldVersion < 2) {
             db.execSQL("ALTER TABLE " + TABLE_TODO + " ADD COLUMN " + COLUMN_TIME + " TEXT");
         }
+
+        // 버전 2에서 3으로 업그레이드: 날짜 문자열을 정수 키(epoch day)로 옮김 (인덱스는 버전 5 단계에서 생성)
+        if (oldVersion < 3) {
+            db.execSQL("ALTER TABLE " + TABLE_TODO + " ADD COLUMN " + COLUMN_DAY
+                    + " INTEGER NOT NULL DEFAULT 0");
+            // "yyyy-MM-dd (요일)"과 예전 "yyyyMMdd" 형식을 모두 epoch day로 변환
+            db.execSQL("UPDATE " + TABLE_TODO + " SET " + COLUMN_DAY + " = IFNULL(CAST(("
+                    + "CASE"
+                    + " WHEN " + COLUMN_DATE + " GLOB '[0-9][0-9][0-9][0-9]-[0-9][0-9]-[0-9][0-9]*'"
+                    + " THEN julianday(substr(" + COLUMN_DATE + ", 1, 10))"
+                    + " WHEN " + COLUMN_DATE + " GLOB '[0-9][0-9][0-9][0-9][0-9][0-9][0-9][0-9]*'"
+                    + " THEN julianday(substr(" + COLUMN_DATE + ", 1, 4) || '-' || substr(" + COLUMN_DATE
+                    + ", 5, 2) || '-' || substr(" + COLUMN_DATE + ", 7, 2))"
+                    + " END) - 2440587.5 AS INTEGER), 0)");
+        }
+
+        // 버전 3에서 4로 업그레이드: "HH:mm" 시간 문자열을 자정부터의 분(정수)으로 옮김
+        if (oldVersion < 4) {
+            db.execSQL("ALTER TABLE " + TABLE_TODO + " ADD COLUMN " + COLUMN_MINUTE
+                    + " INTEGER NOT NULL DEFAULT " + TaskFlowDate.NO_TIME);
+            db.execSQL("UPDATE " + TABLE_TODO + " SET " + COLUMN_MINUTE + " = "
+                    + "CAST(substr(" + COLUMN_TIME + ", 1, 2) AS INTEGER) * 60"
+                    + " + CAST(substr(" + COLUMN_TIME + ", 4, 2) AS INTEGER)"
+                    + " WHERE " + COLUMN_TIME + " GLOB '[0-2][0-9]:[0-5][0-9]*'");
+        }
+
+        // 버전 4에서 5로 업그레이드: 날짜 인덱스를 (날짜, 시간) 인덱스로 교체
+        if (oldVersion < 5) {
+            db.execSQL("DROP INDEX IF EXISTS " + INDEX_TODO_DAY);
+            createScheduleIndex(db);
+        }
+
+        // 버전 5에서 6으로 업그레이드: 검색 토큰 컬럼을 채운 뒤 전문 검색 테이블 생성
+        if (oldVersion < 6) {
+            db.execSQL("ALTER TABLE " + TABLE_TODO + " ADD COLUMN " + COLUMN_SEARCH_TOKENS + " TEXT");
+            fillSearchTokens(db);
+            createSearchIndex(db);
+            db.execSQL("INSERT INTO " + TABLE_TODO_FTS + "(" + TABLE_TODO_FTS + ") VALUES('rebuild')");
+        }
+
+        // 버전 6에서 7로 업그레이드: 증분 백업용 변경 로그 (기존 항목은 첫 전체 백업에 포함되므로 로그 없음)
+        if (oldVersion < 7) {
+            createChangeLog(db);
+        }
+
+        // 버전 7에서 8로 업그레이드: 동기화용 전역 ID, 변경 로그 출처/사용처 기록
+        if (oldVersion < 8) {
+            db.execSQL("ALTER TABLE " + TABLE_TODO + " ADD COLUMN " + COLUMN_UID + " TEXT");
+            db.execSQL("UPDATE " + TABLE_TODO + " SET " + COLUMN_UID + " = " + NEW_UID);
+            createUidIndex(db);
+            // 버전 7의 변경 로그에는 새 컬럼이 없음 (그 이전 버전은 위에서 새 구조로 생성됨)
+            if (oldVersion == 7) {
+                db.execSQL("ALTER TABLE " + TABLE_CHANGELOG + " ADD COLUMN " + COLUMN_UID + " TEXT");
+                db.execSQL("ALTER TABLE " + TABLE_CHANGELOG + " ADD COLUMN " + COLUMN_ORIGIN
+                        + " INTEGER NOT NULL DEFAULT " + ORIGIN_LOCAL);
+                db.execSQL("DROP TRIGGER IF EXISTS todo_changelog_after_delete");
+                createChangeLog(db);
+            }
+        }
+
+        // 버전 8에서 9로 업그레이드: 반복 규칙과 날짜별 예외 테이블
+        if (oldVersion < 9) {
+            createRecurrence(db);
+        }
+
+        // 버전 9에서 10으로 업그레이드: 반복 항목의 날짜별 내용 수정 (그 이전 버전은 위에서 새 구조로 생성됨)
+        if (oldVersion == 9) {
+            db.execSQL("ALTER TABLE " + TABLE_RECURRENCE_OVERRIDE + " ADD COLUMN " + COLUMN_TASK + " TEXT");
+        }
+
+        // 버전 10에서 11로 업그레이드: 반복 규칙과 날짜별 예외도 변경 로그에 남겨 백업/동기화에 포함
+        // (기존 규칙과 예외는 다음 전체 백업에 포함됨)
+        if (oldVersion < 11) {
+            if (oldVersion >= 7) {
+                db.execSQL("ALTER TABLE " + TABLE_CHANGELOG + " ADD COLUMN " + COLUMN_KIND
+                        + " INTEGER NOT NULL DEFAULT " + KIND_TODO);
+            }
+            if (oldVersion >= 9) {
+                db.execSQL("ALTER TABLE " + TABLE_RECURRENCE + " ADD COLUMN " + COLUMN_UID + " TEXT");
+                db.execSQL("UPDATE " + TABLE_RECURRENCE + " SET " + COLUMN_UID + " = " + NEW_UID);
+            }
+            createRecurrenceChangeLog(db);
+        }
+    }
+
+    /**
+     * 기존 항목의 검색 토큰을 계산해 저장합니다. (onUpgrade 트랜잭션 안에서 호출)
+     */
+    private void fillSearchTokens(SQLiteDatabase db) {
+        SQLiteStatement statement = db.compileStatement("UPDATE " + TABLE_TODO
+                + " SET " + COLUMN_SEARCH_TOKENS + " = ? WHERE " + COLUMN_ID + " = ?");
+        try (Cursor cursor = SlowQueryDetector.rawQuery(db, "SELECT " + COLUMN_ID + ", " + COLUMN_TASK
+                + " FROM " + TABLE_TODO, null)) {
+            while (cursor.moveToNext()) {
+                statement.bindString(1, TodoSearchTokens.toIndexText(cursor.getString(1)));
+                statement.bindLong(2, cursor.getInt(0));
+                statement.executeUpdateDelete();
+            }
+        } finally {
+            statement.close();
+        }
+    }
+
+    /**
+     * 전문 검색 테이블과 동기화 트리거를 생성합니다.
+     * 토큰은 앱에서 search_tokens 컬럼에 쓰고, FTS 색인 갱신은 트리거가 같은 트랜잭션 안에서 처리합니다.
+     * 완료 체크나 날짜 이동처럼 검색 토큰이 바뀌지 않는 수정은 색인을 건드리지 않습니다.
+     */
+    private void createSearchIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS " + TABLE_TODO_FTS + " USING fts4("
+                + "content=\"" + TABLE_TODO + "\", " + COLUMN_SEARCH_TOKENS + ")");
+
+        // 외부 콘텐츠 테이블은 원본 행이 바뀌기 전에 이전 토큰을 지워야 함
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS todo_fts_before_delete BEFORE DELETE ON " + TABLE_TODO
+                + " BEGIN DELETE FROM " + TABLE_TODO_FTS + " WHERE docid = old." + COLUMN_ID + "; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS todo_fts_before_update BEFORE UPDATE OF "
+                + COLUMN_SEARCH_TOKENS + " ON " + TABLE_TODO
+                + " BEGIN DELETE FROM " + TABLE_TODO_FTS + " WHERE docid = old." + COLUMN_ID + "; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS todo_fts_after_update AFTER UPDATE OF "
+                + COLUMN_SEARCH_TOKENS + " ON " + TABLE_TODO
+                + " BEGIN INSERT INTO " + TABLE_TODO_FTS + "(docid, " + COLUMN_SEARCH_TOKENS + ")"
+                + " VALUES (new." + COLUMN_ID + ", new." + COLUMN_SEARCH_TOKENS + "); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS todo_fts_after_insert AFTER INSERT ON " + TABLE_TODO
+                + " BEGIN INSERT INTO " + TABLE_TODO_FTS + "(docid, " + COLUMN_SEARCH_TOKENS + ")"
+                + " VALUES (new." + COLUMN_ID + ", new." + COLUMN_SEARCH_TOKENS + "); END");
+    }
+
+    /**
+     * 변경 로그 테이블과 기록 트리거를 생성합니다.
+     * 로그에는 바뀐 항목의 ID만 남기고(삭제는 행이 없어지므로 uid도 함께), 내보낼 때 todo_table의 현재 값을 읽습니다.
+     * seq는 AUTOINCREMENT라 로그를 정리한 뒤에도 줄어들지 않습니다.
+     * 검색 토큰이나 uid만 바뀌는 수정은 내보낼 내용이 달라지지 않으므로 기록하지 않습니다.
+     */
+    private void createChangeLog(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_CHANGELOG + "("
+                + COLUMN_SEQ + " INTEGER PRIMARY KEY AUTOINCREMENT,"
+                + COLUMN_TODO_ID + " INTEGER NOT NULL,"
+                + COLUMN_UID + " TEXT,"
+                + COLUMN_ORIGIN + " INTEGER NOT NULL DEFAULT " + ORIGIN_LOCAL + ","
+                + COLUMN_KIND + " INTEGER NOT NULL DEFAULT " + KIND_TODO
+                + ")");
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_CHANGELOG_CURSOR + "("
+                + COLUMN_CONSUMER + " TEXT PRIMARY KEY,"
+                + COLUMN_SEQ + " INTEGER NOT NULL"
+                + ")");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS todo_changelog_after_insert AFTER INSERT ON " + TABLE_TODO
+                + " BEGIN INSERT INTO " + TABLE_CHANGELOG + "(" + COLUMN_TODO_ID + ") VALUES (new." + COLUMN_ID
+                + "); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS todo_changelog_after_update AFTER UPDATE OF "
+                + COLUMN_DATE + ", " + COLUMN_DAY + ", " + COLUMN_MINUTE + ", " + COLUMN_TASK + ", "
+                + COLUMN_COMPLETED + ", " + COLUMN_CREATED_AT + " ON " + TABLE_TODO
+                + " BEGIN INSERT INTO " + TABLE_CHANGELOG + "(" + COLUMN_TODO_ID + ") VALUES (new." + COLUMN_ID
+                + "); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS todo_changelog_after_delete AFTER DELETE ON " + TABLE_TODO
+                + " BEGIN INSERT INTO " + TABLE_CHANGELOG + "(" + COLUMN_TODO_ID + ", " + COLUMN_UID + ")"
+                + " VALUES (old." + COLUMN_ID + ", old." + COLUMN_UID + "); END");
+    }
+
+    /**
+     * uid 인덱스와, uid 없이 추가된 항목에 uid를 채우는 트리거를 생성합니다.
+     * 모든 추가 경로(addTodo, addTodos, 복원)를 트리거 하나로 처리합니다.
+     */
+    private void createUidIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + INDEX_TODO_UID + " ON " + TABLE_TODO + "(" + COLUMN_UID + ")");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS todo_uid_after_insert AFTER INSERT ON " + TABLE_TODO
+                + " WHEN new." + COLUMN_UID + " IS NULL"
+                + " BEGIN UPDATE " + TABLE_TODO + " SET " + COLUMN_UID + " = " + NEW_UID
+                + " WHERE " + COLUMN_ID + " = new." + COLUMN_ID + "; END");
+    }
+
+    /**
+     * 반복 규칙 테이블과 날짜별 예외 테이블을 생성합니다.
+     * 예외 테이블은 (날짜, 규칙) 기본 키 순서로 저장되어, 범위 조회가 해당 날짜의 예외만 읽습니다.
+     * 반복 항목은 todo_table에 없으므로 전문 검색에는 포함되지 않습니다.
+     */
+    private void createRecurrence(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_RECURRENCE + "("
+                + COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
+                + COLUMN_TASK + " TEXT NOT NULL,"
+                + COLUMN_MINUTE + " INTEGER NOT NULL DEFAULT " + TaskFlowDate.NO_TIME + ","
+                + COLUMN_FREQ + " INTEGER NOT NULL,"
+                + COLUMN_WEEKDAYS + " INTEGER NOT NULL DEFAULT 0,"
+                + COLUMN_START_DAY + " INTEGER NOT NULL,"
+                // 종료일이 없으면 NULL
+                + COLUMN_END_DAY + " INTEGER,"
+                + COLUMN_CREATED_AT + " TIMESTAMP DEFAULT CURRENT_TIMESTAMP,"
+                + COLUMN_UID + " TEXT"
+                + ")");
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_RECURRENCE_OVERRIDE + "("
+                + COLUMN_DAY + " INTEGER NOT NULL,"
+                + COLUMN_RECURRENCE_ID + " INTEGER NOT NULL,"
+                + COLUMN_COMPLETED + " INTEGER NOT NULL DEFAULT 0,"
+                + COLUMN_SKIPPED + " INTEGER NOT NULL DEFAULT 0,"
+                // 그 날짜만 내용을 고쳤으면 새 내용, 아니면 NULL (규칙의 내용 사용)
+                + COLUMN_TASK + " TEXT,"
+                + "PRIMARY KEY (" + COLUMN_DAY + ", " + COLUMN_RECURRENCE_ID + ")"
+                + ") WITHOUT ROWID");
+    }
+
+    /**
+     * 반복 규칙의 uid 인덱스와 uid를 채우는 트리거, 규칙과 날짜별 예외의 변경 로그 트리거를 생성합니다.
+     * 규칙은 todo_id에 규칙 ID를, 날짜별 예외는 해당 반복 항목 ID(음수)를 기록하고 kind로 구분합니다.
+     * 삭제된 예외는 규칙이 남아 있으면 규칙 uid를 함께 기록합니다. (규칙째 지웠으면 규칙 삭제가 예외 삭제를 포함)
+     */
+    private void createRecurrenceChangeLog(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + INDEX_RECURRENCE_UID
+                + " ON " + TABLE_RECURRENCE + "(" + COLUMN_UID + ")");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS todo_recurrence_uid_after_insert AFTER INSERT ON " + TABLE_RECURRENCE
+                + " WHEN new." + COLUMN_UID + " IS NULL"
+                + " BEGIN UPDATE " + TABLE_RECURRENCE + " SET " + COLUMN_UID + " = " + NEW_UID
+                + " WHERE " + COLUMN_ID + " = new." + COLUMN_ID + "; END");
+
+        String logRule = " BEGIN INSERT INTO " + TABLE_CHANGELOG + "(" + COLUMN_TODO_ID + ", " + COLUMN_KIND + ")"
+                + " VALUES (new." + COLUMN_ID + ", " + KIND_RECURRENCE + "); END";
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS todo_recurrence_changelog_after_insert AFTER INSERT ON "
+                + TABLE_RECURRENCE + logRule);
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS todo_recurrence_changelog_after_update AFTER UPDATE OF "
+                + COLUMN_TASK + ", " + COLUMN_MINUTE + ", " + COLUMN_FREQ + ", " + COLUMN_WEEKDAYS + ", "
+                + COLUMN_START_DAY + ", " + COLUMN_END_DAY + " ON " + TABLE_RECURRENCE + logRule);
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS todo_recurrence_changelog_after_delete AFTER DELETE ON "
+                + TABLE_RECURRENCE
+                + " BEGIN INSERT INTO " + TABLE_CHANGELOG + "(" + COLUMN_TODO_ID + ", " + COLUMN_UID + ", "
+                + COLUMN_KIND + ") VALUES (old." + COLUMN_ID + ", old." + COLUMN_UID + ", " + KIND_RECURRENCE
+                + "); END");
+
+        // TodoRecurrence.occurrenceId와 같은 식
+        String logOverride = " BEGIN INSERT INTO " + TABLE_CHANGELOG + "(" + COLUMN_TODO_ID + ", " + COLUMN_KIND + ")"
+                + " VALUES (-((new." + COLUMN_RECURRENCE_ID + " << 16) | new." + COLUMN_DAY + "), "
+                + KIND_OVERRIDE + "); END";
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS todo_recurrence_override_changelog_after_insert AFTER INSERT ON "
+                + TABLE_RECURRENCE_OVERRIDE + logOverride);
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS todo_recurrence_override_changelog_after_update AFTER UPDATE OF "
+                + COLUMN_COMPLETED + ", " + COLUMN_SKIPPED + ", " + COLUMN_TASK
+                + " ON " + TABLE_RECURRENCE_OVERRIDE + logOverride);
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS todo_recurrence_override_changelog_after_delete AFTER DELETE ON "
+                + TABLE_RECURRENCE_OVERRIDE
+                + " BEGIN INSERT INTO " + TABLE_CHANGELOG + "(" + COLUMN_TODO_ID + ", " + COLUMN_UID + ", "
+                + COLUMN_KIND + ") VALUES (-((old." + COLUMN_RECURRENCE_ID + " << 16) | old." + COLUMN_DAY + "),"
+                + " (SELECT " + COLUMN_UID + " FROM " + TABLE_RECURRENCE
+                + " WHERE " + COLUMN_ID + " = old." + COLUMN_RECURRENCE_ID + "), " + KIND_OVERRIDE + "); END");
+    }
+
+    /**
+     * (day, minute) 인덱스를 생성합니다.
+     * 날짜별 조회와 월 요약은 day 앞부분으로, 페이지 조회는 (day, minute, rowid) 순서 그대로 인덱스를 탐색합니다.
+     */
+    private void createScheduleIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + INDEX_TODO_SCHEDULE
+                + " ON " + TABLE_TODO + "(" + COLUMN_DAY + ", " + COLUMN_MINUTE + ")");
     }
 
     /**
      * 새로운 투두 항목을 데이터베이스에 추가합니다.
      * 
-     * @param date 날짜 (yyyy-MM-dd 형식)
-     * @param time 시간 (HH:mm 형식)
-     * @param task 할 일 내용
+     * @param day    날짜 (epoch day)
+     * @param minute 자정부터의 분 (시간 없음은 {@link TaskFlowDate#NO_TIME})
+     * @param task   할 일 내용
      * @return 추가된 행의 ID (실패 시 -1)
      */
-    public long addTodo(String date, String time, String task) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(COLUMN_DATE, date);
-        values.put(COLUMN_TIME, time);
-        values.put(COLUMN_TASK, task);
-        values.put(COLUMN_COMPLETED, 0);
+    public long addTodo(int day, int minute, String task) {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.addTodo")) {
+            SQLiteDatabase db = getDatabase();
+            ContentValues values = new ContentValues();
+            values.put(COLUMN_DAY, day);
+            // 기존 화면 호환을 위해 yyyy-MM-dd (요일) 문자열도 함께 저장
+            values.put(COLUMN_DATE, TaskFlowDate.formatDateWithDay(day));
+            values.put(COLUMN_MINUTE, minute);
+            values.put(COLUMN_TASK, task);
+            values.put(COLUMN_SEARCH_TOKENS, TodoSearchTokens.toIndexText(task));
+            values.put(COLUMN_COMPLETED, 0);
 
-        long id = db.insert(TABLE_TODO, null, values);
-        db.close();
-        return id;
+            long id = db.insert(TABLE_TODO, null, values);
+            if (id != -1) {
+                section.rowsWritten(1);
+                dayCache.invalidateDay(day);
+                dispatchChanges(Collections.singletonList(
+                        TodoChange.inserted(new TodoItem((int) id, day, minute, task, false))));
+            }
+            return id;
+        }
     }
 
     /**
-     * 특정 날짜의 모든 투두 항목을 조회합니다.
+     * 특정 날짜의 모든 투두 항목을 조회합니다. (반복 규칙에서 계산한 그날의 항목 포함)
      * 
-     * @param date 날짜 (yyyy-MM-dd 형식)
+     * @param day 날짜 (epoch day)
      * @return TodoItem 리스트
      */
-    public List<TodoItem> getTodosByDate(String date) {
-        List<TodoItem> todoList = new ArrayList<>();
-        String selectQuery = "SELECT * FROM " + TABLE_TODO +
-                " WHERE " + COLUMN_DATE + " LIKE ? " +
-                " ORDER BY " + COLUMN_CREATED_AT + " ASC";
+    public List<TodoItem> getTodosByDay(int day) {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.getTodosByDay")) {
+            List<TodoItem> cached = dayCache.get(day);
+            if (cached != null) {
+                return cached;
+            }
+            long cacheVersion = dayCache.getVersion();
 
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.rawQuery(selectQuery, new String[] { date + "%" });
+            String selectQuery = "SELECT " + TODO_COLUMNS + " FROM " + TABLE_TODO +
+                    " WHERE " + COLUMN_DAY + " = ? " +
+                    " ORDER BY " + COLUMN_CREATED_AT + " ASC";
 
-        if (cursor.moveToFirst()) {
-            do {
-                TodoItem item = new TodoItem(
-                        cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_ID)),
-                        cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_DATE)),
-                        cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_TIME)),
-                        cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_TASK)),
-                        cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_COMPLETED)) == 1);
-                todoList.add(item);
-            } while (cursor.moveToNext());
+            SQLiteDatabase db = getDatabase();
+            Cursor cursor = SlowQueryDetector.rawQuery(db, selectQuery, new String[] { String.valueOf(day) });
+            List<TodoItem> todoList = readTodos(cursor);
+            section.rowsRead(todoList.size());
+            // 반복 항목은 그날의 일반 항목 뒤에 붙임
+            todoList.addAll(computeOccurrences(db, day, day));
+            dayCache.put(day, todoList, cacheVersion);
+            return todoList;
         }
+    }
 
-        cursor.close();
-        db.close();
-        return todoList;
+    /**
+     * 정렬 순서 (날짜, 시간, ID)대로 한 페이지를 조회합니다.
+     * 이전 페이지의 마지막 키 뒤부터 인덱스를 탐색하므로(keyset) 페이지 위치와 관계없이 비용이 같습니다.
+     * 
+     * @param filter 조회 범위
+     * @param today  오늘 날짜 (epoch day), 예정/지난 항목 구분 기준
+     * @param after  이전 페이지의 마지막 키 (첫 페이지는 null)
+     * @param limit  페이지 크기
+     * @return TodoItem 리스트 (limit보다 적으면 마지막 페이지)
+     */
+    public List<TodoItem> getTodosPage(TodoFilter filter, int today, @Nullable TodoPageKey after, int limit) {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.getTodosPage")) {
+            StringBuilder where = new StringBuilder();
+            List<String> args = new ArrayList<>(5);
+            switch (filter) {
+                case UPCOMING:
+                    where.append(COLUMN_DAY).append(" >= ?");
+                    args.add(String.valueOf(today));
+                    break;
+                case OVERDUE:
+                    where.append(COLUMN_DAY).append(" < ? AND ").append(COLUMN_COMPLETED).append(" = 0");
+                    args.add(String.valueOf(today));
+                    break;
+                default:
+                    break;
+            }
+            if (after != null) {
+                if (where.length() > 0) {
+                    where.append(" AND ");
+                }
+                where.append("(").append(SCHEDULE_ORDER).append(") > (?, ?, ?)");
+                args.add(String.valueOf(after.day));
+                args.add(String.valueOf(after.minute));
+                args.add(String.valueOf(after.id));
+            }
+
+            String selectQuery = "SELECT " + TODO_COLUMNS + " FROM " + TABLE_TODO
+                    + (where.length() > 0 ? " WHERE " + where : "")
+                    + " ORDER BY " + SCHEDULE_ORDER
+                    + " LIMIT " + limit;
+
+            SQLiteDatabase db = getDatabase();
+            Cursor cursor = SlowQueryDetector.rawQuery(db, selectQuery, args.toArray(new String[0]));
+            List<TodoItem> page = readTodos(cursor);
+            section.rowsRead(page.size());
+            return page;
+        }
+    }
+
+    /**
+     * 할 일 내용에 검색어가 포함된 항목을 날짜가 최근인 순서로 조회합니다.
+     * LIKE '%...%' 전체 스캔 대신 전문 검색 색인에서 후보 ID를 찾은 뒤 해당 행만 읽습니다.
+     * 
+     * @param query 검색어 (띄어쓰기로 나눈 모든 단어를 포함하는 항목을 찾음)
+     * @return TodoItem 리스트 (최대 100개)
+     */
+    public List<TodoItem> searchTodos(String query) {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.searchTodos")) {
+            String match = TodoSearchTokens.toMatchQuery(query);
+            if (match == null) {
+                return new ArrayList<>();
+            }
+
+            String selectQuery = "SELECT " + TODO_COLUMNS + " FROM " + TABLE_TODO
+                    + " WHERE " + COLUMN_ID + " IN (SELECT docid FROM " + TABLE_TODO_FTS
+                    + " WHERE " + TABLE_TODO_FTS + " MATCH ?)"
+                    + " ORDER BY " + COLUMN_DAY + " DESC, " + COLUMN_MINUTE + " DESC, " + COLUMN_ID + " DESC"
+                    + " LIMIT " + SEARCH_LIMIT;
+
+            SQLiteDatabase db = getDatabase();
+            Cursor cursor = SlowQueryDetector.rawQuery(db, selectQuery, new String[] { match });
+            List<TodoItem> results = readTodos(cursor);
+            section.rowsRead(results.size());
+            return results;
+        }
     }
 
     /**
@@ -125,32 +666,360 @@ public class TodoDBHelper extends SQLiteOpenHelper {
      * @return 성공 시 1, 실패 시 0
      */
     public int updateTodoCompleted(int id, boolean completed) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(COLUMN_COMPLETED, completed ? 1 : 0);
+        return setTodosCompleted(Collections.singletonList(id), completed);
+    }
 
-        int result = db.update(TABLE_TODO, values, COLUMN_ID + " = ?",
-                new String[] { String.valueOf(id) });
-        db.close();
-        return result;
+    /**
+     * 여러 투두 항목의 완료 상태를 하나의 트랜잭션으로 업데이트합니다.
+     * 
+     * @param completions 항목 ID별 완료 여부
+     * @return 변경된 행 수
+     */
+    public int updateTodosCompleted(Map<Integer, Boolean> completions) {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.updateTodosCompleted")) {
+            SQLiteDatabase db = getDatabase();
+            SQLiteStatement statement = db.compileStatement("UPDATE " + TABLE_TODO +
+                    " SET " + COLUMN_COMPLETED + " = ? WHERE " + COLUMN_ID + " = ?");
+
+            List<TodoChange> changes = new ArrayList<>(completions.size());
+            boolean occurrencesChanged;
+            db.beginTransaction();
+            try {
+                Map<Integer, TodoItem> before = readTodosById(db, completions.keySet());
+                for (Map.Entry<Integer, Boolean> entry : completions.entrySet()) {
+                    TodoItem item = before.get(entry.getKey());
+                    // 없는 항목이나 이미 같은 값인 항목은 쓰지 않음 (반복 항목은 아래에서 따로 처리)
+                    if (item == null || item.isCompleted() == entry.getValue()) {
+                        continue;
+                    }
+                    statement.bindLong(1, entry.getValue() ? 1 : 0);
+                    statement.bindLong(2, entry.getKey());
+                    statement.executeUpdateDelete();
+
+                    TodoItem after = item.copy();
+                    after.setCompleted(entry.getValue());
+                    changes.add(TodoChange.updated(item, after));
+                }
+                List<TodoChange> occurrenceChanges = setOccurrencesCompleted(db, completions);
+                occurrencesChanged = !occurrenceChanges.isEmpty();
+                changes.addAll(occurrenceChanges);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+                statement.close();
+            }
+            if (occurrencesChanged) {
+                recurrenceCache.invalidateExpansions();
+            }
+            dayCache.updateCompleted(completions);
+            section.rowsWritten(changes.size());
+            dispatchChanges(changes);
+            return changes.size();
+        }
+    }
+
+    // ===== 일괄 처리 (하나의 트랜잭션 + 재사용하는 SQLiteStatement) =====
+
+    /**
+     * 여러 투두 항목을 하나의 트랜잭션으로 추가합니다.
+     * 추가에 성공한 항목에는 새 ID가 설정됩니다.
+     * 
+     * @param items 추가할 항목 (날짜 키, 분, 내용, 완료 여부 사용)
+     * @return 추가된 행 수
+     */
+    public int addTodos(List<TodoItem> items) {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.addTodos")) {
+            SQLiteDatabase db = getDatabase();
+            List<TodoChange> changes;
+            db.beginTransaction();
+            try {
+                changes = insertTodos(db, items);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            for (TodoItem item : items) {
+                dayCache.invalidateDay(item.getDay());
+            }
+            section.rowsWritten(changes.size());
+            dispatchChanges(changes);
+            return changes.size();
+        }
+    }
+
+    /**
+     * 항목을 재사용하는 문장으로 추가하고 새 ID를 설정합니다. (호출한 쪽의 트랜잭션 안에서 호출)
+     *
+     * @return 추가된 항목의 변경 이벤트
+     */
+    private List<TodoChange> insertTodos(SQLiteDatabase db, List<TodoItem> items) {
+        List<TodoChange> changes = new ArrayList<>(items.size());
+        SQLiteStatement statement = db.compileStatement("INSERT INTO " + TABLE_TODO + " ("
+                + COLUMN_DAY + ", " + COLUMN_DATE + ", " + COLUMN_MINUTE + ", "
+                + COLUMN_TASK + ", " + COLUMN_COMPLETED + ", " + COLUMN_SEARCH_TOKENS
+                + ") VALUES (?, ?, ?, ?, ?, ?)");
+        try {
+            for (TodoItem item : items) {
+                statement.bindLong(1, item.getDay());
+                statement.bindString(2, TaskFlowDate.formatDateWithDay(item.getDay()));
+                statement.bindLong(3, item.getMinute());
+                statement.bindString(4, item.getTask());
+                statement.bindLong(5, item.isCompleted() ? 1 : 0);
+                statement.bindString(6, TodoSearchTokens.toIndexText(item.getTask()));
+
+                long id = statement.executeInsert();
+                if (id != -1) {
+                    item.setId((int) id);
+                    changes.add(TodoChange.inserted(item.copy()));
+                }
+            }
+        } finally {
+            statement.close();
+        }
+        return changes;
+    }
+
+    /**
+     * 여러 투두 항목의 완료 상태를 같은 값으로 일괄 변경합니다.
+     * 일반 항목과 반복 항목을 한 트랜잭션으로 바꾸므로 일부만 반영되지 않습니다.
+     * 
+     * @param ids       투두 항목 ID 목록
+     * @param completed 완료 여부
+     * @return 변경된 행 수
+     */
+    public int setTodosCompleted(Collection<Integer> ids, boolean completed) {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.setTodosCompleted")) {
+            SQLiteDatabase db = getDatabase();
+            SQLiteStatement statement = db.compileStatement("UPDATE " + TABLE_TODO +
+                    " SET " + COLUMN_COMPLETED + " = ? WHERE " + COLUMN_ID + " = ?");
+            statement.bindLong(1, completed ? 1 : 0);
+            Map<Integer, TodoItem> before;
+            List<TodoChange> occurrenceChanges;
+            db.beginTransaction();
+            try {
+                before = executeForEachId(db, statement, 2, todoIds(ids));
+                occurrenceChanges = setOccurrencesCompleted(db, toCompletions(ids, completed));
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+                statement.close();
+            }
+            if (!occurrenceChanges.isEmpty()) {
+                recurrenceCache.invalidateExpansions();
+            }
+            dayCache.updateCompleted(ids, completed);
+
+            List<TodoChange> changes = new ArrayList<>(before.size() + occurrenceChanges.size());
+            for (TodoItem item : before.values()) {
+                if (item.isCompleted() != completed) {
+                    TodoItem after = item.copy();
+                    after.setCompleted(completed);
+                    changes.add(TodoChange.updated(item, after));
+                }
+            }
+            changes.addAll(occurrenceChanges);
+
+            int written = before.size() + occurrenceChanges.size();
+            section.rowsWritten(written);
+            dispatchChanges(changes);
+            return written;
+        }
+    }
+
+    /**
+     * 여러 투두 항목을 다른 날짜로 일괄 이동합니다.
+     * 반복 항목은 원래 날짜를 건너뛰고, 이동할 날짜에 같은 내용의 일반 항목을 새로 추가합니다.
+     * 이동, 건너뛰기, 새 항목 추가를 한 트랜잭션으로 처리하므로 반복 항목이 사라지기만 하는 일이 없습니다.
+     * 
+     * @param ids 투두 항목 ID 목록
+     * @param day 이동할 날짜 (epoch day)
+     * @return 변경된 행 수
+     */
+    public int moveTodos(Collection<Integer> ids, int day) {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.moveTodos")) {
+            SQLiteDatabase db = getDatabase();
+            SQLiteStatement statement = db.compileStatement("UPDATE " + TABLE_TODO +
+                    " SET " + COLUMN_DAY + " = ?, " + COLUMN_DATE + " = ? WHERE " + COLUMN_ID + " = ?");
+            statement.bindLong(1, day);
+            statement.bindString(2, TaskFlowDate.formatDateWithDay(day));
+            Map<Integer, TodoItem> before;
+            Map<Integer, TodoItem> skipped;
+            List<TodoChange> inserted;
+            db.beginTransaction();
+            try {
+                before = executeForEachId(db, statement, 3, todoIds(ids));
+                skipped = skipOccurrences(db, ids);
+                List<TodoItem> detached = new ArrayList<>(skipped.size());
+                for (TodoItem occurrence : skipped.values()) {
+                    detached.add(new TodoItem(0, day, occurrence.getMinute(), occurrence.getTask(),
+                            occurrence.isCompleted()));
+                }
+                inserted = insertTodos(db, detached);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+                statement.close();
+            }
+            if (!skipped.isEmpty()) {
+                recurrenceCache.invalidateExpansions();
+            }
+            // 원래 날짜 목록에서 빼고, 옮겨간 날짜는 다시 조회하도록 무효화
+            dayCache.remove(ids);
+            dayCache.invalidateDay(day);
+
+            List<TodoChange> changes = new ArrayList<>(before.size() + skipped.size() + inserted.size());
+            for (TodoItem item : before.values()) {
+                if (item.getDay() != day) {
+                    TodoItem after = item.copy();
+                    after.setDay(day);
+                    changes.add(TodoChange.updated(item, after));
+                }
+            }
+            for (TodoItem occurrence : skipped.values()) {
+                changes.add(TodoChange.deleted(occurrence));
+            }
+            changes.addAll(inserted);
+            section.rowsWritten(before.size() + skipped.size() + inserted.size());
+            dispatchChanges(changes);
+            return before.size() + skipped.size();
+        }
+    }
+
+    /**
+     * 여러 투두 항목을 일괄 삭제합니다.
+     * 반복 항목은 규칙은 그대로 두고 해당 날짜만 건너뜁니다. (규칙 종료는 {@link #stopRecurrence})
+     * 일반 항목 삭제와 반복 항목 건너뛰기는 한 트랜잭션으로 처리합니다.
+     * 
+     * @param ids 투두 항목 ID 목록
+     * @return 삭제된 행 수
+     */
+    public int deleteTodos(Collection<Integer> ids) {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.deleteTodos")) {
+            SQLiteDatabase db = getDatabase();
+            SQLiteStatement statement = db.compileStatement("DELETE FROM " + TABLE_TODO +
+                    " WHERE " + COLUMN_ID + " = ?");
+            Map<Integer, TodoItem> before;
+            Map<Integer, TodoItem> skipped;
+            db.beginTransaction();
+            try {
+                before = executeForEachId(db, statement, 1, todoIds(ids));
+                skipped = skipOccurrences(db, ids);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+                statement.close();
+            }
+            if (!skipped.isEmpty()) {
+                recurrenceCache.invalidateExpansions();
+            }
+            before.putAll(skipped);
+            dayCache.remove(ids);
+
+            List<TodoChange> changes = new ArrayList<>(before.size());
+            for (TodoItem item : before.values()) {
+                changes.add(TodoChange.deleted(item));
+            }
+            section.rowsWritten(before.size());
+            dispatchChanges(changes);
+            return before.size();
+        }
+    }
+
+    /**
+     * 미리 컴파일한 문장을 ID마다 실행합니다. (호출한 쪽의 트랜잭션 안에서 호출, 문장은 호출한 쪽에서 닫음)
+     * ID 이외의 인자는 호출 전에 바인딩되어 있어야 합니다.
+     * 
+     * @param statement UPDATE/DELETE 문장
+     * @param idIndex   ID를 바인딩할 인자 위치
+     * @return 실제로 변경된 항목의 변경 전 상태 (ID -> 항목)
+     */
+    private Map<Integer, TodoItem> executeForEachId(SQLiteDatabase db, SQLiteStatement statement, int idIndex,
+            Collection<Integer> ids) {
+        Map<Integer, TodoItem> changed = new LinkedHashMap<>();
+        // 변경 이벤트에 필요한 이전 날짜/완료 상태를 같은 트랜잭션에서 읽음
+        Map<Integer, TodoItem> before = readTodosById(db, ids);
+        for (int id : ids) {
+            statement.bindLong(idIndex, id);
+            if (statement.executeUpdateDelete() > 0 && before.containsKey(id)) {
+                changed.put(id, before.get(id));
+            }
+        }
+        return changed;
     }
 
     /**
      * 투두 항목을 수정합니다.
+     * 반복 항목을 수정하면 그 날짜의 내용만 날짜별 예외로 바뀌고, 규칙과 다른 날짜(지난 날짜 포함)는 그대로입니다.
      * 
      * @param id   투두 항목 ID
      * @param task 새로운 할 일 내용
      * @return 성공 시 1, 실패 시 0
      */
     public int updateTodoTask(int id, String task) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(COLUMN_TASK, task);
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.updateTodoTask")) {
+            SQLiteDatabase db = getDatabase();
+            if (TodoRecurrence.isOccurrenceId(id)) {
+                return updateOccurrenceTask(db, section, id, task);
+            }
 
-        int result = db.update(TABLE_TODO, values, COLUMN_ID + " = ?",
-                new String[] { String.valueOf(id) });
-        db.close();
-        return result;
+            ContentValues values = new ContentValues();
+            values.put(COLUMN_TASK, task);
+            values.put(COLUMN_SEARCH_TOKENS, TodoSearchTokens.toIndexText(task));
+
+            TodoItem before;
+            int result;
+            db.beginTransaction();
+            try {
+                before = readTodosById(db, Collections.singletonList(id)).get(id);
+                result = db.update(TABLE_TODO, values, COLUMN_ID + " = ?",
+                        new String[] { String.valueOf(id) });
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            dayCache.updateTask(id, task);
+            section.rowsWritten(result);
+
+            if (result > 0 && before != null) {
+                TodoItem after = before.copy();
+                after.setTask(task);
+                dispatchChanges(Collections.singletonList(TodoChange.updated(before, after)));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 반복 항목 하나의 내용을 날짜별 예외로 저장합니다. 완료/건너뛰기 상태는 그대로 둡니다.
+     */
+    private int updateOccurrenceTask(SQLiteDatabase db, TaskFlowMetrics.Section section, int id, String task) {
+        TodoItem before;
+        db.beginTransaction();
+        try {
+            before = readOccurrencesById(db, Collections.singletonList(id)).get(id);
+            if (before != null) {
+                db.execSQL("INSERT INTO " + TABLE_RECURRENCE_OVERRIDE + " (" + COLUMN_DAY + ", "
+                        + COLUMN_RECURRENCE_ID + ", " + COLUMN_COMPLETED + ", " + COLUMN_TASK + ") VALUES (?, ?, ?, ?)"
+                        + " ON CONFLICT(" + COLUMN_DAY + ", " + COLUMN_RECURRENCE_ID + ") DO UPDATE SET "
+                        + COLUMN_TASK + " = excluded." + COLUMN_TASK,
+                        new Object[] { TodoRecurrence.dayOf(id), TodoRecurrence.recurrenceIdOf(id),
+                                before.isCompleted() ? 1 : 0, task });
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        if (before == null) {
+            return 0;
+        }
+        recurrenceCache.invalidateExpansions();
+        dayCache.updateTask(id, task);
+        section.rowsWritten(1);
+
+        TodoItem after = before.copy();
+        after.setTask(task);
+        dispatchChanges(Collections.singletonList(TodoChange.updated(before, after)));
+        return 1;
     }
 
     /**
@@ -160,11 +1029,7 @@ public class TodoDBHelper extends SQLiteOpenHelper {
      * @return 성공 시 1, 실패 시 0
      */
     public int deleteTodo(int id) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        int result = db.delete(TABLE_TODO, COLUMN_ID + " = ?",
-                new String[] { String.valueOf(id) });
-        db.close();
-        return result;
+        return deleteTodos(Collections.singletonList(id));
     }
 
     /**
@@ -173,56 +1038,1309 @@ public class TodoDBHelper extends SQLiteOpenHelper {
      * @return TodoItem 리스트
      */
     public List<TodoItem> getTodosForToday() {
-        List<TodoItem> todoList = new ArrayList<>();
+        return getTodosByDay(TaskFlowDate.today());
+    }
 
-        // 오늘 날짜 가져오기 (yyyy-MM-dd 형식)
-        java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd", java.util.Locale.getDefault());
-        String today = sdf.format(new java.util.Date());
+    /**
+     * 특정 날짜에 할 일이 있는지 확인합니다.
+     * 
+     * @param day 날짜 (epoch day)
+     * @return 할 일이 있으면 true, 없으면 false
+     */
+    public boolean hasTodosOnDay(int day) {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.hasTodosOnDay")) {
+            SQLiteDatabase db = getDatabase();
+            String query = "SELECT EXISTS(SELECT 1 FROM " + TABLE_TODO +
+                    " WHERE " + COLUMN_DAY + " = ?)";
+            Cursor cursor = SlowQueryDetector.rawQuery(db, query, new String[] { String.valueOf(day) });
 
-        String selectQuery = "SELECT * FROM " + TABLE_TODO +
-                " WHERE " + COLUMN_DATE + " LIKE ? " +
-                " ORDER BY " + COLUMN_CREATED_AT + " ASC";
+            boolean hasTodos = false;
+            if (cursor.moveToFirst()) {
+                hasTodos = cursor.getInt(0) > 0;
+            }
 
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.rawQuery(selectQuery, new String[] { today + "%" });
+            cursor.close();
+            return hasTodos || !computeOccurrences(db, day, day).isEmpty();
+        }
+    }
 
-        if (cursor.moveToFirst()) {
+    /**
+     * 날짜 범위 안의 날짜별 전체/완료 개수를 한 번의 그룹 조회로 가져옵니다.
+     * 반복 항목은 범위 안의 날짜만 계산해 더하며, 계산 결과는 범위별로 캐시합니다.
+     * 
+     * @param fromDay 시작 날짜 (epoch day, 포함)
+     * @param toDay   마지막 날짜 (epoch day, 포함)
+     * @return 날짜별 개수 요약
+     */
+    public MonthSummary getMonthSummary(int fromDay, int toDay) {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.getMonthSummary")) {
+            MonthSummary summary = new MonthSummary(fromDay, toDay);
+
+            SQLiteDatabase db = getDatabase();
+            String query = "SELECT " + COLUMN_DAY + ", COUNT(*), SUM(" + COLUMN_COMPLETED + ")" +
+                    " FROM " + TABLE_TODO +
+                    " WHERE " + COLUMN_DAY + " BETWEEN ? AND ?" +
+                    " GROUP BY " + COLUMN_DAY;
+            Cursor cursor = SlowQueryDetector.rawQuery(db, query,
+                    new String[] { String.valueOf(fromDay), String.valueOf(toDay) });
+
+            while (cursor.moveToNext()) {
+                summary.set(cursor.getInt(0), cursor.getInt(1), cursor.getInt(2));
+            }
+            section.rowsRead(cursor.getCount());
+            cursor.close();
+
+            for (TodoItem occurrence : expandRecurrences(db, fromDay, toDay)) {
+                summary.add(occurrence.getDay(), 1, occurrence.isCompleted() ? 1 : 0);
+            }
+            return summary;
+        }
+    }
+
+    // ===== 반복 할 일 =====
+
+    /**
+     * 반복 규칙을 추가합니다.
+     * 규칙 한 행만 저장하며, 날짜별 항목은 화면이 조회하는 범위에 대해서만 계산합니다.
+     * 새 ID가 반복 항목 ID에 넣을 수 있는 범위(TodoRecurrence.MAX_ID)를 넘으면 삭제된 규칙의 빈 ID를 다시 씁니다.
+     * 시작일이나 종료일이 반복 항목 ID에 넣을 수 있는 날짜 범위를 벗어나면 저장하지 않습니다.
+     *
+     * @param rule 추가할 규칙 (ID는 무시)
+     * @return 추가된 규칙 ID (실패하거나, 날짜가 범위 밖이거나, 빈 ID가 없으면 -1)
+     */
+    public long addRecurrence(TodoRecurrence rule) {
+        if (!rule.hasSupportedDays()) {
+            return -1;
+        }
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.addRecurrence")) {
+            SQLiteDatabase db = getDatabase();
+            ContentValues values = new ContentValues();
+            values.put(COLUMN_TASK, rule.getTask());
+            values.put(COLUMN_MINUTE, rule.getMinute());
+            values.put(COLUMN_FREQ, rule.getFrequency().ordinal());
+            values.put(COLUMN_WEEKDAYS, rule.getWeekdays());
+            values.put(COLUMN_START_DAY, rule.getStartDay());
+            if (rule.getEndDay() == TodoRecurrence.NO_END) {
+                values.putNull(COLUMN_END_DAY);
+            } else {
+                values.put(COLUMN_END_DAY, rule.getEndDay());
+            }
+
+            long id;
+            db.beginTransaction();
+            try {
+                id = insertRecurrence(db, values);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            if (id != -1) {
+                section.rowsWritten(1);
+                recurrencesChanged();
+            }
+            return id;
+        }
+    }
+
+    /**
+     * 규칙 한 행을 추가합니다. (호출한 쪽의 트랜잭션 안에서 호출, 규칙 추가와 복원에서 사용)
+     * AUTOINCREMENT는 줄어들지 않으므로, 다음 ID가 MAX_ID를 넘으면 가장 작은 빈 ID를 직접 지정합니다.
+     * (규칙을 지울 때 날짜별 예외도 함께 지우므로 이전 규칙의 예외가 섞이지 않음)
+     *
+     * @return 추가된 규칙 ID (실패하거나 빈 ID가 없으면 -1)
+     */
+    private long insertRecurrence(SQLiteDatabase db, ContentValues values) {
+        long lastId = SlowQueryDetector.longForQuery(db, "SELECT IFNULL((SELECT seq FROM sqlite_sequence"
+                + " WHERE name = '" + TABLE_RECURRENCE + "'), 0)", null);
+        if (lastId >= TodoRecurrence.MAX_ID) {
+            long free = findFreeRecurrenceId(db);
+            if (free > TodoRecurrence.MAX_ID) {
+                return -1;
+            }
+            values.put(COLUMN_ID, free);
+        }
+        return db.insert(TABLE_RECURRENCE, null, values);
+    }
+
+    /**
+     * 사용하지 않는 가장 작은 규칙 ID를 찾습니다. (ID가 가득 차면 MAX_ID보다 큰 값)
+     * AUTOINCREMENT가 범위를 다 쓴 뒤에만 호출되므로 규칙 테이블을 한 번 훑는 비용은 드물게만 듭니다.
+     */
+    private long findFreeRecurrenceId(SQLiteDatabase db) {
+        return SlowQueryDetector.longForQuery(db, "SELECT CASE"
+                + " WHEN NOT EXISTS (SELECT 1 FROM " + TABLE_RECURRENCE + " WHERE " + COLUMN_ID + " = 1) THEN 1"
+                + " ELSE (SELECT MIN(r." + COLUMN_ID + ") + 1 FROM " + TABLE_RECURRENCE + " r"
+                + " WHERE NOT EXISTS (SELECT 1 FROM " + TABLE_RECURRENCE + " n"
+                + " WHERE n." + COLUMN_ID + " = r." + COLUMN_ID + " + 1)) END", null);
+    }
+
+    /**
+     * 반복 규칙을 해당 날짜부터 끝냅니다. 이전 날짜의 항목과 완료 기록은 남습니다.
+     * 첫 날짜부터 끝내면 규칙과 날짜별 예외를 모두 지웁니다.
+     *
+     * @param recurrenceId 규칙 ID
+     * @param fromDay      반복을 끝낼 첫 날짜 (epoch day, 이 날짜부터 항목이 없어짐)
+     * @return 변경된 규칙 수
+     */
+    public int stopRecurrence(int recurrenceId, int fromDay) {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.stopRecurrence")) {
+            SQLiteDatabase db = getDatabase();
+            String[] idArgs = { String.valueOf(recurrenceId) };
+            String[] afterArgs = { String.valueOf(recurrenceId), String.valueOf(fromDay) };
+            int result;
+            db.beginTransaction();
+            try {
+                ContentValues values = new ContentValues();
+                values.put(COLUMN_END_DAY, fromDay - 1);
+                result = db.update(TABLE_RECURRENCE, values,
+                        COLUMN_ID + " = ? AND " + COLUMN_START_DAY + " < ?", afterArgs);
+                if (result > 0) {
+                    db.delete(TABLE_RECURRENCE_OVERRIDE,
+                            COLUMN_RECURRENCE_ID + " = ? AND " + COLUMN_DAY + " >= ?", afterArgs);
+                } else {
+                    result = db.delete(TABLE_RECURRENCE, COLUMN_ID + " = ?", idArgs);
+                    db.delete(TABLE_RECURRENCE_OVERRIDE, COLUMN_RECURRENCE_ID + " = ?", idArgs);
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            section.rowsWritten(result);
+            if (result > 0) {
+                recurrencesChanged();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 규칙이 바뀌면 어느 날짜에 영향이 있는지 알 수 없으므로 캐시를 모두 비우고 화면에 다시 조회를 요청합니다.
+     * (규칙 변경은 드물고, 각 화면은 보이는 범위만 다시 읽음)
+     */
+    private void recurrencesChanged() {
+        recurrenceCache.clear();
+        dayCache.clear();
+        dispatchReset();
+    }
+
+    /**
+     * 반복 규칙 목록을 반환합니다. 처음 한 번만 DB에서 읽고 이후에는 캐시를 사용합니다.
+     */
+    private List<TodoRecurrence> loadRecurrences(SQLiteDatabase db) {
+        List<TodoRecurrence> rules = recurrenceCache.getRules();
+        if (rules != null) {
+            return rules;
+        }
+        long cacheVersion = recurrenceCache.getVersion();
+
+        rules = new ArrayList<>();
+        TodoRecurrence.Frequency[] frequencies = TodoRecurrence.Frequency.values();
+        try (Cursor cursor = SlowQueryDetector.rawQuery(db, "SELECT " + COLUMN_ID + ", " + COLUMN_TASK + ", "
+                + COLUMN_MINUTE + ", " + COLUMN_FREQ + ", " + COLUMN_WEEKDAYS + ", " + COLUMN_START_DAY + ", "
+                + COLUMN_END_DAY + " FROM " + TABLE_RECURRENCE, null)) {
+            while (cursor.moveToNext()) {
+                rules.add(new TodoRecurrence(cursor.getInt(0), cursor.getString(1), cursor.getInt(2),
+                        frequencies[cursor.getInt(3)], cursor.getInt(4), cursor.getInt(5),
+                        cursor.isNull(6) ? TodoRecurrence.NO_END : cursor.getInt(6)));
+            }
+        }
+        rules = Collections.unmodifiableList(rules);
+        recurrenceCache.putRules(rules, cacheVersion);
+        return rules;
+    }
+
+    /**
+     * 날짜 범위의 반복 항목을 계산하고 범위별 캐시에 보관합니다. (캘린더 월 요약)
+     */
+    private List<TodoItem> expandRecurrences(SQLiteDatabase db, int fromDay, int toDay) {
+        List<TodoItem> cached = recurrenceCache.getExpansion(fromDay, toDay);
+        if (cached != null) {
+            return cached;
+        }
+        long cacheVersion = recurrenceCache.getVersion();
+        List<TodoItem> occurrences = computeOccurrences(db, fromDay, toDay);
+        recurrenceCache.putExpansion(fromDay, toDay, occurrences, cacheVersion);
+        return occurrences;
+    }
+
+    /**
+     * 날짜 범위 안의 반복 항목을 날짜 순서로 계산합니다.
+     * 날짜별 예외는 범위 안의 행만 기본 키 순서로 읽으며, 건너뛴 날짜는 제외합니다.
+     * 규칙이 몇 년 동안 반복되어도 계산량은 범위의 날짜 수 × 규칙 수입니다.
+     */
+    private List<TodoItem> computeOccurrences(SQLiteDatabase db, int fromDay, int toDay) {
+        List<TodoItem> occurrences = new ArrayList<>();
+        List<TodoRecurrence> active = new ArrayList<>();
+        for (TodoRecurrence rule : loadRecurrences(db)) {
+            if (rule.getStartDay() <= toDay && rule.getEndDay() >= fromDay) {
+                active.add(rule);
+            }
+        }
+        if (active.isEmpty()) {
+            return occurrences;
+        }
+
+        Set<Integer> completedIds = new HashSet<>();
+        Set<Integer> skippedIds = new HashSet<>();
+        Map<Integer, String> editedTasks = new HashMap<>();
+        try (Cursor cursor = SlowQueryDetector.rawQuery(db, "SELECT " + COLUMN_DAY + ", " + COLUMN_RECURRENCE_ID
+                + ", " + COLUMN_COMPLETED + ", " + COLUMN_SKIPPED + ", " + COLUMN_TASK
+                + " FROM " + TABLE_RECURRENCE_OVERRIDE + " WHERE " + COLUMN_DAY + " BETWEEN ? AND ?",
+                new String[] { String.valueOf(fromDay), String.valueOf(toDay) })) {
+            while (cursor.moveToNext()) {
+                int id = TodoRecurrence.occurrenceId(cursor.getInt(1), cursor.getInt(0));
+                if (cursor.getInt(3) != 0) {
+                    skippedIds.add(id);
+                    continue;
+                }
+                if (cursor.getInt(2) != 0) {
+                    completedIds.add(id);
+                }
+                if (!cursor.isNull(4)) {
+                    editedTasks.put(id, cursor.getString(4));
+                }
+            }
+        }
+
+        for (int day = fromDay; day <= toDay; day++) {
+            for (TodoRecurrence rule : active) {
+                if (!rule.occursOn(day)) {
+                    continue;
+                }
+                int id = TodoRecurrence.occurrenceId(rule.getId(), day);
+                if (skippedIds.contains(id)) {
+                    continue;
+                }
+                String task = editedTasks.get(id);
+                TodoItem item = new TodoItem(id, day, rule.getMinute(), task != null ? task : rule.getTask(),
+                        completedIds.contains(id));
+                item.setRecurrenceId(rule.getId());
+                item.getDateLabel();
+                occurrences.add(item);
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * 반복 항목 ID에 해당하는 항목의 현재 상태를 조회합니다. (일반 항목 ID는 무시)
+     *
+     * @return ID -> 항목 (규칙이 없거나 건너뛴 날짜는 포함되지 않음)
+     */
+    private Map<Integer, TodoItem> readOccurrencesById(SQLiteDatabase db, Collection<Integer> ids) {
+        Map<Integer, TodoItem> result = new LinkedHashMap<>();
+        Set<Integer> days = new HashSet<>();
+        for (int id : ids) {
+            if (TodoRecurrence.isOccurrenceId(id) && days.add(TodoRecurrence.dayOf(id))) {
+                for (TodoItem item : computeOccurrences(db, TodoRecurrence.dayOf(id), TodoRecurrence.dayOf(id))) {
+                    result.put(item.getId(), item);
+                }
+            }
+        }
+        result.keySet().retainAll(ids);
+        return result;
+    }
+
+    /**
+     * 반복 항목의 완료 상태를 날짜별 예외로 저장합니다. (일반 항목 ID는 무시)
+     * 호출한 쪽의 트랜잭션 안에서 호출하며, 바뀐 항목이 있으면 커밋한 뒤 범위 캐시를 비워야 합니다.
+     *
+     * @return 바뀐 항목의 변경 이벤트
+     */
+    private List<TodoChange> setOccurrencesCompleted(SQLiteDatabase db, Map<Integer, Boolean> completions) {
+        Map<Integer, TodoItem> before = readOccurrencesById(db, completions.keySet());
+        List<TodoChange> changes = new ArrayList<>(before.size());
+        if (before.isEmpty()) {
+            return changes;
+        }
+        SQLiteStatement statement = compileOverrideStatement(db);
+        try {
+            for (TodoItem item : before.values()) {
+                boolean completed = completions.get(item.getId());
+                if (item.isCompleted() == completed) {
+                    continue;
+                }
+                writeOverride(statement, item.getId(), completed, false);
+
+                TodoItem after = item.copy();
+                after.setCompleted(completed);
+                changes.add(TodoChange.updated(item, after));
+            }
+        } finally {
+            statement.close();
+        }
+        return changes;
+    }
+
+    /**
+     * 반복 항목의 해당 날짜를 건너뛰도록 날짜별 예외를 저장합니다. (일반 항목 ID는 무시)
+     * 호출한 쪽의 트랜잭션 안에서 호출하며, 건너뛴 항목이 있으면 커밋한 뒤 범위 캐시를 비워야 합니다.
+     *
+     * @return 건너뛴 항목의 변경 전 상태 (ID -> 항목)
+     */
+    private Map<Integer, TodoItem> skipOccurrences(SQLiteDatabase db, Collection<Integer> ids) {
+        Map<Integer, TodoItem> before = readOccurrencesById(db, ids);
+        if (before.isEmpty()) {
+            return before;
+        }
+        SQLiteStatement statement = compileOverrideStatement(db);
+        try {
+            for (TodoItem item : before.values()) {
+                writeOverride(statement, item.getId(), item.isCompleted(), true);
+            }
+        } finally {
+            statement.close();
+        }
+        return before;
+    }
+
+    /**
+     * 날짜별 예외를 추가하거나, 이미 있으면 덮어쓰는 문장을 만듭니다.
+     */
+    private SQLiteStatement compileOverrideStatement(SQLiteDatabase db) {
+        return db.compileStatement("INSERT INTO " + TABLE_RECURRENCE_OVERRIDE + " (" + COLUMN_DAY + ", "
+                + COLUMN_RECURRENCE_ID + ", " + COLUMN_COMPLETED + ", " + COLUMN_SKIPPED + ") VALUES (?, ?, ?, ?)"
+                + " ON CONFLICT(" + COLUMN_DAY + ", " + COLUMN_RECURRENCE_ID + ") DO UPDATE SET "
+                + COLUMN_COMPLETED + " = excluded." + COLUMN_COMPLETED + ", "
+                + COLUMN_SKIPPED + " = excluded." + COLUMN_SKIPPED);
+    }
+
+    private void writeOverride(SQLiteStatement statement, int occurrenceId, boolean completed, boolean skipped) {
+        statement.bindLong(1, TodoRecurrence.dayOf(occurrenceId));
+        statement.bindLong(2, TodoRecurrence.recurrenceIdOf(occurrenceId));
+        statement.bindLong(3, completed ? 1 : 0);
+        statement.bindLong(4, skipped ? 1 : 0);
+        statement.executeInsert();
+    }
+
+    /**
+     * ID 목록에서 todo_table에 있는 일반 항목 ID만 골라냅니다.
+     */
+    private static List<Integer> todoIds(Collection<Integer> ids) {
+        List<Integer> todoIds = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            if (!TodoRecurrence.isOccurrenceId(id)) {
+                todoIds.add(id);
+            }
+        }
+        return todoIds;
+    }
+
+    private static Map<Integer, Boolean> toCompletions(Collection<Integer> ids, boolean completed) {
+        Map<Integer, Boolean> completions = new LinkedHashMap<>();
+        for (int id : ids) {
+            completions.put(id, completed);
+        }
+        return completions;
+    }
+
+    /**
+     * 모든 투두 항목을 ID 순서로 읽어 백업 파일에 씁니다. ({@link TodoBackup#export}에서 호출)
+     * 전체를 한 커서로 읽으면 커서 창을 넘길 때마다 앞부분을 다시 건너뛰어야 하므로,
+     * 마지막으로 읽은 ID 뒤부터 BACKUP_CHUNK개씩 기본 키를 따라 나눠 읽습니다.
+     * 내보내는 동안 추가된 항목은 포함하지 않도록 시작 시점의 마지막 ID까지만 읽습니다.
+     *
+     * @param writer   항목 배열을 쓰는 중인 JsonWriter
+     * @param signal   취소 신호 (취소되면 OperationCanceledException 발생)
+     * @param listener 진행률 리스너 (묶음마다 호출)
+     * @return 내보낸 항목 수
+     */
+    int exportTodos(JsonWriter writer, @Nullable CancellationSignal signal,
+            @Nullable TodoBackup.ProgressListener listener) throws IOException {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.exportTodos")) {
+            SQLiteDatabase db = getDatabase();
+            long maxId = SlowQueryDetector.longForQuery(db,
+                    "SELECT IFNULL(MAX(" + COLUMN_ID + "), 0) FROM " + TABLE_TODO, null);
+            int total = (int) SlowQueryDetector.longForQuery(db, "SELECT COUNT(*) FROM " + TABLE_TODO
+                    + " WHERE " + COLUMN_ID + " <= ?", new String[] { String.valueOf(maxId) });
+            if (listener != null) {
+                listener.onProgress(0, total);
+            }
+
+            String query = "SELECT " + COLUMN_ID + ", " + COLUMN_DAY + ", " + COLUMN_MINUTE + ", " + COLUMN_TASK
+                    + ", " + COLUMN_COMPLETED + ", " + COLUMN_CREATED_AT + ", " + COLUMN_UID
+                    + " FROM " + TABLE_TODO
+                    + " WHERE " + COLUMN_ID + " > ? AND " + COLUMN_ID + " <= ?"
+                    + " ORDER BY " + COLUMN_ID
+                    + " LIMIT " + BACKUP_CHUNK;
+            String[] args = { "0", String.valueOf(maxId) };
+            int count = 0;
+            int read;
             do {
-                TodoItem item = new TodoItem(
-                        cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_ID)),
-                        cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_DATE)),
-                        cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_TIME)),
-                        cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_TASK)),
-                        cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_COMPLETED)) == 1);
-                todoList.add(item);
-            } while (cursor.moveToNext());
+                read = 0;
+                try (Cursor cursor = SlowQueryDetector.rawQuery(db, query, args, signal)) {
+                    while (cursor.moveToNext()) {
+                        long id = cursor.getLong(0);
+                        TodoBackup.writeTodo(writer, id, cursor.getInt(1), cursor.getInt(2), cursor.getString(3),
+                                cursor.getInt(4) != 0, cursor.getString(5), cursor.getString(6));
+                        args[0] = String.valueOf(id);
+                        read++;
+                    }
+                }
+                count += read;
+                if (listener != null) {
+                    listener.onProgress(count, total);
+                }
+                if (signal != null) {
+                    signal.throwIfCanceled();
+                }
+            } while (read == BACKUP_CHUNK);
+            section.rowsRead(count);
+            return count;
         }
+    }
 
-        cursor.close();
-        db.close();
-        return todoList;
+    /**
+     * 마지막으로 기록된 변경 로그 순번을 반환합니다. 로그를 정리한 뒤에도 줄어들지 않습니다.
+     *
+     * @return 변경이 한 번도 없었으면 0
+     */
+    long getChangeSeq() {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.getChangeSeq")) {
+            return SlowQueryDetector.longForQuery(getDatabase(), "SELECT IFNULL((SELECT seq FROM sqlite_sequence"
+                    + " WHERE name = '" + TABLE_CHANGELOG + "'), 0)", null);
+        }
     }
 
     /**
-     * 특정 날짜에 할 일이 있는지 확인합니다.
-     * 
-     * @param date 날짜 (yyyy-MM-dd 형식)
-     * @return 할 일이 있으면 true, 없으면 false
+     * 변경 로그 순번 (fromSeq, toSeq] 사이에 바뀐 항목의 현재 값을 ID 순서로 백업 파일에 씁니다.
+     * 한 항목이 여러 번 바뀌었어도 한 번만 쓰며, 삭제된 항목은 ID와 삭제 표시만 씁니다.
+     * toSeq 이후의 변경이 섞여 더 최신 값이 쓰일 수 있지만, 그 변경은 다음 증분에 다시 포함되고
+     * 복원은 ID(동기화는 uid) 기준 덮어쓰기라 여러 번 적용해도 결과가 같습니다.
+     *
+     * @param writer    항목 배열을 쓰는 중인 JsonWriter
+     * @param localOnly true면 동기화로 받은 변경은 제외 (받은 변경을 다시 올려 기기 사이를 오가지 않도록)
+     * @param signal    취소 신호 (취소되면 OperationCanceledException 발생)
+     * @return 쓴 항목 수
+     */
+    int exportChanges(JsonWriter writer, long fromSeq, long toSeq, boolean localOnly,
+            @Nullable CancellationSignal signal) throws IOException {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.exportChanges")) {
+            SQLiteDatabase db = getDatabase();
+            String query = "SELECT c." + COLUMN_TODO_ID + ", t." + COLUMN_ID + ", t." + COLUMN_DAY
+                    + ", t." + COLUMN_MINUTE + ", t." + COLUMN_TASK + ", t." + COLUMN_COMPLETED
+                    + ", t." + COLUMN_CREATED_AT + ", IFNULL(t." + COLUMN_UID + ", c." + COLUMN_UID + ")"
+                    + " FROM (SELECT " + COLUMN_TODO_ID + ", MAX(" + COLUMN_UID + ") AS " + COLUMN_UID
+                    + " FROM " + TABLE_CHANGELOG
+                    + changedIdsWhere(KIND_TODO, localOnly)
+                    + " LEFT JOIN " + TABLE_TODO + " t ON t." + COLUMN_ID + " = c." + COLUMN_TODO_ID
+                    + " ORDER BY c." + COLUMN_TODO_ID;
+            String[] args = { String.valueOf(fromSeq), String.valueOf(toSeq), "0" };
+            int count = 0;
+            int read;
+            do {
+                read = 0;
+                try (Cursor cursor = SlowQueryDetector.rawQuery(db, query, args, signal)) {
+                    while (cursor.moveToNext()) {
+                        long id = cursor.getLong(0);
+                        if (cursor.isNull(1)) {
+                            TodoBackup.writeDeleted(writer, id, cursor.getString(7));
+                        } else {
+                            TodoBackup.writeTodo(writer, id, cursor.getInt(2), cursor.getInt(3), cursor.getString(4),
+                                    cursor.getInt(5) != 0, cursor.getString(6), cursor.getString(7));
+                        }
+                        args[2] = String.valueOf(id);
+                        read++;
+                    }
+                }
+                count += read;
+                if (signal != null) {
+                    signal.throwIfCanceled();
+                }
+            } while (read == BACKUP_CHUNK);
+            section.rowsRead(count);
+            return count;
+        }
+    }
+
+    /**
+     * 변경 로그에서 한 종류의 바뀐 ID를 ID 순서로 BACKUP_CHUNK개씩 묶는 부분 조회의 조건입니다.
+     * 인자는 (fromSeq, toSeq, 마지막으로 읽은 ID) 순서이며, 결과는 c(todo_id, uid)로 조인합니다.
+     */
+    private static String changedIdsWhere(int kind, boolean localOnly) {
+        return " WHERE " + COLUMN_SEQ + " > ? AND " + COLUMN_SEQ + " <= ? AND " + COLUMN_TODO_ID + " > ?"
+                + " AND " + COLUMN_KIND + " = " + kind
+                + (localOnly ? " AND " + COLUMN_ORIGIN + " = " + ORIGIN_LOCAL : "")
+                + " GROUP BY " + COLUMN_TODO_ID
+                + " ORDER BY " + COLUMN_TODO_ID + " LIMIT " + BACKUP_CHUNK + ") c";
+    }
+
+    /**
+     * 모든 반복 규칙을 ID 순서로 백업 파일에 씁니다. 기기마다 다른 로컬 ID 대신 uid로 규칙을 구분합니다.
+     *
+     * @return 내보낸 규칙 수
      */
-    public boolean hasTodosOnDate(String date) {
-        SQLiteDatabase db = this.getReadableDatabase();
-        String query = "SELECT COUNT(*) FROM " + TABLE_TODO +
-                " WHERE " + COLUMN_DATE + " LIKE ?";
-        Cursor cursor = db.rawQuery(query, new String[] { date + "%" });
+    int exportRecurrences(JsonWriter writer, @Nullable CancellationSignal signal) throws IOException {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.exportRecurrences")) {
+            String query = "SELECT " + COLUMN_ID + ", " + RECURRENCE_EXPORT_COLUMNS + " FROM " + TABLE_RECURRENCE
+                    + " WHERE " + COLUMN_ID + " > ? ORDER BY " + COLUMN_ID + " LIMIT " + BACKUP_CHUNK;
+            String[] args = { "0" };
+            int count = 0;
+            int read;
+            do {
+                read = 0;
+                try (Cursor cursor = SlowQueryDetector.rawQuery(getDatabase(), query, args, signal)) {
+                    while (cursor.moveToNext()) {
+                        writeRecurrence(writer, cursor, 1);
+                        args[0] = String.valueOf(cursor.getLong(0));
+                        read++;
+                    }
+                }
+                count += read;
+                if (signal != null) {
+                    signal.throwIfCanceled();
+                }
+            } while (read == BACKUP_CHUNK);
+            section.rowsRead(count);
+            return count;
+        }
+    }
+
+    /**
+     * 모든 날짜별 예외를 (날짜, 규칙) 순서로 백업 파일에 씁니다. 규칙은 uid로 가리킵니다.
+     *
+     * @return 내보낸 예외 수
+     */
+    int exportOverrides(JsonWriter writer, @Nullable CancellationSignal signal) throws IOException {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.exportOverrides")) {
+            String query = "SELECT o." + COLUMN_DAY + ", o." + COLUMN_RECURRENCE_ID + ", r." + COLUMN_UID
+                    + ", o." + COLUMN_COMPLETED + ", o." + COLUMN_SKIPPED + ", o." + COLUMN_TASK
+                    + " FROM " + TABLE_RECURRENCE_OVERRIDE + " o"
+                    + " JOIN " + TABLE_RECURRENCE + " r ON r." + COLUMN_ID + " = o." + COLUMN_RECURRENCE_ID
+                    + " WHERE (o." + COLUMN_DAY + ", o." + COLUMN_RECURRENCE_ID + ") > (?, ?)"
+                    + " ORDER BY o." + COLUMN_DAY + ", o." + COLUMN_RECURRENCE_ID + " LIMIT " + BACKUP_CHUNK;
+            String[] args = { String.valueOf(Integer.MIN_VALUE), "0" };
+            int count = 0;
+            int read;
+            do {
+                read = 0;
+                try (Cursor cursor = SlowQueryDetector.rawQuery(getDatabase(), query, args, signal)) {
+                    while (cursor.moveToNext()) {
+                        TodoBackup.writeOverride(writer, cursor.getString(2), cursor.getInt(0),
+                                cursor.getInt(3) != 0, cursor.getInt(4) != 0, cursor.getString(5));
+                        args[0] = String.valueOf(cursor.getInt(0));
+                        args[1] = String.valueOf(cursor.getInt(1));
+                        read++;
+                    }
+                }
+                count += read;
+                if (signal != null) {
+                    signal.throwIfCanceled();
+                }
+            } while (read == BACKUP_CHUNK);
+            section.rowsRead(count);
+            return count;
+        }
+    }
+
+    /**
+     * 변경 순번 (fromSeq, toSeq] 사이에 바뀐 반복 규칙의 현재 값을 씁니다. 삭제된 규칙은 uid와 삭제 표시만 씁니다.
+     * 지운 규칙의 ID를 새 규칙이 다시 쓰고 있으면 이전 규칙의 삭제와 새 규칙을 모두 씁니다.
+     *
+     * @return 쓴 규칙 수
+     */
+    int exportRecurrenceChanges(JsonWriter writer, long fromSeq, long toSeq, boolean localOnly,
+            @Nullable CancellationSignal signal) throws IOException {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.exportRecurrenceChanges")) {
+            String query = "SELECT c." + COLUMN_TODO_ID + ", c." + COLUMN_UID + ", r." + COLUMN_ID + ", "
+                    + prefixed("r.", RECURRENCE_EXPORT_COLUMNS)
+                    + " FROM (SELECT " + COLUMN_TODO_ID + ", MAX(" + COLUMN_UID + ") AS " + COLUMN_UID
+                    + " FROM " + TABLE_CHANGELOG + changedIdsWhere(KIND_RECURRENCE, localOnly)
+                    + " LEFT JOIN " + TABLE_RECURRENCE + " r ON r." + COLUMN_ID + " = c." + COLUMN_TODO_ID
+                    + " ORDER BY c." + COLUMN_TODO_ID;
+            String[] args = { String.valueOf(fromSeq), String.valueOf(toSeq), "0" };
+            int count = 0;
+            int read;
+            do {
+                read = 0;
+                try (Cursor cursor = SlowQueryDetector.rawQuery(getDatabase(), query, args, signal)) {
+                    while (cursor.moveToNext()) {
+                        String deletedUid = cursor.getString(1);
+                        // 현재 규칙의 uid (ID 다음 열)
+                        String uid = cursor.isNull(2) ? null : cursor.getString(3);
+                        if (deletedUid != null && !deletedUid.equals(uid)) {
+                            TodoBackup.writeRecurrenceDeleted(writer, deletedUid);
+                            count++;
+                        }
+                        if (uid != null) {
+                            writeRecurrence(writer, cursor, 3);
+                            count++;
+                        }
+                        args[2] = String.valueOf(cursor.getLong(0));
+                        read++;
+                    }
+                }
+                if (signal != null) {
+                    signal.throwIfCanceled();
+                }
+            } while (read == BACKUP_CHUNK);
+            section.rowsRead(count);
+            return count;
+        }
+    }
+
+    /**
+     * 변경 순번 (fromSeq, toSeq] 사이에 바뀐 날짜별 예외의 현재 값을 씁니다. 지워진 예외는 규칙 uid, 날짜, 삭제 표시만 씁니다.
+     * 로그의 todo_id(반복 항목 ID)에서 규칙 ID와 날짜를 풀어 현재 예외를 찾습니다.
+     *
+     * @return 쓴 예외 수
+     */
+    int exportOverrideChanges(JsonWriter writer, long fromSeq, long toSeq, boolean localOnly,
+            @Nullable CancellationSignal signal) throws IOException {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.exportOverrideChanges")) {
+            // TodoRecurrence.recurrenceIdOf / dayOf와 같은 식
+            String recurrenceId = "((-c." + COLUMN_TODO_ID + ") >> 16)";
+            String day = "((-c." + COLUMN_TODO_ID + ") & 65535)";
+            String query = "SELECT c." + COLUMN_TODO_ID + ", c." + COLUMN_UID + ", r." + COLUMN_UID
+                    + ", o." + COLUMN_DAY + ", o." + COLUMN_COMPLETED + ", o." + COLUMN_SKIPPED + ", o." + COLUMN_TASK
+                    + " FROM (SELECT " + COLUMN_TODO_ID + ", MAX(" + COLUMN_UID + ") AS " + COLUMN_UID
+                    + " FROM " + TABLE_CHANGELOG + changedIdsWhere(KIND_OVERRIDE, localOnly)
+                    + " LEFT JOIN " + TABLE_RECURRENCE + " r ON r." + COLUMN_ID + " = " + recurrenceId
+                    + " LEFT JOIN " + TABLE_RECURRENCE_OVERRIDE + " o ON o." + COLUMN_DAY + " = " + day
+                    + " AND o." + COLUMN_RECURRENCE_ID + " = " + recurrenceId
+                    + " ORDER BY c." + COLUMN_TODO_ID;
+            // 반복 항목 ID는 음수이므로 가장 작은 값부터 읽음
+            String[] args = { String.valueOf(fromSeq), String.valueOf(toSeq), String.valueOf(Long.MIN_VALUE) };
+            int count = 0;
+            int read;
+            do {
+                read = 0;
+                try (Cursor cursor = SlowQueryDetector.rawQuery(getDatabase(), query, args, signal)) {
+                    while (cursor.moveToNext()) {
+                        int occurrenceId = cursor.getInt(0);
+                        if (cursor.isNull(3)) {
+                            // 지울 때 기록한 uid가 우선 (그 뒤 규칙 ID를 다른 규칙이 다시 썼을 수 있음)
+                            String uid = cursor.isNull(1) ? cursor.getString(2) : cursor.getString(1);
+                            if (uid != null) {
+                                TodoBackup.writeOverrideDeleted(writer, uid, TodoRecurrence.dayOf(occurrenceId));
+                                count++;
+                            }
+                        } else if (!cursor.isNull(2)) {
+                            TodoBackup.writeOverride(writer, cursor.getString(2), cursor.getInt(3),
+                                    cursor.getInt(4) != 0, cursor.getInt(5) != 0, cursor.getString(6));
+                            count++;
+                        }
+                        args[2] = String.valueOf(occurrenceId);
+                        read++;
+                    }
+                }
+                if (signal != null) {
+                    signal.throwIfCanceled();
+                }
+            } while (read == BACKUP_CHUNK);
+            section.rowsRead(count);
+            return count;
+        }
+    }
+
+    /**
+     * 규칙 한 행을 씁니다. first는 RECURRENCE_EXPORT_COLUMNS가 시작하는 열 위치입니다.
+     */
+    private static void writeRecurrence(JsonWriter writer, Cursor cursor, int first) throws IOException {
+        TodoRecurrence.Frequency[] frequencies = TodoRecurrence.Frequency.values();
+        TodoBackup.writeRecurrence(writer, cursor.getString(first), cursor.getString(first + 1),
+                cursor.getInt(first + 2), frequencies[cursor.getInt(first + 3)], cursor.getInt(first + 4),
+                cursor.getInt(first + 5), cursor.isNull(first + 6) ? TodoRecurrence.NO_END : cursor.getInt(first + 6),
+                cursor.getString(first + 7));
+    }
+
+    private static String prefixed(String prefix, String columns) {
+        return prefix + columns.replace(", ", ", " + prefix);
+    }
+
+    /**
+     * 변경 로그 사용처가 어디까지 읽었는지 기록하고, 모든 사용처가 읽은 로그를 지웁니다.
+     *
+     * @param consumer 사용처 이름 (백업, 동기화)
+     * @param upToSeq  이 사용처가 반영한 마지막 순번 (포함)
+     */
+    void pruneChangeLog(String consumer, long upToSeq) {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.pruneChangeLog")) {
+            SQLiteDatabase db = getDatabase();
+            db.beginTransaction();
+            try {
+                db.execSQL("INSERT OR REPLACE INTO " + TABLE_CHANGELOG_CURSOR + " (" + COLUMN_CONSUMER + ", "
+                        + COLUMN_SEQ + ") VALUES (?, ?)", new Object[] { consumer, upToSeq });
+                int pruned = db.delete(TABLE_CHANGELOG, COLUMN_SEQ + " <= (SELECT MIN(" + COLUMN_SEQ + ") FROM "
+                        + TABLE_CHANGELOG_CURSOR + ")", null);
+                section.rowsWritten(pruned);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        }
+    }
+
+    /**
+     * 더 이상 변경 로그를 읽지 않는 사용처를 지워, 그 사용처 때문에 로그가 남아 있지 않도록 합니다.
+     */
+    void removeChangeLogConsumer(String consumer) {
+        try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.removeChangeLogConsumer")) {
+            getDatabase().delete(TABLE_CHANGELOG_CURSOR, COLUMN_CONSUMER + " = ?", new String[] { consumer });
+        }
+    }
+
+    /**
+     * 백업 복원을 시작합니다. ({@link TodoBackup#restore}에서 호출, 같은 스레드에서만 사용)
+     * 복원마다 자기 임시 테이블을 만들고, 이전 복원이 중간에 끝나 남아 있던 임시 테이블은 지웁니다.
+     * (진행 중인 다른 복원의 임시 테이블은 건드리지 않음)
+     */
+    RestoreSession beginRestore(@Nullable CancellationSignal signal, @Nullable TodoBackup.ProgressListener listener) {
+        String table;
+        synchronized (restoreTables) {
+            dropStaleRestoreTables();
+            table = TABLE_RESTORE + "_" + (++restoreSeq);
+            restoreTables.add(table);
+        }
+        try {
+            return new RestoreSession(table, signal, listener);
+        } catch (RuntimeException e) {
+            endRestore(table);
+            throw e;
+        }
+    }
+
+    /**
+     * 진행 중인 복원이 쓰지 않는 임시 테이블을 지웁니다. (restoreTables를 잠근 채 호출)
+     */
+    private void dropStaleRestoreTables() {
+        SQLiteDatabase db = getDatabase();
+        List<String> stale = new ArrayList<>();
+        try (Cursor cursor = SlowQueryDetector.rawQuery(db, "SELECT name FROM sqlite_master"
+                + " WHERE type = 'table' AND name LIKE '" + TABLE_RESTORE + "%'", null)) {
+            while (cursor.moveToNext()) {
+                String name = cursor.getString(0);
+                if (!isActiveRestoreTable(name)) {
+                    stale.add(name);
+                }
+            }
+        }
+        for (String name : stale) {
+            db.execSQL("DROP TABLE IF EXISTS " + name);
+        }
+    }
+
+    /**
+     * 진행 중인 복원의 임시 테이블(규칙/예외용 todo_restore_순번_이름 포함)인지 확인합니다.
+     */
+    private boolean isActiveRestoreTable(String name) {
+        for (String table : restoreTables) {
+            if (name.equals(table) || name.startsWith(table + "_")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void endRestore(String table) {
+        synchronized (restoreTables) {
+            restoreTables.remove(table);
+        }
+    }
+
+    /**
+     * 백업 항목을 임시 테이블에 RESTORE_BATCH개씩 커밋하며 쌓았다가,
+     * {@link #commit}에서 한 트랜잭션으로 todo_table에 반영하는 복원 작업
+     * 반복 규칙과 날짜별 예외도 각자의 임시 테이블에 쌓았다가 같은 트랜잭션에서 규칙 uid 기준으로 반영합니다.
+     *
+     * 임시 테이블에 쌓는 동안에는 todo_table을 건드리지 않으므로, 중간에 실패하거나 앱이 종료되어도
+     * 기존 데이터는 그대로이고 남은 임시 테이블은 다음 복원 때 정리됩니다.
+     * 나눠 커밋하는 것은 WAL 파일이 한없이 커지지 않고 다른 쓰기가 오래 기다리지 않도록 하기 위함입니다.
+     */
+    final class RestoreSession implements Closeable {
+        private final SQLiteDatabase db;
+        // 이 복원의 임시 테이블 이름 (todo_restore_순번, 규칙과 예외는 뒤에 _recurrence, _override)
+        private final String table;
+        private final String recurrenceTable;
+        private final String overrideTable;
+        private final SQLiteStatement insert;
+        private final SQLiteStatement delete;
+        private final SQLiteStatement insertRule;
+        private final SQLiteStatement insertOverride;
+        @Nullable
+        private final CancellationSignal signal;
+        @Nullable
+        private final TodoBackup.ProgressListener listener;
+        private int count;
+        private int batchCount;
+        private boolean inTransaction;
+        private boolean committed;
+
+        private RestoreSession(String table, @Nullable CancellationSignal signal,
+                @Nullable TodoBackup.ProgressListener listener) {
+            this.table = table;
+            this.recurrenceTable = table + "_recurrence";
+            this.overrideTable = table + "_override";
+            this.signal = signal;
+            this.listener = listener;
+            db = getDatabase();
+            db.execSQL("CREATE TABLE " + table + "("
+                    + COLUMN_ID + " INTEGER PRIMARY KEY,"
+                    + COLUMN_DATE + " TEXT NOT NULL,"
+                    + COLUMN_DAY + " INTEGER NOT NULL,"
+                    + COLUMN_MINUTE + " INTEGER NOT NULL,"
+                    + COLUMN_TASK + " TEXT NOT NULL,"
+                    + COLUMN_COMPLETED + " INTEGER NOT NULL,"
+                    + COLUMN_CREATED_AT + " TIMESTAMP,"
+                    + COLUMN_SEARCH_TOKENS + " TEXT,"
+                    + COLUMN_UID + " TEXT,"
+                    // 증분 백업의 삭제 표시 (1이면 해당 ID를 지움)
+                    + COLUMN_RESTORE_DELETED + " INTEGER NOT NULL DEFAULT 0"
+                    + ")");
+            db.execSQL("CREATE INDEX " + table + "_" + COLUMN_UID
+                    + " ON " + table + "(" + COLUMN_UID + ")");
+            // 같은 ID가 여러 번 나오면 마지막 항목을 사용
+            insert = db.compileStatement("INSERT OR REPLACE INTO " + table + " (" + RESTORE_COLUMNS + ")"
+                    + " VALUES (?, ?, ?, ?, ?, ?, IFNULL(?, CURRENT_TIMESTAMP), ?, ?)");
+            delete = db.compileStatement("INSERT OR REPLACE INTO " + table + " (" + COLUMN_ID + ", "
+                    + COLUMN_DATE + ", " + COLUMN_DAY + ", " + COLUMN_MINUTE + ", " + COLUMN_TASK + ", "
+                    + COLUMN_COMPLETED + ", " + COLUMN_UID + ", " + COLUMN_RESTORE_DELETED + ")"
+                    + " VALUES (?, '', 0, 0, '', 0, ?, 1)");
+
+            // 규칙과 예외는 uid로 맞추므로 uid를 기본 키로 두어 같은 규칙이 여러 번 나오면 마지막 값을 사용
+            db.execSQL("CREATE TABLE " + recurrenceTable + "("
+                    + COLUMN_UID + " TEXT PRIMARY KEY,"
+                    + COLUMN_TASK + " TEXT,"
+                    + COLUMN_MINUTE + " INTEGER,"
+                    + COLUMN_FREQ + " INTEGER,"
+                    + COLUMN_WEEKDAYS + " INTEGER,"
+                    + COLUMN_START_DAY + " INTEGER,"
+                    + COLUMN_END_DAY + " INTEGER,"
+                    + COLUMN_CREATED_AT + " TIMESTAMP,"
+                    + COLUMN_RESTORE_DELETED + " INTEGER NOT NULL DEFAULT 0"
+                    + ")");
+            db.execSQL("CREATE TABLE " + overrideTable + "("
+                    + COLUMN_RULE_UID + " TEXT NOT NULL,"
+                    + COLUMN_DAY + " INTEGER NOT NULL,"
+                    + COLUMN_COMPLETED + " INTEGER NOT NULL DEFAULT 0,"
+                    + COLUMN_SKIPPED + " INTEGER NOT NULL DEFAULT 0,"
+                    + COLUMN_TASK + " TEXT,"
+                    + COLUMN_RESTORE_DELETED + " INTEGER NOT NULL DEFAULT 0,"
+                    + "PRIMARY KEY (" + COLUMN_RULE_UID + ", " + COLUMN_DAY + ")"
+                    + ")");
+            insertRule = db.compileStatement("INSERT OR REPLACE INTO " + recurrenceTable + " ("
+                    + RECURRENCE_EXPORT_COLUMNS + ", " + COLUMN_RESTORE_DELETED + ")"
+                    + " VALUES (?, ?, ?, ?, ?, ?, ?, IFNULL(?, CURRENT_TIMESTAMP), ?)");
+            insertOverride = db.compileStatement("INSERT OR REPLACE INTO " + overrideTable + " ("
+                    + COLUMN_RULE_UID + ", " + COLUMN_DAY + ", " + COLUMN_COMPLETED + ", " + COLUMN_SKIPPED + ", "
+                    + COLUMN_TASK + ", " + COLUMN_RESTORE_DELETED + ") VALUES (?, ?, ?, ?, ?, ?)");
+        }
+
+        /**
+         * 백업 항목 하나를 임시 테이블에 추가합니다.
+         */
+        void add(long id, int day, int minute, String task, boolean completed, @Nullable String createdAt,
+                @Nullable String uid) {
+            beginBatch();
+            insert.bindLong(1, id);
+            insert.bindString(2, TaskFlowDate.formatDateWithDay(day));
+            insert.bindLong(3, day);
+            insert.bindLong(4, minute);
+            insert.bindString(5, task);
+            insert.bindLong(6, completed ? 1 : 0);
+            bindNullable(insert, 7, createdAt);
+            insert.bindString(8, TodoSearchTokens.toIndexText(task));
+            bindNullable(insert, 9, uid);
+            insert.executeInsert();
+            added();
+        }
+
+        /**
+         * 증분 백업에서 삭제된 항목을 추가합니다.
+         */
+        void addDeleted(long id, @Nullable String uid) {
+            beginBatch();
+            delete.bindLong(1, id);
+            bindNullable(delete, 2, uid);
+            delete.executeInsert();
+            added();
+        }
+
+        /**
+         * 백업의 반복 규칙 하나를 규칙 임시 테이블에 추가합니다.
+         * 날짜가 반복 항목 ID에 넣을 수 있는 범위를 벗어난 규칙은 건너뜁니다. (규칙 추가와 같은 제한)
+         *
+         * @param endDay 마지막 날짜, 없으면 {@link TodoRecurrence#NO_END}
+         */
+        void addRecurrence(String uid, String task, int minute, TodoRecurrence.Frequency frequency, int weekdays,
+                int startDay, int endDay, @Nullable String createdAt) {
+            if (!TodoRecurrence.isSupportedDay(startDay)
+                    || (endDay != TodoRecurrence.NO_END && !TodoRecurrence.isSupportedDay(endDay))) {
+                return;
+            }
+            beginBatch();
+            insertRule.bindString(1, uid);
+            insertRule.bindString(2, task);
+            insertRule.bindLong(3, minute);
+            insertRule.bindLong(4, frequency.ordinal());
+            insertRule.bindLong(5, weekdays);
+            insertRule.bindLong(6, startDay);
+            if (endDay == TodoRecurrence.NO_END) {
+                insertRule.bindNull(7);
+            } else {
+                insertRule.bindLong(7, endDay);
+            }
+            bindNullable(insertRule, 8, createdAt);
+            insertRule.bindLong(9, 0);
+            insertRule.executeInsert();
+            buffered();
+        }
+
+        /**
+         * 증분 백업에서 삭제된 반복 규칙을 추가합니다. (규칙의 날짜별 예외도 함께 지워짐)
+         */
+        void addRecurrenceDeleted(String uid) {
+            beginBatch();
+            insertRule.clearBindings();
+            insertRule.bindString(1, uid);
+            insertRule.bindLong(9, 1);
+            insertRule.executeInsert();
+            buffered();
+        }
+
+        /**
+         * 백업의 날짜별 예외 하나를 예외 임시 테이블에 추가합니다.
+         */
+        void addOverride(String recurrenceUid, int day, boolean completed, boolean skipped, @Nullable String task) {
+            putOverride(recurrenceUid, day, completed, skipped, task, false);
+        }
+
+        /**
+         * 증분 백업에서 지워진 날짜별 예외를 추가합니다.
+         */
+        void addOverrideDeleted(String recurrenceUid, int day) {
+            putOverride(recurrenceUid, day, false, false, null, true);
+        }
+
+        private void putOverride(String recurrenceUid, int day, boolean completed, boolean skipped,
+                @Nullable String task, boolean deleted) {
+            // 범위 밖의 날짜는 반복 항목 ID로 나타낼 수 없으므로 건너뜀
+            if (!TodoRecurrence.isSupportedDay(day)) {
+                return;
+            }
+            beginBatch();
+            insertOverride.bindString(1, recurrenceUid);
+            insertOverride.bindLong(2, day);
+            insertOverride.bindLong(3, completed ? 1 : 0);
+            insertOverride.bindLong(4, skipped ? 1 : 0);
+            bindNullable(insertOverride, 5, task);
+            insertOverride.bindLong(6, deleted ? 1 : 0);
+            insertOverride.executeInsert();
+            buffered();
+        }
+
+        private void beginBatch() {
+            if (!inTransaction) {
+                db.beginTransactionNonExclusive();
+                inTransaction = true;
+            }
+        }
+
+        private void bindNullable(SQLiteStatement statement, int index, @Nullable String value) {
+            if (value == null) {
+                statement.bindNull(index);
+            } else {
+                statement.bindString(index, value);
+            }
+        }
+
+        private void added() {
+            count++;
+            buffered();
+        }
+
+        /**
+         * 임시 테이블에 한 행을 쌓았음을 기록하고, RESTORE_BATCH개가 되면 커밋합니다.
+         */
+        private void buffered() {
+            if (++batchCount == RESTORE_BATCH) {
+                commitBatch();
+                if (signal != null) {
+                    signal.throwIfCanceled();
+                }
+            }
+        }
+
+        private void commitBatch() {
+            if (inTransaction) {
+                db.setTransactionSuccessful();
+                db.endTransaction();
+                inTransaction = false;
+            }
+            batchCount = 0;
+            if (listener != null) {
+                listener.onProgress(count, 0);
+            }
+        }
+
+        /**
+         * 쌓아 둔 항목을 한 트랜잭션으로 todo_table에 반영합니다.
+         * 교체는 기존 항목을 모두 지운 뒤 넣고, 병합은 삭제 표시된 ID를 지우고 같은 ID를 덮어쓴 뒤 없는 ID만 넣습니다.
+         * 동기화는 병합과 같되 로컬 id 대신 uid로 항목을 찾고, 새 항목은 이 기기의 새 id로 넣습니다.
+         * (INSERT OR REPLACE는 삭제 트리거를 실행하지 않아 검색 색인이 어긋나므로 UPDATE와 INSERT로 나눔)
+         * 반복 규칙과 날짜별 예외는 {@link #applyRecurrences}로 같은 트랜잭션에서 반영합니다.
+         *
+         * @return 복원한 할 일 항목 수
+         */
+        int commit(TodoBackup.Mode mode) {
+            try (TaskFlowMetrics.Section section = TaskFlowMetrics.begin("TodoDBHelper.restoreCommit")) {
+                commitBatch();
+                if (signal != null) {
+                    signal.throwIfCanceled();
+                }
+
+                db.beginTransaction();
+                try {
+                    long seqBefore = getChangeSeq();
+                    String kept = COLUMN_RESTORE_DELETED + " = 0";
+                    String insertWhere = " WHERE " + kept;
+                    if (mode == TodoBackup.Mode.SYNC) {
+                        applySync();
+                    } else if (mode == TodoBackup.Mode.REPLACE) {
+                        // 모두 지우는 것이 목적이므로 전체 스캔 검사를 거치지 않음
+                        db.execSQL("DELETE FROM " + TABLE_TODO);
+                    } else {
+                        SlowQueryDetector.execSQL(db, "DELETE FROM " + TABLE_TODO + " WHERE " + COLUMN_ID
+                                + " IN (SELECT " + COLUMN_ID + " FROM " + table
+                                + " WHERE " + COLUMN_RESTORE_DELETED + " = 1)");
+                        SlowQueryDetector.execSQL(db, "UPDATE " + TABLE_TODO + " SET (" + RESTORE_COLUMNS + ") ="
+                                + " (SELECT " + RESTORE_COLUMNS + " FROM " + table + " r"
+                                + " WHERE r." + COLUMN_ID + " = " + TABLE_TODO + "." + COLUMN_ID + ")"
+                                + " WHERE " + COLUMN_ID + " IN (SELECT " + COLUMN_ID + " FROM " + table
+                                + " WHERE " + kept + ")");
+                        // NOT IN (SELECT id FROM todo_table)은 todo_table 전체를 읽어 목록을 만드므로 행마다 기본 키로 확인
+                        insertWhere += " AND NOT EXISTS (SELECT 1 FROM " + TABLE_TODO + " t"
+                                + " WHERE t." + COLUMN_ID + " = r." + COLUMN_ID + ")";
+                    }
+                    if (mode != TodoBackup.Mode.SYNC) {
+                        SlowQueryDetector.execSQL(db, "INSERT INTO " + TABLE_TODO + " (" + RESTORE_COLUMNS + ")"
+                                + " SELECT " + RESTORE_COLUMNS + " FROM " + table + " r" + insertWhere);
+                        // uid가 없는 이전 형식의 백업이면 새로 발급
+                        SlowQueryDetector.execSQL(db, "UPDATE " + TABLE_TODO + " SET " + COLUMN_UID + " = " + NEW_UID
+                                + " WHERE " + COLUMN_UID + " IS NULL");
+                    }
+                    applyRecurrences(mode);
+                    if (mode == TodoBackup.Mode.SYNC) {
+                        // 받은 변경을 다시 올리지 않도록 이 트랜잭션에서 생긴 변경 로그를 동기화 출처로 표시
+                        // (commit의 트랜잭션 안이므로 그 사이 다른 쓰기가 로그에 섞이지 않음)
+                        db.execSQL("UPDATE " + TABLE_CHANGELOG + " SET " + COLUMN_ORIGIN + " = " + ORIGIN_SYNC
+                                + " WHERE " + COLUMN_SEQ + " > ?", new Object[] { seqBefore });
+                    }
+                    db.execSQL("DROP TABLE " + table);
+                    db.execSQL("DROP TABLE " + recurrenceTable);
+                    db.execSQL("DROP TABLE " + overrideTable);
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+                committed = true;
+                section.rowsWritten(count);
+
+                recurrenceCache.clear();
+                dayCache.clear();
+                dispatchReset();
+                return count;
+            }
+        }
+
+        /**
+         * 다른 기기에서 받은 변경을 uid 기준으로 반영합니다. (commit의 트랜잭션 안에서 호출)
+         */
+        private void applySync() {
+            String kept = " WHERE " + COLUMN_RESTORE_DELETED + " = 0 AND " + COLUMN_UID + " IS NOT NULL";
+            SlowQueryDetector.execSQL(db, "DELETE FROM " + TABLE_TODO + " WHERE " + COLUMN_UID
+                    + " IN (SELECT " + COLUMN_UID + " FROM " + table + " WHERE " + COLUMN_RESTORE_DELETED + " = 1)");
+            SlowQueryDetector.execSQL(db, "UPDATE " + TABLE_TODO + " SET (" + SYNC_COLUMNS + ") ="
+                    + " (SELECT " + SYNC_COLUMNS + " FROM " + table + " r"
+                    + " WHERE r." + COLUMN_UID + " = " + TABLE_TODO + "." + COLUMN_UID + ")"
+                    + " WHERE " + COLUMN_UID + " IN (SELECT " + COLUMN_UID + " FROM " + table + kept + ")");
+            SlowQueryDetector.execSQL(db, "INSERT INTO " + TABLE_TODO + " (" + SYNC_COLUMNS + ")"
+                    + " SELECT " + SYNC_COLUMNS + " FROM " + table + " r" + kept
+                    + " AND NOT EXISTS (SELECT 1 FROM " + TABLE_TODO + " t"
+                    + " WHERE t." + COLUMN_UID + " = r." + COLUMN_UID + ")");
+        }
+
+        /**
+         * 쌓아 둔 반복 규칙과 날짜별 예외를 규칙 uid 기준으로 반영합니다. (commit의 트랜잭션 안에서 호출)
+         * 교체는 기존 규칙과 예외를 모두 지운 뒤 넣고, 병합과 동기화는 삭제 표시된 규칙(과 그 예외)을 지우고
+         * 같은 uid의 규칙을 덮어쓴 뒤 없는 규칙만 이 기기의 새 ID로 넣습니다.
+         * 예외는 규칙 uid로 로컬 규칙 ID를 찾아 넣으며, 이 기기에 없는 규칙의 예외는 버립니다.
+         */
+        private void applyRecurrences(TodoBackup.Mode mode) {
+            String deletedRules = "SELECT " + COLUMN_UID + " FROM " + recurrenceTable
+                    + " WHERE " + COLUMN_RESTORE_DELETED + " = 1";
+            if (mode == TodoBackup.Mode.REPLACE) {
+                db.execSQL("DELETE FROM " + TABLE_RECURRENCE_OVERRIDE);
+                db.execSQL("DELETE FROM " + TABLE_RECURRENCE);
+            } else {
+                db.execSQL("DELETE FROM " + TABLE_RECURRENCE_OVERRIDE + " WHERE " + COLUMN_RECURRENCE_ID
+                        + " IN (SELECT " + COLUMN_ID + " FROM " + TABLE_RECURRENCE
+                        + " WHERE " + COLUMN_UID + " IN (" + deletedRules + "))");
+                db.execSQL("DELETE FROM " + TABLE_RECURRENCE + " WHERE " + COLUMN_UID + " IN (" + deletedRules + ")");
+                db.execSQL("UPDATE " + TABLE_RECURRENCE + " SET (" + RECURRENCE_RESTORE_COLUMNS + ") ="
+                        + " (SELECT " + RECURRENCE_RESTORE_COLUMNS + " FROM " + recurrenceTable + " r"
+                        + " WHERE r." + COLUMN_UID + " = " + TABLE_RECURRENCE + "." + COLUMN_UID + ")"
+                        + " WHERE " + COLUMN_UID + " IN (SELECT " + COLUMN_UID + " FROM " + recurrenceTable
+                        + " WHERE " + COLUMN_RESTORE_DELETED + " = 0)");
+            }
+
+            // 새 규칙은 ID 범위(TodoRecurrence.MAX_ID)를 지키도록 규칙 추가와 같은 경로로 한 행씩 넣음
+            List<ContentValues> added = new ArrayList<>();
+            try (Cursor cursor = SlowQueryDetector.rawQuery(db, "SELECT " + RECURRENCE_EXPORT_COLUMNS
+                    + " FROM " + recurrenceTable + " r WHERE " + COLUMN_RESTORE_DELETED + " = 0"
+                    + " AND NOT EXISTS (SELECT 1 FROM " + TABLE_RECURRENCE + " l"
+                    + " WHERE l." + COLUMN_UID + " = r." + COLUMN_UID + ")", null)) {
+                while (cursor.moveToNext()) {
+                    ContentValues values = new ContentValues();
+                    DatabaseUtils.cursorRowToContentValues(cursor, values);
+                    added.add(values);
+                }
+            }
+            for (ContentValues values : added) {
+                insertRecurrence(db, values);
+            }
+
+            String resolved = " FROM " + overrideTable + " o JOIN " + TABLE_RECURRENCE + " r"
+                    + " ON r." + COLUMN_UID + " = o." + COLUMN_RULE_UID;
+            if (mode != TodoBackup.Mode.REPLACE) {
+                db.execSQL("DELETE FROM " + TABLE_RECURRENCE_OVERRIDE + " WHERE (" + COLUMN_DAY + ", "
+                        + COLUMN_RECURRENCE_ID + ") IN (SELECT o." + COLUMN_DAY + ", r." + COLUMN_ID + resolved
+                        + " WHERE o." + COLUMN_RESTORE_DELETED + " = 1)");
+            }
+            db.execSQL("INSERT INTO " + TABLE_RECURRENCE_OVERRIDE + " (" + COLUMN_DAY + ", " + COLUMN_RECURRENCE_ID
+                    + ", " + COLUMN_COMPLETED + ", " + COLUMN_SKIPPED + ", " + COLUMN_TASK + ")"
+                    + " SELECT o." + COLUMN_DAY + ", r." + COLUMN_ID + ", o." + COLUMN_COMPLETED
+                    + ", o." + COLUMN_SKIPPED + ", o." + COLUMN_TASK + resolved
+                    + " WHERE o." + COLUMN_RESTORE_DELETED + " = 0"
+                    + " ON CONFLICT(" + COLUMN_DAY + ", " + COLUMN_RECURRENCE_ID + ") DO UPDATE SET "
+                    + COLUMN_COMPLETED + " = excluded." + COLUMN_COMPLETED + ", "
+                    + COLUMN_SKIPPED + " = excluded." + COLUMN_SKIPPED + ", "
+                    + COLUMN_TASK + " = excluded." + COLUMN_TASK);
+        }
+
+        /**
+         * 커밋하지 않은 배치를 되돌리고 임시 테이블을 지웁니다.
+         */
+        @Override
+        public void close() {
+            insert.close();
+            delete.close();
+            insertRule.close();
+            insertOverride.close();
+            if (inTransaction) {
+                db.endTransaction();
+                inTransaction = false;
+            }
+            if (!committed) {
+                db.execSQL("DROP TABLE IF EXISTS " + table);
+                db.execSQL("DROP TABLE IF EXISTS " + recurrenceTable);
+                db.execSQL("DROP TABLE IF EXISTS " + overrideTable);
+            }
+            endRestore(table);
+        }
+    }
+
+    /**
+     * 날짜별 캐시 적중 횟수를 반환합니다.
+     */
+    public int getCacheHitCount() {
+        return dayCache.hitCount();
+    }
+
+    /**
+     * 날짜별 캐시 미스(DB 조회) 횟수를 반환합니다.
+     */
+    public int getCacheMissCount() {
+        return dayCache.missCount();
+    }
+
+    /**
+     * 날짜별 캐시를 비웁니다. (벤치마크에서 캐시 없이 조회 비용을 측정할 때 사용)
+     */
+    @VisibleForTesting
+    public void clearDayCache() {
+        dayCache.clear();
+    }
+
+    /**
+     * ID 목록에 해당하는 항목을 조회합니다. SQLite 인자 개수 제한을 넘지 않도록 나누어 읽습니다.
+     *
+     * @return ID -> 항목 (없는 ID는 포함되지 않음)
+     */
+    private Map<Integer, TodoItem> readTodosById(SQLiteDatabase db, Collection<Integer> ids) {
+        Map<Integer, TodoItem> result = new HashMap<>(ids.size() * 2);
+        List<Integer> idList = new ArrayList<>(ids);
+        for (int from = 0; from < idList.size(); from += ID_QUERY_CHUNK) {
+            List<Integer> chunk = idList.subList(from, Math.min(from + ID_QUERY_CHUNK, idList.size()));
+            StringBuilder placeholders = new StringBuilder(chunk.size() * 2);
+            String[] args = new String[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                placeholders.append(i == 0 ? "?" : ",?");
+                args[i] = String.valueOf(chunk.get(i));
+            }
+            Cursor cursor = SlowQueryDetector.rawQuery(db, "SELECT " + TODO_COLUMNS + " FROM " + TABLE_TODO
+                    + " WHERE " + COLUMN_ID + " IN (" + placeholders + ")", args);
+            for (TodoItem item : readTodos(cursor)) {
+                result.put(item.getId(), item);
+            }
+        }
+        return result;
+    }
+
+    // ===== 변경 알림 =====
+
+    /**
+     * 쓰기가 커밋된 뒤 변경 이벤트를 받을 리스너를 설정합니다.
+     * 리스너는 쓰기를 실행한 스레드에서 호출됩니다.
+     */
+    void setOnTodosChangedListener(@Nullable OnTodosChangedListener listener) {
+        this.changeListener = listener;
+    }
+
+    private void dispatchChanges(List<TodoChange> changes) {
+        OnTodosChangedListener listener = changeListener;
+        if (listener != null && !changes.isEmpty()) {
+            listener.onTodosChanged(changes);
+        }
+    }
+
+    private void dispatchReset() {
+        OnTodosChangedListener listener = changeListener;
+        if (listener != null) {
+            listener.onTodosReset();
+        }
+    }
+
+    /**
+     * 커서의 모든 행을 TodoItem 리스트로 변환하고 커서를 닫습니다.
+     *
+     * @param cursor todo_table 조회 결과
+     * @return TodoItem 리스트
+     */
+    private List<TodoItem> readTodos(Cursor cursor) {
+        List<TodoItem> todoList = new ArrayList<>();
 
-        boolean hasTodos = false;
         if (cursor.moveToFirst()) {
-            hasTodos = cursor.getInt(0) > 0;
+            int idIndex = cursor.getColumnIndexOrThrow(COLUMN_ID);
+            int dayIndex = cursor.getColumnIndexOrThrow(COLUMN_DAY);
+            int minuteIndex = cursor.getColumnIndexOrThrow(COLUMN_MINUTE);
+            int taskIndex = cursor.getColumnIndexOrThrow(COLUMN_TASK);
+            int completedIndex = cursor.getColumnIndexOrThrow(COLUMN_COMPLETED);
+            do {
+                TodoItem item = new TodoItem(
+                        cursor.getInt(idIndex),
+                        cursor.getInt(dayIndex),
+                        cursor.getInt(minuteIndex),
+                        cursor.getString(taskIndex),
+                        cursor.getInt(completedIndex) == 1);
+                // 표시 문자열은 UI 스레드가 아닌 조회 스레드에서 미리 계산
+                item.getDateLabel();
+                todoList.add(item);
+            } while (cursor.moveToNext());
         }
 
         cursor.close();
-        db.close();
-        return hasTodos;
+        return todoList;
     }
 
 }
@@ -0,0 +1,207 @@
+package com.taskflow.data;
+
+import android.util.LruCache;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 날짜(epoch day)별 투두 목록을 메모리에 보관하는 LRU 캐시
+ *
+ * - 크기는 보관 중인 항목 수 기준으로 제한되며, 오래 쓰지 않은 날짜부터 제거됩니다.
+ * - TodoDBHelper의 쓰기 메서드가 DB 반영 후 해당 날짜만 갱신하거나 무효화합니다 (write-through).
+ * - 캐시 항목은 외부에 공유하지 않고 조회 시 복사본을 돌려줍니다.
+ * - ID로 캐시된 항목을 바로 찾도록 색인을 함께 유지하므로, 일괄 작업도 캐시 크기와 관계없이 ID 수만큼만 비용이 듭니다.
+ */
+class TodoDayCache {
+    private final LruCache<Integer, List<TodoItem>> cache;
+
+    // 캐시에 들어 있는 목록과 항목의 색인 (LruCache 통계와 사용 순서에 영향을 주지 않고 찾기 위해 따로 유지)
+    private final Map<Integer, List<TodoItem>> listsByDay = new HashMap<>();
+    private final Map<Integer, TodoItem> itemsById = new HashMap<>();
+
+    // 쓰기가 반영될 때마다 증가, 쓰기 도중 조회된 오래된 목록이 캐시에 들어가지 않도록 사용
+    private long version;
+
+    /**
+     * 생성자
+     *
+     * @param maxItems 캐시에 보관할 최대 항목 수
+     */
+    TodoDayCache(int maxItems) {
+        cache = new LruCache<Integer, List<TodoItem>>(maxItems) {
+            @Override
+            protected int sizeOf(Integer day, List<TodoItem> items) {
+                // 빈 날짜도 한 칸을 차지하도록 +1
+                return items.size() + 1;
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, Integer day, List<TodoItem> oldItems,
+                    List<TodoItem> newItems) {
+                // 항상 TodoDayCache의 synchronized 메서드 안에서 호출됨
+                unindex(day, oldItems);
+                if (newItems != null) {
+                    index(day, newItems);
+                }
+            }
+        };
+    }
+
+    /**
+     * 캐시된 목록의 복사본을 반환합니다.
+     *
+     * @return 캐시에 없으면 null
+     */
+    synchronized List<TodoItem> get(int day) {
+        List<TodoItem> items = cache.get(day);
+        return items == null ? null : copyOf(items);
+    }
+
+    /**
+     * 현재 캐시 버전을 반환합니다. DB 조회 전에 읽어 두었다가 {@link #put}에 넘깁니다.
+     */
+    synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * DB에서 조회한 목록을 캐시에 넣습니다.
+     * 조회하는 동안 쓰기가 있었다면(버전이 바뀌었다면) 넣지 않습니다.
+     */
+    synchronized void put(int day, List<TodoItem> items, long versionAtQuery) {
+        if (versionAtQuery == version) {
+            putList(day, copyOf(items));
+        }
+    }
+
+    // ===== 쓰기 반영 (DB 커밋 이후 호출) =====
+
+    synchronized void invalidateDay(int day) {
+        cache.remove(day);
+        version++;
+    }
+
+    synchronized void updateCompleted(int id, boolean completed) {
+        TodoItem item = find(id);
+        if (item != null) {
+            item.setCompleted(completed);
+        }
+        version++;
+    }
+
+    synchronized void updateCompleted(Map<Integer, Boolean> completions) {
+        for (Map.Entry<Integer, Boolean> entry : completions.entrySet()) {
+            TodoItem item = find(entry.getKey());
+            if (item != null) {
+                item.setCompleted(entry.getValue());
+            }
+        }
+        version++;
+    }
+
+    synchronized void updateCompleted(Collection<Integer> ids, boolean completed) {
+        for (int id : ids) {
+            TodoItem item = find(id);
+            if (item != null) {
+                item.setCompleted(completed);
+            }
+        }
+        version++;
+    }
+
+    synchronized void updateTask(int id, String task) {
+        TodoItem item = find(id);
+        if (item != null) {
+            item.setTask(task);
+        }
+        version++;
+    }
+
+    /**
+     * 삭제되었거나 다른 날짜로 옮겨진 항목을 캐시된 목록에서 제거합니다.
+     */
+    synchronized void remove(Collection<Integer> ids) {
+        Set<Integer> removed = ids instanceof Set ? (Set<Integer>) ids : new HashSet<>(ids);
+        Set<Integer> days = new HashSet<>();
+        for (int id : removed) {
+            TodoItem item = itemsById.get(id);
+            if (item != null) {
+                days.add(item.getDay());
+            }
+        }
+        for (int day : days) {
+            List<TodoItem> items = listsByDay.get(day);
+            // LruCache의 크기 계산이 어긋나지 않도록 목록을 직접 수정하지 않고 새 목록으로 교체
+            List<TodoItem> remaining = new ArrayList<>(items.size());
+            for (TodoItem item : items) {
+                if (!removed.contains(item.getId())) {
+                    remaining.add(item);
+                }
+            }
+            putList(day, remaining);
+        }
+        version++;
+    }
+
+    synchronized void clear() {
+        cache.evictAll();
+        version++;
+    }
+
+    // ===== 통계 =====
+
+    synchronized int hitCount() {
+        return cache.hitCount();
+    }
+
+    synchronized int missCount() {
+        return cache.missCount();
+    }
+
+    private TodoItem find(int id) {
+        return itemsById.get(id);
+    }
+
+    /**
+     * 목록을 캐시에 넣습니다.
+     * 넣자마자 크기 제한으로 밀려날 수도 있으므로 색인을 먼저 만들고, 밀려나면 entryRemoved가 지웁니다.
+     */
+    private void putList(int day, List<TodoItem> items) {
+        index(day, items);
+        cache.put(day, items);
+    }
+
+    private void index(int day, List<TodoItem> items) {
+        listsByDay.put(day, items);
+        for (TodoItem item : items) {
+            itemsById.put(item.getId(), item);
+        }
+    }
+
+    /**
+     * 캐시에서 빠진 목록의 색인을 지웁니다. 같은 날짜의 새 목록이 이미 색인되어 있으면 그대로 둡니다.
+     */
+    private void unindex(int day, List<TodoItem> items) {
+        if (listsByDay.get(day) == items) {
+            listsByDay.remove(day);
+        }
+        for (TodoItem item : items) {
+            if (itemsById.get(item.getId()) == item) {
+                itemsById.remove(item.getId());
+            }
+        }
+    }
+
+    private static List<TodoItem> copyOf(List<TodoItem> items) {
+        List<TodoItem> copy = new ArrayList<>(items.size());
+        for (TodoItem item : items) {
+            copy.add(item.copy());
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,29 @@
+package com.taskflow.data;
+
+/**
+ * 전체 작업 목록의 조회 범위
+ */
+public enum TodoFilter {
+    /** 모든 항목 */
+    ALL,
+    /** 오늘 이후(오늘 포함) 항목 */
+    UPCOMING,
+    /** 오늘 이전의 미완료 항목 */
+    OVERDUE;
+
+    /**
+     * 항목이 이 조회 범위에 들어가는지 확인합니다. (TodoDBHelper.getTodosPage의 조건과 같음)
+     *
+     * @param today 오늘 (epoch day)
+     */
+    public boolean matches(TodoItem item, int today) {
+        switch (this) {
+            case UPCOMING:
+                return item.getDay() >= today;
+            case OVERDUE:
+                return item.getDay() < today && !item.isCompleted();
+            default:
+                return true;
+        }
+    }
+}
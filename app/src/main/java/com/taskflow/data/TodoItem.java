@@ -1,15 +1,24 @@
 package com.taskflow.data;
 
+import com.taskflow.utils.TaskFlowDate;
+
 /**
  * 투두 항목을 표현하는 데이터 모델 클래스
  * 데이터베이스의 todo_table 테이블과 매핑됩니다.
+ *
+ * 날짜와 시간은 정수(epoch day, 자정부터의 분)로 보관하고,
+ * 화면에 표시할 문자열은 필요할 때 한 번만 만들어 재사용합니다.
  */
 public class TodoItem {
     private int id; // PK
-    private String date; // yyyy-MM-dd 형식
-    private String time; // HH:mm 형식
+    private int day; // 날짜 키 (epoch day)
+    private short minute = TaskFlowDate.NO_TIME; // 자정부터의 분 (0~1439, 시간 없음은 -1)
     private String task;
     private boolean completed;
+    private int recurrenceId; // 반복 규칙에서 계산된 항목이면 규칙 ID, 일반 항목은 0
+
+    // 목록에 표시할 "yyyy-MM-dd (요일) 오전 9:05" 문자열 (날짜/시간이 바뀌면 다시 계산)
+    private String dateLabel;
 
     public TodoItem() {
     }
@@ -18,15 +27,15 @@ public class TodoItem {
      * 모든 필드를 초기화하는 생성자
      * 
      * @param id        투두 항목 ID
-     * @param date      날짜
-     * @param time      시간
+     * @param day       날짜 키 (epoch day)
+     * @param minute    자정부터의 분 (시간 없음은 {@link TaskFlowDate#NO_TIME})
      * @param task      할 일 내용
      * @param completed 완료 여부
      */
-    public TodoItem(int id, String date, String time, String task, boolean completed) {
+    public TodoItem(int id, int day, int minute, String task, boolean completed) {
         this.id = id;
-        this.date = date;
-        this.time = time;
+        this.day = day;
+        this.minute = (short) minute;
         this.task = task;
         this.completed = completed;
     }
@@ -34,13 +43,12 @@ public class TodoItem {
     /**
      * 새 항목 추가용 생성자 (ID 자동 생성)
      * 
-     * @param date 날짜
-     * @param task 할 일 내용
+     * @param day    날짜 키 (epoch day)
+     * @param minute 자정부터의 분 (시간 없음은 {@link TaskFlowDate#NO_TIME})
+     * @param task   할 일 내용
      */
-    public TodoItem(String date, String task) {
-        this.date = date;
-        this.task = task;
-        this.completed = false;
+    public TodoItem(int day, int minute, String task) {
+        this(0, day, minute, task, false);
     }
 
     public int getId() {
@@ -51,20 +59,26 @@ public class TodoItem {
         this.id = id;
     }
 
-    public String getDate() {
-        return date;
+    public int getDay() {
+        return day;
     }
 
-    public void setDate(String date) {
-        this.date = date;
+    public void setDay(int day) {
+        this.day = day;
+        this.dateLabel = null;
     }
 
-    public String getTime() {
-        return time;
+    public int getMinute() {
+        return minute;
     }
 
-    public void setTime(String time) {
-        this.time = time;
+    public void setMinute(int minute) {
+        this.minute = (short) minute;
+        this.dateLabel = null;
+    }
+
+    public boolean hasTime() {
+        return minute != TaskFlowDate.NO_TIME;
     }
 
     public String getTask() {
@@ -83,28 +97,65 @@ public class TodoItem {
         this.completed = completed;
     }
 
+    public int getRecurrenceId() {
+        return recurrenceId;
+    }
+
+    void setRecurrenceId(int recurrenceId) {
+        this.recurrenceId = recurrenceId;
+        this.dateLabel = null;
+    }
+
+    /**
+     * 반복 규칙에서 계산된 항목인지 확인합니다. (ID는 음수, todo_table에 행이 없음)
+     */
+    public boolean isRecurring() {
+        return recurrenceId != 0;
+    }
+
+    /**
+     * 같은 값을 가진 새 인스턴스를 반환합니다.
+     */
+    public TodoItem copy() {
+        TodoItem copy = new TodoItem(id, day, minute, task, completed);
+        copy.recurrenceId = recurrenceId;
+        copy.dateLabel = dateLabel;
+        return copy;
+    }
+
+    /**
+     * 목록에 표시할 날짜와 시간 문자열을 반환합니다.
+     * 처음 한 번만 만들고 이후에는 저장된 값을 재사용합니다.
+     *
+     * @return yyyy-MM-dd (요일) 형식, 시간이 있으면 "오전 9:05" 형식의 시간이 뒤에 붙음 (반복 항목은 " · 반복")
+     */
+    public String getDateLabel() {
+        if (dateLabel == null) {
+            String label = TaskFlowDate.formatDateWithDay(day);
+            label = hasTime() ? label + " " + TaskFlowDate.formatTime(minute) : label;
+            dateLabel = isRecurring() ? label + " · 반복" : label;
+        }
+        return dateLabel;
+    }
+
     /**
      * 날짜를 포맷팅하여 반환합니다.
      * 
      * @return 포맷된 날짜 (yyyy년 MM월 dd일)
      */
     public String getFormattedDate() {
-        if (date == null || date.length() != 8) {
-            return date;
-        }
-        String year = date.substring(0, 4);
-        String month = date.substring(4, 6);
-        String day = date.substring(6, 8);
-        return year + "년 " + month + "월 " + day + "일";
+        return TaskFlowDate.formatDateKorean(day);
     }
 
     @Override
     public String toString() {
         return "TodoItem{" +
                 "id=" + id +
-                ", date='" + date + '\'' +
+                ", day=" + day +
+                ", minute=" + minute +
                 ", task='" + task + '\'' +
                 ", completed=" + completed +
+                ", recurrenceId=" + recurrenceId +
                 '}';
     }
 }
@@ -1,181 +1,252 @@
 package com.taskflow.data;
 
 import android.app.AlertDialog;
+import android.app.DatePickerDialog;
 import android.content.Context;
+import android.graphics.Color;
 import android.graphics.Paint;
+import android.util.SparseBooleanArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.BaseAdapter;
 import android.widget.CheckBox;
 import android.widget.EditText;
 import android.widget.ImageButton;
 import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.cardview.widget.CardView;
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
 import com.taskflow.R;
+import com.taskflow.utils.TaskFlowDate;
+import com.taskflow.utils.TaskFlowMetrics;
 import com.taskflow.utils.TaskFlowUI;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
- * ListView에 투두 항목을 표시하는 커스텀 어댑터 클래스
- * BaseAdapter를 상속받아 데이터 바인딩과 뷰 재사용을 구현합니다.
+ * RecyclerView에 투두 항목을 표시하는 어댑터 클래스
+ * 목록 변경은 AsyncListDiffer가 백그라운드 스레드에서 DiffUtil로 비교하여
+ * 바뀐 항목만 추가/삭제/변경 알림을 보냅니다. 항목 ID를 안정 ID로 사용합니다.
+ *
+ * 항목을 길게 누르면 다중 선택 모드가 시작되고, 선택한 항목들은
+ * 완료/삭제/날짜 이동을 한 번의 트랜잭션으로 처리합니다.
  */
-public class TodoListAdapter extends BaseAdapter {
-    private Context context;
-    private List<TodoItem> todoList;
-    private TodoDBHelper dbHelper;
-    private OnDataChangedListener dataChangedListener;
+public class TodoListAdapter extends RecyclerView.Adapter<TodoListAdapter.ViewHolder> {
+    // 선택된 항목의 카드 배경색
+    private static final int COLOR_SELECTED = Color.parseColor("#E0E7FF");
+
+    // 스크롤 중 계속 불리므로 측정기를 미리 만들어 두고 재사용
+    private static final TaskFlowMetrics.Timer CREATE_TIMER =
+            TaskFlowMetrics.timer("TodoListAdapter.onCreateViewHolder");
+    private static final TaskFlowMetrics.Timer BIND_TIMER = TaskFlowMetrics.timer("TodoListAdapter.onBindViewHolder");
 
     /**
-     * 데이터 변경 리스너 인터페이스
+     * 같은 ID면 같은 항목, 화면에 보이는 값이 모두 같으면 같은 내용으로 판단합니다.
      */
-    public interface OnDataChangedListener {
-        void onDataChanged();
-    }
+    private static final DiffUtil.ItemCallback<TodoItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<TodoItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull TodoItem oldItem, @NonNull TodoItem newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull TodoItem oldItem, @NonNull TodoItem newItem) {
+            return oldItem.getDay() == newItem.getDay()
+                    && oldItem.isCompleted() == newItem.isCompleted()
+                    && Objects.equals(oldItem.getTask(), newItem.getTask())
+                    && oldItem.getMinute() == newItem.getMinute();
+        }
+    };
+
+    private Context context;
+    private final int colorTaskText;
+    private final int colorCompletedText;
+    private final AsyncListDiffer<TodoItem> differ;
+    // 마지막으로 넘긴 목록 (차이 계산이 끝나기 전에는 differ의 현재 목록보다 최신)
+    // 넘긴 목록의 항목은 고치지 않고, 바꿀 때는 복사본을 넣은 새 목록을 넘김 (이전 목록과 비교가 어긋나지 않도록)
+    private List<TodoItem> submittedList = new ArrayList<>();
+    // 바인딩 중 setChecked로 체크박스 리스너가 불리는 동안 true
+    private boolean binding;
+    private TodoRepository repository;
+
+    // 다중 선택 모드 상태
+    private boolean selectionMode;
+    // 선택된 항목 ID (바인딩마다 Integer를 만들지 않도록 SparseBooleanArray 사용, 선택된 ID만 보관)
+    private final SparseBooleanArray selectedIds = new SparseBooleanArray();
 
     /**
      * 생성자
      * 
      * @param context  액티비티 컨텍스트
      * @param todoList 표시할 투두 리스트
-     * @param dbHelper 데이터베이스 헬퍼
+     * @param repository 비동기 데이터 저장소
      */
-    public TodoListAdapter(Context context, List<TodoItem> todoList, TodoDBHelper dbHelper) {
+    public TodoListAdapter(Context context, List<TodoItem> todoList, TodoRepository repository) {
         this.context = context;
-        this.todoList = todoList;
-        this.dbHelper = dbHelper;
+        this.repository = repository;
+        this.colorTaskText = ContextCompat.getColor(context, android.R.color.black);
+        this.colorCompletedText = ContextCompat.getColor(context, android.R.color.darker_gray);
+        this.differ = new AsyncListDiffer<>(new AdapterListUpdateCallback(this),
+                new AsyncDifferConfig.Builder<>(DIFF_CALLBACK)
+                        .setBackgroundThreadExecutor(repository.getBackgroundExecutor())
+                        .build());
+        setHasStableIds(true);
+        submit(new ArrayList<>(todoList));
     }
 
-    /**
-     * 데이터 변경 리스너 설정
-     * 
-     * @param listener 리스너
-     */
-    public void setOnDataChangedListener(OnDataChangedListener listener) {
-        this.dataChangedListener = listener;
+    @Override
+    public int getItemCount() {
+        return differ.getCurrentList().size();
     }
 
     @Override
-    public int getCount() {
-        return todoList.size();
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getId();
     }
 
-    @Override
-    public Object getItem(int position) {
-        return todoList.get(position);
+    /**
+     * 현재 표시 중인 목록을 반환합니다. (수정 불가)
+     */
+    public List<TodoItem> getCurrentList() {
+        return differ.getCurrentList();
     }
 
+    @NonNull
     @Override
-    public long getItemId(int position) {
-        return todoList.get(position).getId();
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        long start = CREATE_TIMER.start();
+        try {
+            View itemView = LayoutInflater.from(parent.getContext()).inflate(R.layout.list_item_todo, parent, false);
+            return new ViewHolder(itemView);
+        } finally {
+            CREATE_TIMER.stop(start);
+        }
     }
 
     /**
-     * ListView의 각 아이템 뷰를 생성하고 데이터를 바인딩합니다.
-     * ViewHolder 패턴을 사용하여 성능을 최적화합니다.
+     * 각 아이템 뷰에 데이터를 바인딩합니다.
+     * 표시 문자열과 색상은 미리 계산해 둔 값을 사용하고 리스너는 ViewHolder 생성 시 한 번만 연결되므로,
+     * 스크롤 중 바인딩에서 새 객체를 만들지 않습니다.
      */
     @Override
-    public View getView(int position, View convertView, ViewGroup parent) {
-        ViewHolder holder;
-
-        // 뷰 재사용을 위한 ViewHolder 패턴
-        if (convertView == null) {
-            convertView = LayoutInflater.from(context).inflate(R.layout.list_item_todo, parent, false);
-            holder = new ViewHolder();
-            holder.checkbox = convertView.findViewById(R.id.todo_checkbox);
-            holder.textView = convertView.findViewById(R.id.todo_text);
-            holder.dateView = convertView.findViewById(R.id.todo_date);
-            holder.editButton = convertView.findViewById(R.id.edit_button);
-            holder.deleteButton = convertView.findViewById(R.id.delete_button);
-            convertView.setTag(holder);
-        } else {
-            holder = (ViewHolder) convertView.getTag();
-        }
-
-        // 현재 위치의 투두 항목 가져오기
-        TodoItem currentItem = todoList.get(position);
-
-        // 체크박스 설정
-        holder.checkbox.setChecked(currentItem.isCompleted());
-        holder.checkbox.setOnCheckedChangeListener((buttonView, isChecked) -> {
-            currentItem.setCompleted(isChecked);
-            dbHelper.updateTodoCompleted(currentItem.getId(), isChecked);
-
-            // 완료된 항목은 취소선 표시
-            if (isChecked) {
-                holder.textView.setPaintFlags(holder.textView.getPaintFlags() | Paint.STRIKE_THRU_TEXT_FLAG);
-                holder.textView.setTextColor(context.getResources().getColor(android.R.color.darker_gray));
-            } else {
-                holder.textView.setPaintFlags(holder.textView.getPaintFlags() & (~Paint.STRIKE_THRU_TEXT_FLAG));
-                holder.textView.setTextColor(context.getResources().getColor(android.R.color.black));
-            }
-
-            // 캘린더 갱신 알림
-            if (dataChangedListener != null) {
-                dataChangedListener.onDataChanged();
-            }
-        });
-
-        // 텍스트 설정
-        holder.textView.setText(currentItem.getTask());
-
-        // 날짜 및 시간 설정
-        if (holder.dateView != null) {
-            String formattedDate = formatDateWithDay(currentItem.getDate());
-            String time = currentItem.getTime();
-
-            // 시간이 있으면 시간도 표시
-            if (time != null && !time.isEmpty()) {
-                try {
-                    String[] timeParts = time.split(":");
-                    int hour = Integer.parseInt(timeParts[0]);
-                    int minute = Integer.parseInt(timeParts[1]);
-
-                    String amPm = hour >= 12 ? "오후" : "오전";
-                    int displayHour = hour > 12 ? hour - 12 : (hour == 0 ? 12 : hour);
-
-                    formattedDate += " "
-                            + String.format(java.util.Locale.getDefault(), "%s %d:%02d", amPm, displayHour, minute);
-                } catch (Exception e) {
-                    // 시간 파싱 실패 시 시간 없이 날짜만 표시
-                }
-            }
-
-            holder.dateView.setText(formattedDate);
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        long start = BIND_TIMER.start();
+        try {
+            // 현재 위치의 투두 항목 가져오기
+            TodoItem currentItem = differ.getCurrentList().get(position);
+
+            // 체크박스 설정 (바인딩 중에는 리스너가 저장하지 않음)
+            binding = true;
+            holder.checkbox.setChecked(currentItem.isCompleted());
+            binding = false;
+
+            // 텍스트 및 날짜/시간 설정
+            holder.textView.setText(currentItem.getTask());
+            holder.dateView.setText(currentItem.getDateLabel());
+            applyCompletedStyle(holder, currentItem.isCompleted());
+
+            // 다중 선택 모드 표시 (선택 중에는 개별 편집/삭제 버튼 숨김)
+            boolean isSelected = selectedIds.get(currentItem.getId());
+            holder.cardView.setCardBackgroundColor(isSelected ? COLOR_SELECTED : Color.WHITE);
+            holder.editButton.setVisibility(selectionMode ? View.GONE : View.VISIBLE);
+            holder.deleteButton.setVisibility(selectionMode ? View.GONE : View.VISIBLE);
+        } finally {
+            BIND_TIMER.stop(start);
         }
+    }
 
-        // 완료된 항목에 취소선 표시
-        if (currentItem.isCompleted()) {
+    /**
+     * 완료된 항목은 회색 취소선, 미완료 항목은 검은색으로 표시합니다.
+     */
+    private void applyCompletedStyle(ViewHolder holder, boolean completed) {
+        if (completed) {
             holder.textView.setPaintFlags(holder.textView.getPaintFlags() | Paint.STRIKE_THRU_TEXT_FLAG);
-            holder.textView.setTextColor(context.getResources().getColor(android.R.color.darker_gray));
+            holder.textView.setTextColor(colorCompletedText);
         } else {
             holder.textView.setPaintFlags(holder.textView.getPaintFlags() & (~Paint.STRIKE_THRU_TEXT_FLAG));
-            holder.textView.setTextColor(context.getResources().getColor(android.R.color.black));
+            holder.textView.setTextColor(colorTaskText);
         }
+    }
 
-        // 편집 버튼 클릭 이벤트
-        holder.editButton.setOnClickListener(v -> {
-            showEditDialog(currentItem, position);
-        });
+    /**
+     * ViewHolder가 현재 가리키는 항목을 반환합니다.
+     *
+     * @return 삭제 애니메이션 중이라 위치가 없으면 null
+     */
+    private TodoItem getBoundItem(ViewHolder holder) {
+        int position = holder.getBindingAdapterPosition();
+        if (position == RecyclerView.NO_POSITION) {
+            return null;
+        }
+        return differ.getCurrentList().get(position);
+    }
 
-        // 삭제 버튼 클릭 이벤트
-        holder.deleteButton.setOnClickListener(v -> {
-            showDeleteConfirmDialog(currentItem, position);
-        });
+    /**
+     * 체크박스 변경 시 완료 상태를 반영하고 저장을 예약합니다.
+     */
+    private void onCompletedChanged(ViewHolder holder, boolean isChecked) {
+        TodoItem item = binding ? null : getBoundItem(holder);
+        int index = item == null ? -1 : indexOf(submittedList, item.getId());
+        if (index < 0) {
+            return;
+        }
+        // 차이 계산이 끝나기 전에 넘긴 변경이 있을 수 있으므로 마지막으로 넘긴 항목을 기준으로 바꿈
+        TodoItem updated = submittedList.get(index).copy();
+        updated.setCompleted(isChecked);
+        replaceItem(updated);
+        applyCompletedStyle(holder, isChecked);
+
+        // 잠시 모았다가 한 번에 저장 (캘린더는 저장 후 발행되는 변경 이벤트로 갱신)
+        repository.queueTodoCompleted(item.getId(), isChecked, null);
+    }
+
+    /**
+     * 선택 모드에서는 탭으로 선택/해제합니다.
+     */
+    private void onItemClicked(ViewHolder holder) {
+        TodoItem item = getBoundItem(holder);
+        if (item != null && selectionMode) {
+            toggleSelection(item.getId(), holder.getBindingAdapterPosition());
+        }
+    }
 
-        return convertView;
+    /**
+     * 길게 누르면 선택 모드 시작, 선택 모드 중이면 일괄 작업 메뉴를 표시합니다.
+     */
+    private boolean onItemLongClicked(ViewHolder holder) {
+        TodoItem item = getBoundItem(holder);
+        if (item == null) {
+            return false;
+        }
+        if (!selectionMode) {
+            selectionMode = true;
+            selectedIds.put(item.getId(), true);
+            notifySelectionChanged();
+            TaskFlowUI.showText(context, "항목을 눌러 선택하고, 길게 눌러 일괄 작업을 선택하세요.");
+        } else {
+            showSelectionActionsDialog();
+        }
+        return true;
     }
 
     /**
      * 투두 항목 편집 다이얼로그를 표시합니다.
      * 
-     * @param item     편집할 투두 항목
-     * @param position 리스트에서의 위치
+     * @param item 편집할 투두 항목
      */
-    private void showEditDialog(TodoItem item, int position) {
+    private void showEditDialog(TodoItem item) {
         AlertDialog.Builder builder = new AlertDialog.Builder(context);
         builder.setTitle("할 일 수정");
 
@@ -189,9 +260,11 @@ public class TodoListAdapter extends BaseAdapter {
         builder.setPositiveButton("수정", (dialog, which) -> {
             String newTask = input.getText().toString().trim();
             if (!newTask.isEmpty()) {
-                item.setTask(newTask);
-                dbHelper.updateTodoTask(item.getId(), newTask);
-                notifyDataSetChanged();
+                int index = indexOf(submittedList, item.getId());
+                TodoItem updated = (index >= 0 ? submittedList.get(index) : item).copy();
+                updated.setTask(newTask);
+                replaceItem(updated);
+                repository.updateTodoTask(null, item.getId(), newTask, null);
                 TaskFlowUI.showText(context, "수정되었습니다.");
             } else {
                 TaskFlowUI.showText(context, "내용을 입력해주세요.");
@@ -207,24 +280,41 @@ public class TodoListAdapter extends BaseAdapter {
     /**
      * 투두 항목 삭제 확인 다이얼로그를 표시합니다.
      * 
-     * @param item     삭제할 투두 항목
-     * @param position 리스트에서의 위치
+     * @param item 삭제할 투두 항목
      */
-    private void showDeleteConfirmDialog(TodoItem item, int position) {
+    private void showDeleteConfirmDialog(TodoItem item) {
+        if (item.isRecurring()) {
+            showDeleteRecurringDialog(item);
+            return;
+        }
         AlertDialog.Builder builder = new AlertDialog.Builder(context);
         builder.setTitle("삭제 확인");
         builder.setMessage("이 항목을 삭제하시겠습니까?\n\n\"" + item.getTask() + "\"");
 
         // 삭제 버튼
-        builder.setPositiveButton("삭제", (dialog, which) -> {
-            dbHelper.deleteTodo(item.getId());
-            todoList.remove(position);
-            notifyDataSetChanged();
-            TaskFlowUI.showText(context, "삭제되었습니다.");
+        builder.setPositiveButton("삭제", (dialog, which) -> removeAndDelete(item));
 
-            // 캘린더 갱신 알림
-            if (dataChangedListener != null) {
-                dataChangedListener.onDataChanged();
+        // 취소 버튼
+        builder.setNegativeButton("취소", (dialog, which) -> dialog.cancel());
+
+        builder.show();
+    }
+
+    /**
+     * 반복 항목의 삭제 범위(이 날짜만 / 이후 모두)를 고르는 다이얼로그를 표시합니다.
+     *
+     * @param item 삭제할 반복 항목
+     */
+    private void showDeleteRecurringDialog(TodoItem item) {
+        AlertDialog.Builder builder = new AlertDialog.Builder(context);
+        builder.setTitle("반복 할 일 삭제");
+        builder.setItems(new String[] { "이 날짜만 삭제", "이후 반복 모두 삭제" }, (dialog, which) -> {
+            if (which == 0) {
+                removeAndDelete(item);
+            } else {
+                // 규칙이 바뀌면 모든 화면이 보이는 범위를 다시 조회
+                repository.stopRecurrence(null, item.getRecurrenceId(), item.getDay(), null);
+                TaskFlowUI.showText(context, "삭제되었습니다.");
             }
         });
 
@@ -235,62 +325,331 @@ public class TodoListAdapter extends BaseAdapter {
     }
 
     /**
-     * 날짜를 yyyy-MM-dd (요일) 형식으로 포맷합니다.
-     * 
-     * @param dateStr 변환할 날짜 문자열 (yyyy-MM-dd 형식)
-     * @return yyyy-MM-dd (요일) 형식의 문자열
+     * 목록에서 바로 빼고 백그라운드에서 삭제합니다. (다른 화면은 변경 이벤트로 갱신)
      */
-    private String formatDateWithDay(String dateStr) {
-        if (dateStr == null || dateStr.isEmpty()) {
-            return "";
+    private void removeAndDelete(TodoItem item) {
+        List<TodoItem> newList = new ArrayList<>(submittedList);
+        int index = indexOf(newList, item.getId());
+        if (index >= 0) {
+            newList.remove(index);
         }
+        submit(newList);
+        TaskFlowUI.showText(context, "삭제되었습니다.");
 
-        try {
-            SimpleDateFormat inputFormat;
-            // 이미 yyyy-MM-dd 형식이면 그대로 사용
-            if (dateStr.contains("-")) {
-                inputFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-            } else {
-                // 기타 형식 처리 (호환성 유지)
-                inputFormat = new SimpleDateFormat("yyyyMMdd", Locale.getDefault());
-            }
+        repository.deleteTodo(null, item.getId(), null);
+    }
 
-            Date date = inputFormat.parse(dateStr);
-            if (date != null) {
-                SimpleDateFormat outputFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-                SimpleDateFormat dayFormat = new SimpleDateFormat("E", Locale.KOREAN);
+    // ===== 다중 선택 =====
 
-                String formattedDate = outputFormat.format(date);
-                String dayOfWeek = dayFormat.format(date);
+    /**
+     * 다중 선택 모드인지 반환합니다.
+     */
+    public boolean isSelectionMode() {
+        return selectionMode;
+    }
 
-                return formattedDate + " (" + dayOfWeek + ")";
+    /**
+     * 항목의 선택 상태를 바꿉니다. 선택된 항목이 없으면 선택 모드를 종료합니다.
+     */
+    private void toggleSelection(int id, int position) {
+        if (selectedIds.get(id)) {
+            selectedIds.delete(id);
+        } else {
+            selectedIds.put(id, true);
+        }
+        if (selectedIds.size() == 0) {
+            // 마지막 선택 해제 시 모든 행의 편집/삭제 버튼을 다시 표시
+            selectionMode = false;
+            notifySelectionChanged();
+        } else {
+            notifyItemChanged(position);
+        }
+    }
+
+    /**
+     * 선택 모드 표시가 바뀌었음을 보이는 모든 행에 알립니다.
+     */
+    private void notifySelectionChanged() {
+        notifyItemRangeChanged(0, getItemCount());
+    }
+
+    /**
+     * 선택을 모두 해제하고 선택 모드를 종료합니다.
+     */
+    public void clearSelection() {
+        selectionMode = false;
+        selectedIds.clear();
+        notifySelectionChanged();
+    }
+
+    /**
+     * 선택된 항목 ID 목록을 만듭니다. (일괄 작업을 요청할 때만 사용)
+     */
+    private List<Integer> getSelectedIds() {
+        List<Integer> ids = new ArrayList<>(selectedIds.size());
+        for (int i = 0; i < selectedIds.size(); i++) {
+            ids.add(selectedIds.keyAt(i));
+        }
+        return ids;
+    }
+
+    /**
+     * 선택한 항목에 대한 일괄 작업 메뉴를 표시합니다.
+     */
+    private void showSelectionActionsDialog() {
+        String[] actions = { "전체 선택", "모두 완료", "완료 취소", "다른 날짜로 이동", "선택 삭제", "선택 해제" };
+
+        AlertDialog.Builder builder = new AlertDialog.Builder(context);
+        builder.setTitle(selectedIds.size() + "개 선택됨");
+        builder.setItems(actions, (dialog, which) -> {
+            switch (which) {
+                case 0:
+                    for (TodoItem item : differ.getCurrentList()) {
+                        selectedIds.put(item.getId(), true);
+                    }
+                    notifySelectionChanged();
+                    break;
+                case 1:
+                    setSelectedCompleted(true);
+                    break;
+                case 2:
+                    setSelectedCompleted(false);
+                    break;
+                case 3:
+                    showMoveSelectedDialog();
+                    break;
+                case 4:
+                    showDeleteSelectedConfirmDialog();
+                    break;
+                default:
+                    clearSelection();
+                    break;
             }
-        } catch (ParseException e) {
-            e.printStackTrace();
+        });
+        builder.show();
+    }
+
+    /**
+     * 선택한 항목의 완료 상태를 한 번에 변경합니다.
+     */
+    private void setSelectedCompleted(boolean completed) {
+        List<TodoItem> newList = new ArrayList<>(submittedList.size());
+        for (TodoItem item : submittedList) {
+            if (selectedIds.get(item.getId()) && item.isCompleted() != completed) {
+                item = item.copy();
+                item.setCompleted(completed);
+            }
+            newList.add(item);
         }
+        submit(newList);
+        repository.setTodosCompleted(null, getSelectedIds(), completed, null);
+        clearSelection();
+    }
+
+    /**
+     * 선택한 항목을 옮길 날짜를 고르는 다이얼로그를 표시합니다.
+     */
+    private void showMoveSelectedDialog() {
+        Calendar calendar = Calendar.getInstance();
+        DatePickerDialog datePickerDialog = new DatePickerDialog(context, (view, year, month, dayOfMonth) -> {
+            int day = TaskFlowDate.toEpochDay(year, month, dayOfMonth);
+
+            // 다른 날짜로 옮겨진 항목은 현재 목록에서 제거
+            List<TodoItem> newList = new ArrayList<>(submittedList.size());
+            for (TodoItem item : submittedList) {
+                if (!selectedIds.get(item.getId()) || item.getDay() == day) {
+                    newList.add(item);
+                }
+            }
+            submit(newList);
+            repository.moveTodos(null, getSelectedIds(), day, null);
+            TaskFlowUI.showText(context, "이동되었습니다.");
+            clearSelection();
+        }, calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH), calendar.get(Calendar.DAY_OF_MONTH));
+        datePickerDialog.show();
+    }
+
+    /**
+     * 선택한 항목 삭제 확인 다이얼로그를 표시합니다.
+     */
+    private void showDeleteSelectedConfirmDialog() {
+        AlertDialog.Builder builder = new AlertDialog.Builder(context);
+        builder.setTitle("삭제 확인");
+        builder.setMessage("선택한 " + selectedIds.size() + "개 항목을 삭제하시겠습니까?");
+
+        builder.setPositiveButton("삭제", (dialog, which) -> {
+            List<TodoItem> newList = new ArrayList<>(submittedList.size());
+            for (TodoItem item : submittedList) {
+                if (!selectedIds.get(item.getId())) {
+                    newList.add(item);
+                }
+            }
+            submit(newList);
+            repository.deleteTodos(null, getSelectedIds(), null);
+            TaskFlowUI.showText(context, "삭제되었습니다.");
+            clearSelection();
+        });
 
-        return dateStr;
+        builder.setNegativeButton("취소", (dialog, which) -> dialog.cancel());
+
+        builder.show();
     }
 
     /**
      * 데이터 리스트를 업데이트합니다.
+     * 이전 목록과의 차이는 백그라운드에서 계산되어 바뀐 행만 갱신됩니다.
      * 
      * @param newList 새로운 투두 리스트
      */
     public void updateData(List<TodoItem> newList) {
-        this.todoList = newList;
-        notifyDataSetChanged();
+
+        // 새 목록에 없는 항목은 선택에서 제외
+        if (selectionMode) {
+            Set<Integer> ids = new HashSet<>();
+            for (TodoItem item : newList) {
+                ids.add(item.getId());
+            }
+            for (int i = selectedIds.size() - 1; i >= 0; i--) {
+                if (!ids.contains(selectedIds.keyAt(i))) {
+                    selectedIds.removeAt(i);
+                }
+            }
+            if (selectedIds.size() == 0) {
+                selectionMode = false;
+                notifySelectionChanged();
+            }
+        }
+        submit(new ArrayList<>(newList));
+    }
+
+    /**
+     * 데이터 계층의 변경 이벤트를 목록에 반영합니다. 다시 조회하지 않고 바뀐 행만 갱신됩니다.
+     * 
+     * @param changes 변경 이벤트 목록
+     * @param day     이 목록이 보여주는 날짜, 날짜 구분 없는 목록은 {@link TodoChange#NO_DAY}
+     *                (날짜 목록에서는 이 날짜로 추가/이동된 항목이 끝에 붙고, 다른 날짜로 옮겨간 항목은 빠짐)
+     * @return 변경을 반영한 목록
+     */
+    public List<TodoItem> applyChanges(List<TodoChange> changes, int day) {
+        List<TodoItem> newList = new ArrayList<>(submittedList);
+        boolean changed = false;
+        for (TodoChange change : changes) {
+            int index = indexOf(newList, change.getId());
+            boolean belongs = change.getType() != TodoChange.Type.DELETED
+                    && (day == TodoChange.NO_DAY || change.getNewDay() == day);
+            if (index >= 0) {
+                if (belongs) {
+                    newList.set(index, change.getItem().copy());
+                } else {
+                    newList.remove(index);
+                }
+                changed = true;
+            } else if (belongs && day != TodoChange.NO_DAY) {
+                newList.add(change.getItem().copy());
+                changed = true;
+            }
+        }
+        if (changed) {
+            updateData(newList);
+        }
+        return newList;
+    }
+
+    /**
+     * 정렬된 목록(전체 작업 목록 등)에 변경 이벤트를 반영합니다.
+     * 바뀐 항목은 조건에 맞지 않게 되면 빠지고, 맞으면 정렬 키가 바뀌었어도 새 정렬 위치로 옮겨집니다.
+     *
+     * @param changes  변경 이벤트 목록
+     * @param belongs  변경 후 항목이 이 목록에 있어야 하는지 (조회 범위와 이미 읽은 구간 확인)
+     * @param order    목록의 정렬 순서
+     * @return 변경을 반영한 목록
+     */
+    public List<TodoItem> applyChanges(List<TodoChange> changes, Predicate<TodoItem> belongs,
+            Comparator<TodoItem> order) {
+        List<TodoItem> newList = new ArrayList<>(submittedList);
+        boolean changed = false;
+        for (TodoChange change : changes) {
+            int index = indexOf(newList, change.getId());
+            if (index >= 0) {
+                newList.remove(index);
+                changed = true;
+            }
+            if (change.getType() != TodoChange.Type.DELETED && belongs.test(change.getItem())) {
+                TodoItem item = change.getItem().copy();
+                int position = Collections.binarySearch(newList, item, order);
+                newList.add(position < 0 ? -position - 1 : position, item);
+                changed = true;
+            }
+        }
+        if (changed) {
+            updateData(newList);
+        }
+        return newList;
+    }
+
+    /**
+     * 같은 ID의 항목을 바꾼 새 목록을 넘깁니다. (바꿀 항목은 호출한 쪽에서 복사본으로 만듦)
+     */
+    private void replaceItem(TodoItem updated) {
+        List<TodoItem> newList = new ArrayList<>(submittedList);
+        int index = indexOf(newList, updated.getId());
+        if (index >= 0) {
+            newList.set(index, updated);
+            submit(newList);
+        }
+    }
+
+    private void submit(List<TodoItem> list) {
+        submittedList = list;
+        differ.submitList(list);
+    }
+
+    private static int indexOf(List<TodoItem> items, int id) {
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getId() == id) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     /**
      * ViewHolder 패턴을 위한 내부 클래스
      * 각 아이템 뷰의 위젯을 캐싱하여 성능을 향상시킵니다.
      */
-    private static class ViewHolder {
-        CheckBox checkbox;
-        TextView textView;
-        TextView dateView;
-        ImageButton editButton;
-        ImageButton deleteButton;
+    public class ViewHolder extends RecyclerView.ViewHolder {
+        final CardView cardView;
+        final CheckBox checkbox;
+        final TextView textView;
+        final TextView dateView;
+        final ImageButton editButton;
+        final ImageButton deleteButton;
+
+        ViewHolder(View itemView) {
+            super(itemView);
+            cardView = (CardView) itemView;
+            checkbox = itemView.findViewById(R.id.todo_checkbox);
+            textView = itemView.findViewById(R.id.todo_text);
+            dateView = itemView.findViewById(R.id.todo_date);
+            editButton = itemView.findViewById(R.id.edit_button);
+            deleteButton = itemView.findViewById(R.id.delete_button);
+
+            // 리스너는 한 번만 연결하고, 실행 시점의 위치로 항목을 찾음
+            checkbox.setOnCheckedChangeListener((buttonView, isChecked) -> onCompletedChanged(this, isChecked));
+            editButton.setOnClickListener(v -> {
+                TodoItem item = getBoundItem(this);
+                if (item != null) {
+                    showEditDialog(item);
+                }
+            });
+            deleteButton.setOnClickListener(v -> {
+                TodoItem item = getBoundItem(this);
+                if (item != null) {
+                    showDeleteConfirmDialog(item);
+                }
+            });
+            itemView.setOnClickListener(v -> onItemClicked(this));
+            itemView.setOnLongClickListener(v -> onItemLongClicked(this));
+        }
     }
 }
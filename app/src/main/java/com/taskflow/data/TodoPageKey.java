@@ -0,0 +1,49 @@
+package com.taskflow.data;
+
+import java.util.Comparator;
+
+/**
+ * 페이지 조회 위치 (마지막으로 읽은 항목의 정렬 키)
+ *
+ * 목록은 (day, minute, id) 순으로 정렬되며, 다음 페이지는 이 키보다 뒤에 있는 항목부터 읽습니다.
+ * OFFSET을 쓰지 않으므로 앞쪽 페이지가 아무리 많아도 조회 비용이 늘지 않습니다.
+ */
+public final class TodoPageKey {
+    /**
+     * 페이지 목록의 정렬 순서 (day, minute, id)
+     */
+    public static final Comparator<TodoItem> ORDER = Comparator.comparingInt(TodoItem::getDay)
+            .thenComparingInt(TodoItem::getMinute)
+            .thenComparingInt(TodoItem::getId);
+
+    final int day;
+    final int minute;
+    final int id;
+
+    private TodoPageKey(int day, int minute, int id) {
+        this.day = day;
+        this.minute = minute;
+        this.id = id;
+    }
+
+    /**
+     * 주어진 항목 바로 다음부터 읽는 키를 만듭니다.
+     * 항목은 이후 화면에서 바뀔 수 있으므로 호출 시점의 값을 복사해 둡니다.
+     */
+    public static TodoPageKey after(TodoItem item) {
+        return new TodoPageKey(item.getDay(), item.getMinute(), item.getId());
+    }
+
+    /**
+     * 항목이 이 키보다 뒤에 있는지(다음 페이지부터 읽히는지) 확인합니다.
+     */
+    public boolean precedes(TodoItem item) {
+        if (day != item.getDay()) {
+            return day < item.getDay();
+        }
+        if (minute != item.getMinute()) {
+            return minute < item.getMinute();
+        }
+        return id < item.getId();
+    }
+}
@@ -0,0 +1,121 @@
+package com.taskflow.data;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.Nullable;
+import com.taskflow.utils.TaskFlowDate;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 스플래시 화면이 떠 있는 동안 첫 화면에 필요한 데이터를 미리 읽어 두는 클래스
+ *
+ * - 데이터베이스 열기(첫 조회)와 오늘 목록, 이번 달 요약 조회를 읽기 풀에서 실행합니다.
+ * - 읽은 결과는 화면이 onCreate에서 한 번만 가져가 I/O 없이 첫 프레임부터 그립니다.
+ * - 읽기 시작한 뒤 데이터가 바뀌었거나 알림 전의 쓰기가 있었으면 결과를 버리고, 화면은 평소처럼 조회합니다.
+ *   (화면이 결과에 변경 이벤트의 변화량을 더하므로, 이미 반영된 쓰기가 두 번 더해지지 않도록 함)
+ * - 메인 스레드에서만 사용합니다.
+ */
+public final class TodoPreloader {
+    private static final String TAG = "TodoPreloader";
+
+    // 미리 읽은 오늘 목록과 그 날짜
+    private static List<TodoItem> todos;
+    private static int todosDay;
+    // 미리 읽은 이번 달 요약
+    private static MonthSummary summary;
+    // 읽기 시작 시점의 변경 버전 (쓰기가 진행 중이었으면 NO_VERSION이라 결과를 쓰지 않음)
+    private static int changeVersion;
+
+    private TodoPreloader() {
+    }
+
+    /**
+     * 오늘 목록과 이번 달 요약을 백그라운드에서 읽습니다.
+     *
+     * @param context 컨텍스트
+     * @param onReady 두 조회가 모두 끝나면(실패 포함) 메인 스레드에서 호출
+     */
+    public static void preload(Context context, Runnable onReady) {
+        TodoRepository repository = TodoRepository.getInstance(context);
+        int today = TaskFlowDate.today();
+        LocalDate monthStart = LocalDate.ofEpochDay(today).withDayOfMonth(1);
+        int firstDay = (int) monthStart.toEpochDay();
+        int lastDay = firstDay + monthStart.lengthOfMonth() - 1;
+
+        todos = null;
+        summary = null;
+        todosDay = today;
+        changeVersion = repository.getChangeVersion();
+
+        int[] remaining = { 2 };
+        Runnable done = () -> {
+            if (--remaining[0] == 0) {
+                onReady.run();
+            }
+        };
+        repository.getTodosByDay(null, today, new TodoRepository.Callback<List<TodoItem>>() {
+            @Override
+            public void onResult(List<TodoItem> result) {
+                todos = result;
+                done.run();
+            }
+
+            @Override
+            public void onError(Exception e) {
+                // 결과 없이 끝내면 화면이 평소처럼 다시 조회함
+                Log.e(TAG, "Preloading today's todos failed", e);
+                done.run();
+            }
+        });
+        repository.getMonthSummary(null, firstDay, lastDay, new TodoRepository.Callback<MonthSummary>() {
+            @Override
+            public void onResult(MonthSummary result) {
+                summary = result;
+                done.run();
+            }
+
+            @Override
+            public void onError(Exception e) {
+                Log.e(TAG, "Preloading the month summary failed", e);
+                done.run();
+            }
+        });
+    }
+
+    /**
+     * 미리 읽은 목록을 가져갑니다. 한 번 가져가면 비워집니다.
+     *
+     * @param day 화면이 표시할 날짜 (epoch day)
+     * @return 같은 날짜의 최신 목록 (없거나 그 사이 데이터가 바뀌었으면 null)
+     */
+    @Nullable
+    public static List<TodoItem> takeTodos(Context context, int day) {
+        List<TodoItem> result = todos;
+        todos = null;
+        if (result == null || day != todosDay || !isFresh(context)) {
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * 미리 읽은 월 요약을 가져갑니다. 한 번 가져가면 비워집니다.
+     *
+     * @return 같은 범위의 최신 요약 (없거나 그 사이 데이터가 바뀌었으면 null)
+     */
+    @Nullable
+    public static MonthSummary takeMonthSummary(Context context, int fromDay, int toDay) {
+        MonthSummary result = summary;
+        summary = null;
+        if (result == null || result.getFirstDay() != fromDay || result.getLastDay() != toDay
+                || !isFresh(context)) {
+            return null;
+        }
+        return result;
+    }
+
+    private static boolean isFresh(Context context) {
+        return TodoRepository.getInstance(context).isUnchangedSince(changeVersion);
+    }
+}
@@ -0,0 +1,161 @@
+package com.taskflow.data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * 반복 할 일 규칙 (todo_recurrence 테이블 한 행)
+ *
+ * 규칙은 한 번만 저장하고, 화면이 보여 주는 날짜 범위에 대해서만 그날의 할 일(발생)을 계산합니다.
+ * 발생은 todo_table에 행을 만들지 않으며, 완료/건너뛰기 같은 날짜별 예외만 따로 저장합니다.
+ *
+ * 발생 항목은 음수 ID({@link #occurrenceId})를 가져 일반 항목(양수 ID)과 같은 목록, 선택, 완료 체크 경로를 그대로 사용합니다.
+ * ID에 규칙 ID(15비트)와 날짜(16비트)를 함께 넣으므로 규칙의 시작일과 종료일은 {@link #MIN_DAY} ~ {@link #MAX_DAY}
+ * 안이어야 하며({@link #hasSupportedDays}), 범위를 벗어난 날짜에는 발생하지 않습니다.
+ */
+public final class TodoRecurrence {
+    /**
+     * 반복 주기
+     */
+    public enum Frequency {
+        DAILY,
+        WEEKLY,
+        MONTHLY
+    }
+
+    // 종료일이 없는 규칙의 종료일
+    public static final int NO_END = Integer.MAX_VALUE;
+
+    // 발생 ID에 넣을 수 있는 최대 규칙 ID (15비트, 부호 비트를 남김)
+    static final int MAX_ID = 0x7FFF;
+    // 발생 ID에 넣을 수 있는 날짜 범위 (16비트 epoch day: 1970-01-01 ~ 2149-06-06)
+    // 범위 밖의 날짜를 넣으면 규칙 ID 비트를 덮어써 다른 규칙의 발생과 ID가 겹침
+    public static final int MIN_DAY = 0;
+    public static final int MAX_DAY = 0xFFFF;
+
+    private final int id;
+    private final String task;
+    private final int minute;
+    private final Frequency frequency;
+    private final int weekdays;
+    private final int startDay;
+    private final int endDay;
+
+    /**
+     * 생성자
+     *
+     * @param id        규칙 ID (새 규칙은 0)
+     * @param task      할 일 내용
+     * @param minute    자정부터의 분 (시간 없음은 TaskFlowDate.NO_TIME)
+     * @param frequency 반복 주기
+     * @param weekdays  매주 반복할 요일 ({@link #weekdayBit}의 조합, 매주가 아니면 무시)
+     * @param startDay  첫 날짜 (epoch day), 매월 반복은 이 날짜의 일(日)에 반복
+     * @param endDay    마지막 날짜 (epoch day, 포함), 없으면 {@link #NO_END}
+     */
+    public TodoRecurrence(int id, String task, int minute, Frequency frequency, int weekdays, int startDay,
+            int endDay) {
+        this.id = id;
+        this.task = task;
+        this.minute = minute;
+        this.frequency = frequency;
+        this.weekdays = weekdays;
+        this.startDay = startDay;
+        this.endDay = endDay;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getTask() {
+        return task;
+    }
+
+    public int getMinute() {
+        return minute;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public int getWeekdays() {
+        return weekdays;
+    }
+
+    public int getStartDay() {
+        return startDay;
+    }
+
+    public int getEndDay() {
+        return endDay;
+    }
+
+    /**
+     * 시작일과 종료일이 발생 ID에 넣을 수 있는 날짜 범위 안인지 확인합니다. (종료일 없음은 허용)
+     */
+    public boolean hasSupportedDays() {
+        return isSupportedDay(startDay) && (endDay == NO_END || isSupportedDay(endDay));
+    }
+
+    /**
+     * 발생 ID에 넣을 수 있는 날짜인지 확인합니다.
+     */
+    public static boolean isSupportedDay(int day) {
+        return day >= MIN_DAY && day <= MAX_DAY;
+    }
+
+    /**
+     * 요일 선택 값에 쓰는 비트를 반환합니다. (월요일 1, 화요일 2, ... 일요일 64)
+     */
+    public static int weekdayBit(DayOfWeek dayOfWeek) {
+        return 1 << (dayOfWeek.getValue() - 1);
+    }
+
+    /**
+     * 해당 날짜에 이 규칙의 할 일이 있는지 확인합니다. (건너뛴 날짜는 따로 확인)
+     */
+    public boolean occursOn(int day) {
+        if (day < startDay || day > endDay || !isSupportedDay(day)) {
+            return false;
+        }
+        switch (frequency) {
+            case DAILY:
+                return true;
+            case WEEKLY:
+                // 1970-01-01은 목요일 (월요일 = 0)
+                return (weekdays & (1 << Math.floorMod(day + 3, 7))) != 0;
+            case MONTHLY:
+                // 31일처럼 그 달에 없는 날짜는 그 달의 마지막 날에 반복
+                LocalDate date = LocalDate.ofEpochDay(day);
+                int startDayOfMonth = LocalDate.ofEpochDay(startDay).getDayOfMonth();
+                return date.getDayOfMonth() == Math.min(startDayOfMonth, date.lengthOfMonth());
+            default:
+                return false;
+        }
+    }
+
+    // ===== 발생 ID =====
+
+    /**
+     * 규칙과 날짜로 발생 항목의 ID를 만듭니다. (항상 음수)
+     */
+    static int occurrenceId(int recurrenceId, int day) {
+        return -((recurrenceId << 16) | day);
+    }
+
+    /**
+     * 반복 규칙의 발생 항목 ID인지 확인합니다.
+     */
+    public static boolean isOccurrenceId(int id) {
+        return id < 0;
+    }
+
+    static int recurrenceIdOf(int occurrenceId) {
+        return -occurrenceId >>> 16;
+    }
+
+    static int dayOf(int occurrenceId) {
+        return -occurrenceId & MAX_DAY;
+    }
+}
@@ -0,0 +1,98 @@
+package com.taskflow.data;
+
+import android.util.LruCache;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 반복 규칙과 날짜 범위별 발생 목록을 메모리에 보관하는 캐시
+ *
+ * - 규칙 목록은 처음 필요할 때 한 번 읽고, 규칙이 추가/변경/삭제될 때만 다시 읽습니다.
+ * - 발생 목록은 조회한 범위(캘린더의 한 달 화면 등)별로 LRU에 보관하며, 날짜별 예외가 바뀌면 버립니다.
+ * - TodoDayCache와 같이 버전으로 쓰기 도중 계산된 오래된 결과가 캐시에 들어가지 않도록 합니다.
+ */
+class TodoRecurrenceCache {
+    private final LruCache<Long, List<TodoItem>> expansions;
+
+    // 규칙 목록 (null이면 아직 읽지 않음)
+    private List<TodoRecurrence> rules;
+
+    // 규칙이나 예외가 바뀔 때마다 증가
+    private long version;
+
+    /**
+     * 생성자
+     *
+     * @param maxItems 발생 목록 캐시에 보관할 최대 항목 수
+     */
+    TodoRecurrenceCache(int maxItems) {
+        expansions = new LruCache<Long, List<TodoItem>>(maxItems) {
+            @Override
+            protected int sizeOf(Long range, List<TodoItem> items) {
+                return items.size() + 1;
+            }
+        };
+    }
+
+    synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return 읽어 둔 규칙 목록 (아직 읽지 않았으면 null)
+     */
+    synchronized List<TodoRecurrence> getRules() {
+        return rules;
+    }
+
+    synchronized void putRules(List<TodoRecurrence> rules, long versionAtQuery) {
+        if (versionAtQuery == version) {
+            this.rules = rules;
+        }
+    }
+
+    /**
+     * 범위의 발생 목록 복사본을 반환합니다.
+     *
+     * @return 캐시에 없으면 null
+     */
+    synchronized List<TodoItem> getExpansion(int fromDay, int toDay) {
+        List<TodoItem> items = expansions.get(rangeKey(fromDay, toDay));
+        return items == null ? null : copyOf(items);
+    }
+
+    synchronized void putExpansion(int fromDay, int toDay, List<TodoItem> items, long versionAtQuery) {
+        if (versionAtQuery == version) {
+            expansions.put(rangeKey(fromDay, toDay), copyOf(items));
+        }
+    }
+
+    /**
+     * 날짜별 예외(완료, 건너뛰기)가 바뀌었을 때 호출합니다. 규칙 목록은 유지합니다.
+     */
+    synchronized void invalidateExpansions() {
+        expansions.evictAll();
+        version++;
+    }
+
+    /**
+     * 규칙이 바뀌었을 때 호출합니다.
+     */
+    synchronized void clear() {
+        rules = null;
+        expansions.evictAll();
+        version++;
+    }
+
+    private static long rangeKey(int fromDay, int toDay) {
+        return ((long) fromDay << 32) | (toDay & 0xFFFFFFFFL);
+    }
+
+    private static List<TodoItem> copyOf(List<TodoItem> items) {
+        List<TodoItem> copy = new ArrayList<>(items.size());
+        for (TodoItem item : items) {
+            copy.add(item.copy());
+        }
+        return copy;
+    }
+}
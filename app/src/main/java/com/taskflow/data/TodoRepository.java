@@ -0,0 +1,755 @@
+package com.taskflow.data;
+
+import android.content.Context;
+import android.os.CancellationSignal;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TodoDBHelper를 백그라운드 스레드에서 실행하는 비동기 데이터 접근 클래스
+ *
+ * - 조회는 2개 스레드의 읽기 풀에서, 쓰기는 단일 스레드에서 순서대로 실행합니다.
+ * - 읽기 대기열은 READ_QUEUE_CAPACITY개로 제한하며, 가득 차면 가장 오래 기다린 조회를 실패로 끝냅니다.
+ * - 결과는 항상 메인 스레드의 콜백으로 전달됩니다.
+ * - LifecycleOwner를 넘기면 해당 화면이 종료될 때 요청이 자동으로 취소됩니다.
+ * - 완료 체크는 잠시 모아 두었다가 하나의 트랜잭션으로 저장합니다 (write-behind).
+ * - 커밋된 변경은 {@link #observeChanges}로 등록한 모든 화면에 메인 스레드에서 전달됩니다.
+ */
+public class TodoRepository {
+    private static final String TAG = "TodoRepository";
+
+    // 읽기 풀 스레드 수
+    private static final int READ_THREAD_COUNT = 2;
+
+    // 실행을 기다리는 조회의 최대 개수 (스크롤 페이지, 검색어 입력이 몰려도 대기열이 한없이 늘지 않도록)
+    private static final int READ_QUEUE_CAPACITY = 32;
+
+    // 완료 체크를 모아서 저장하기까지 기다리는 시간
+    private static final long COMPLETION_FLUSH_DELAY_MS = 300;
+
+    // 앱 전역에서 공유하는 싱글톤 인스턴스
+    private static volatile TodoRepository instance;
+
+    private final TodoDBHelper dbHelper;
+    private final ThreadPoolExecutor readExecutor;
+    private final ThreadPoolExecutor writeExecutor;
+    private final ExecutorService diffExecutor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // 아직 저장하지 않은 완료 체크 (항목 ID -> 완료 여부), 메인 스레드에서만 접근
+    private final Map<Integer, Boolean> pendingCompletions = new LinkedHashMap<>();
+    // 저장 중인 완료 체크, 메인 스레드에서만 접근
+    private final Map<Integer, Boolean> flushingCompletions = new HashMap<>();
+    // 다음 저장이 끝나면 호출할 콜백 (같은 콜백은 한 번만 호출)
+    private final Set<Callback<Integer>> flushCallbacks = new LinkedHashSet<>();
+    private final Runnable flushRunnable = this::flushPendingCompletions;
+
+    // 변경 이벤트를 받는 화면, 메인 스레드에서만 접근
+    private final List<ChangeObserver> changeObservers = new ArrayList<>();
+    // 변경 알림을 보낼 때마다 1씩 증가, 메인 스레드에서만 접근
+    private int changeVersion;
+    // 쓰기 풀에 넣은 뒤 아직 메인 스레드에서 끝나지 않은 쓰기 수
+    // (쓰기가 끝났음은 그 쓰기의 변경 알림 뒤에 메인 스레드로 전달되므로, 0이면 커밋된 변경은 모두 알림이 끝난 상태)
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+
+    /**
+     * 쓰기가 진행 중이라 {@link #getChangeVersion()}으로 조회 결과의 최신 여부를 판단할 수 없음
+     */
+    public static final int NO_VERSION = -1;
+
+    /**
+     * 결과 전달 콜백 (메인 스레드에서 호출)
+     */
+    public interface Callback<T> {
+        void onResult(T result);
+
+        /**
+         * 작업 중 예외가 발생했을 때 호출됩니다.
+         */
+        default void onError(Exception e) {
+            Log.e(TAG, "Request failed", e);
+        }
+    }
+
+    /**
+     * 변경 이벤트 수신자 (메인 스레드에서 호출)
+     */
+    public interface ChangeObserver {
+        /**
+         * @param changes 한 번의 쓰기로 커밋된 변경 목록 (수정 불가)
+         */
+        void onTodosChanged(List<TodoChange> changes);
+
+        /**
+         * 백업 복원처럼 전체 데이터가 바뀌어 다시 조회해야 할 때 호출됩니다.
+         */
+        void onTodosReset();
+    }
+
+    /**
+     * 앱 전역에서 공유하는 저장소 인스턴스를 반환합니다.
+     *
+     * @param context 컨텍스트
+     * @return 공유 TodoRepository 인스턴스
+     */
+    public static TodoRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (TodoRepository.class) {
+                if (instance == null) {
+                    instance = new TodoRepository(TodoDBHelper.getInstance(context));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 공유 인스턴스와 별개의 헬퍼를 사용하는 저장소를 만듭니다.
+     * 테스트가 {@link TodoDBHelper#createIsolated}로 만든 데이터베이스를 쓰기 스레드 경로로 고칠 때 사용합니다.
+     */
+    @VisibleForTesting
+    public static TodoRepository createIsolated(TodoDBHelper dbHelper) {
+        return new TodoRepository(dbHelper);
+    }
+
+    private TodoRepository(TodoDBHelper dbHelper) {
+        this.dbHelper = dbHelper;
+        ThreadPoolExecutor readPool = new ThreadPoolExecutor(READ_THREAD_COUNT, READ_THREAD_COUNT,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(READ_QUEUE_CAPACITY),
+                new DbThreadFactory("TaskFlow-db-read"), this::rejectRead);
+        readPool.allowCoreThreadTimeOut(true);
+        // 쓰기는 사용자가 한 변경이므로 버리지 않음 (대기열 제한 없음)
+        // 쌓이는 속도는 사용자 입력 속도를 넘지 않고, 완료 체크는 write-behind로 묶여 한 번에 저장됨
+        ThreadPoolExecutor writePool = new ThreadPoolExecutor(1, 1,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new DbThreadFactory("TaskFlow-db-write"));
+        writePool.allowCoreThreadTimeOut(true);
+        // 목록 비교는 버리면 목록이 갱신되지 않으므로 읽기 대기열과 분리
+        // (목록마다 새 목록을 넘길 때 하나씩만 쌓이고, 오래된 비교 결과는 AsyncListDiffer가 버림)
+        ThreadPoolExecutor diffPool = new ThreadPoolExecutor(1, 1,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new DbThreadFactory("TaskFlow-diff"));
+        diffPool.allowCoreThreadTimeOut(true);
+        this.readExecutor = readPool;
+        this.writeExecutor = writePool;
+        this.diffExecutor = diffPool;
+        dbHelper.setOnTodosChangedListener(new TodoDBHelper.OnTodosChangedListener() {
+            @Override
+            public void onTodosChanged(List<TodoChange> changes) {
+                List<TodoChange> snapshot = Collections.unmodifiableList(new ArrayList<>(changes));
+                mainHandler.post(() -> dispatchChanges(snapshot));
+            }
+
+            @Override
+            public void onTodosReset() {
+                mainHandler.post(() -> dispatchReset());
+            }
+        });
+    }
+
+    public TodoDBHelper getDbHelper() {
+        return dbHelper;
+    }
+
+    /**
+     * 목록 비교(DiffUtil) 같은 가벼운 백그라운드 계산에 쓸 스레드를 반환합니다.
+     */
+    Executor getBackgroundExecutor() {
+        return diffExecutor;
+    }
+
+    // ===== 조회 =====
+
+    public Request getTodosByDay(@Nullable LifecycleOwner owner, int day, Callback<List<TodoItem>> callback) {
+        return submitRead(owner, () -> dbHelper.getTodosByDay(day), withPendingCompletions(callback));
+    }
+
+    public Request getTodosForToday(@Nullable LifecycleOwner owner, Callback<List<TodoItem>> callback) {
+        return submitRead(owner, dbHelper::getTodosForToday, withPendingCompletions(callback));
+    }
+
+    public Request getMonthSummary(@Nullable LifecycleOwner owner, int fromDay, int toDay,
+            Callback<MonthSummary> callback) {
+        return submitRead(owner, () -> dbHelper.getMonthSummary(fromDay, toDay), callback);
+    }
+
+    public Request searchTodos(@Nullable LifecycleOwner owner, String query, Callback<List<TodoItem>> callback) {
+        return submitRead(owner, () -> dbHelper.searchTodos(query), withPendingCompletions(callback));
+    }
+
+    public Request getTodosPage(@Nullable LifecycleOwner owner, TodoFilter filter, int today,
+            @Nullable TodoPageKey after, int limit, Callback<List<TodoItem>> callback) {
+        return submitRead(owner, () -> dbHelper.getTodosPage(filter, today, after, limit),
+                withPendingCompletions(callback));
+    }
+
+    // ===== 쓰기 =====
+
+    public Request addTodo(@Nullable LifecycleOwner owner, int day, int minute, String task,
+            @Nullable Callback<Long> callback) {
+        return submitWrite(owner, () -> dbHelper.addTodo(day, minute, task), callback);
+    }
+
+    public Request updateTodoCompleted(@Nullable LifecycleOwner owner, int id, boolean completed,
+            @Nullable Callback<Integer> callback) {
+        return submitWrite(owner, () -> dbHelper.updateTodoCompleted(id, completed), callback);
+    }
+
+    public Request updateTodoTask(@Nullable LifecycleOwner owner, int id, String task,
+            @Nullable Callback<Integer> callback) {
+        return submitWrite(owner, () -> dbHelper.updateTodoTask(id, task), callback);
+    }
+
+    public Request deleteTodo(@Nullable LifecycleOwner owner, int id, @Nullable Callback<Integer> callback) {
+        return submitWrite(owner, () -> dbHelper.deleteTodo(id), callback);
+    }
+
+    // ===== 반복 할 일 =====
+
+    public Request addRecurrence(@Nullable LifecycleOwner owner, TodoRecurrence rule,
+            @Nullable Callback<Long> callback) {
+        return submitWrite(owner, () -> dbHelper.addRecurrence(rule), callback);
+    }
+
+    /**
+     * 반복 규칙을 해당 날짜부터 끝냅니다. 완료되면 등록된 화면에 {@link ChangeObserver#onTodosReset()}이 전달됩니다.
+     */
+    public Request stopRecurrence(@Nullable LifecycleOwner owner, int recurrenceId, int fromDay,
+            @Nullable Callback<Integer> callback) {
+        return submitWrite(owner, () -> dbHelper.stopRecurrence(recurrenceId, fromDay), callback);
+    }
+
+    // ===== 일괄 쓰기 =====
+
+    public Request addTodos(@Nullable LifecycleOwner owner, List<TodoItem> items,
+            @Nullable Callback<Integer> callback) {
+        return submitWrite(owner, () -> dbHelper.addTodos(items), callback);
+    }
+
+    public Request setTodosCompleted(@Nullable LifecycleOwner owner, Collection<Integer> ids, boolean completed,
+            @Nullable Callback<Integer> callback) {
+        List<Integer> idList = new ArrayList<>(ids);
+        // 일괄 변경 값이 나중에 저장될 개별 체크에 덮어써지지 않도록 대기열에서 제거
+        pendingCompletions.keySet().removeAll(idList);
+        return submitWrite(owner, () -> dbHelper.setTodosCompleted(idList, completed), callback);
+    }
+
+    public Request moveTodos(@Nullable LifecycleOwner owner, Collection<Integer> ids, int day,
+            @Nullable Callback<Integer> callback) {
+        List<Integer> idList = new ArrayList<>(ids);
+        return submitWrite(owner, () -> dbHelper.moveTodos(idList, day), callback);
+    }
+
+    public Request deleteTodos(@Nullable LifecycleOwner owner, Collection<Integer> ids,
+            @Nullable Callback<Integer> callback) {
+        List<Integer> idList = new ArrayList<>(ids);
+        pendingCompletions.keySet().removeAll(idList);
+        return submitWrite(owner, () -> dbHelper.deleteTodos(idList), callback);
+    }
+
+    // ===== 완료 체크 write-behind =====
+
+    /**
+     * 완료 상태 변경을 대기열에 넣고 잠시 뒤 한꺼번에 저장합니다.
+     * 같은 항목을 여러 번 바꾸면 마지막 값만 저장됩니다. 메인 스레드에서 호출해야 합니다.
+     *
+     * @param id        투두 항목 ID
+     * @param completed 완료 여부
+     * @param callback  이번 묶음이 저장된 뒤 호출할 콜백 (같은 인스턴스는 묶음당 한 번만 호출)
+     */
+    public void queueTodoCompleted(int id, boolean completed, @Nullable Callback<Integer> callback) {
+        pendingCompletions.put(id, completed);
+        if (callback != null) {
+            flushCallbacks.add(callback);
+        }
+        mainHandler.removeCallbacks(flushRunnable);
+        mainHandler.postDelayed(flushRunnable, COMPLETION_FLUSH_DELAY_MS);
+    }
+
+    /**
+     * 대기 중인 완료 체크를 즉시 하나의 트랜잭션으로 저장합니다.
+     * 화면이 onPause될 때 호출하여 변경 사항이 유실되지 않도록 합니다.
+     */
+    public void flushPendingCompletions() {
+        mainHandler.removeCallbacks(flushRunnable);
+        if (pendingCompletions.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Boolean> batch = new LinkedHashMap<>(pendingCompletions);
+        List<Callback<Integer>> callbacks = new ArrayList<>(flushCallbacks);
+        pendingCompletions.clear();
+        flushCallbacks.clear();
+        flushingCompletions.putAll(batch);
+
+        submitWrite(null, () -> dbHelper.updateTodosCompleted(batch), new Callback<Integer>() {
+            @Override
+            public void onResult(Integer result) {
+                finishFlush(batch);
+                for (Callback<Integer> callback : callbacks) {
+                    callback.onResult(result);
+                }
+            }
+
+            @Override
+            public void onError(Exception e) {
+                finishFlush(batch);
+                for (Callback<Integer> callback : callbacks) {
+                    callback.onError(e);
+                }
+            }
+        });
+    }
+
+    private void finishFlush(Map<Integer, Boolean> batch) {
+        for (Map.Entry<Integer, Boolean> entry : batch.entrySet()) {
+            flushingCompletions.remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 조회 결과에 아직 저장되지 않은 완료 체크를 덮어써서 화면이 이전 값으로 돌아가지 않도록 합니다.
+     */
+    private Callback<List<TodoItem>> withPendingCompletions(Callback<List<TodoItem>> callback) {
+        return new Callback<List<TodoItem>>() {
+            @Override
+            public void onResult(List<TodoItem> result) {
+                if (!pendingCompletions.isEmpty() || !flushingCompletions.isEmpty()) {
+                    for (TodoItem item : result) {
+                        Boolean completed = pendingCompletions.get(item.getId());
+                        if (completed == null) {
+                            completed = flushingCompletions.get(item.getId());
+                        }
+                        if (completed != null) {
+                            item.setCompleted(completed);
+                        }
+                    }
+                }
+                callback.onResult(result);
+            }
+
+            @Override
+            public void onError(Exception e) {
+                callback.onError(e);
+            }
+        };
+    }
+
+    // ===== 백업 =====
+
+    /**
+     * 모든 투두 항목을 JSON 백업 파일로 내보냅니다.
+     * 항목을 나눠 읽으며 바로 파일에 쓰므로 항목 수와 관계없이 메모리 사용량이 일정합니다.
+     * signal을 취소하면 내보내기가 중단되고 콜백의 onError로 OperationCanceledException이 전달됩니다.
+     *
+     * @param owner    요청을 소유한 화면 (종료 시 내보내기도 중단)
+     * @param output   백그라운드에서 출력 스트림을 여는 작업 (작업이 끝나면 닫힘)
+     * @param signal   취소 신호
+     * @param progress 진행률 리스너 (메인 스레드에서 호출, null 가능)
+     * @param callback 내보낸 항목 수
+     */
+    public Request exportTodos(@Nullable LifecycleOwner owner, Callable<OutputStream> output,
+            CancellationSignal signal, @Nullable TodoBackup.ProgressListener progress, Callback<Integer> callback) {
+        Request request = submitRead(owner, () -> {
+            try (OutputStream out = output.call()) {
+                return TodoBackup.export(dbHelper, out, signal, onMainThread(signal, progress));
+            }
+        }, callback);
+        request.setCancellationSignal(signal);
+        return request;
+    }
+
+    /**
+     * JSON 백업 파일을 읽어 복원합니다. 쓰기 스레드에서 실행되므로 다른 쓰기와 섞이지 않습니다.
+     * 파일을 끝까지 읽은 뒤에만 한 번에 반영되므로, 취소하거나 실패하면 기존 데이터는 바뀌지 않습니다.
+     * 복원이 끝나면 등록된 화면에 {@link ChangeObserver#onTodosReset()}이 전달됩니다.
+     *
+     * @param owner    요청을 소유한 화면 (종료 시 복원도 중단)
+     * @param input    백그라운드에서 입력 스트림을 여는 작업 (작업이 끝나면 닫힘)
+     * @param mode     복원 방식
+     * @param signal   취소 신호
+     * @param progress 진행률 리스너 (메인 스레드에서 호출, null 가능)
+     * @param callback 복원한 항목 수
+     */
+    public Request restoreTodos(@Nullable LifecycleOwner owner, Callable<InputStream> input, TodoBackup.Mode mode,
+            CancellationSignal signal, @Nullable TodoBackup.ProgressListener progress, Callback<Integer> callback) {
+        // 모아 둔 완료 체크가 복원 뒤에 저장되어 복원된 값을 덮어쓰지 않도록 먼저 저장
+        flushPendingCompletions();
+        Request request = submitWrite(owner, () -> {
+            try (InputStream in = input.call()) {
+                return TodoBackup.restore(dbHelper, in, mode, signal, onMainThread(signal, progress));
+            }
+        }, callback);
+        request.setCancellationSignal(signal);
+        return request;
+    }
+
+    /**
+     * 백그라운드에서 호출되는 진행률을 메인 스레드로 전달합니다. 취소된 뒤에는 전달하지 않습니다.
+     */
+    @Nullable
+    private TodoBackup.ProgressListener onMainThread(CancellationSignal signal,
+            @Nullable TodoBackup.ProgressListener progress) {
+        if (progress == null) {
+            return null;
+        }
+        return (done, total) -> mainHandler.post(() -> {
+            if (!signal.isCanceled()) {
+                progress.onProgress(done, total);
+            }
+        });
+    }
+
+    // ===== 변경 알림 =====
+
+    /**
+     * 커밋된 변경 이벤트를 받을 수신자를 등록합니다. 메인 스레드에서 호출해야 합니다.
+     * 화면이 종료(ON_DESTROY)되면 자동으로 해제되므로, 다른 탭에서 일어난 변경도
+     * 화면이 뒤에 있는 동안 계속 받아 onResume에서 다시 조회하지 않아도 됩니다.
+     *
+     * @param owner    수신자를 소유한 화면
+     * @param observer 변경 이벤트 수신자
+     */
+    public void observeChanges(LifecycleOwner owner, ChangeObserver observer) {
+        if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            return;
+        }
+        changeObservers.add(observer);
+        owner.getLifecycle().addObserver(new LifecycleEventObserver() {
+            @Override
+            public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+                if (event == Lifecycle.Event.ON_DESTROY) {
+                    changeObservers.remove(observer);
+                    source.getLifecycle().removeObserver(this);
+                }
+            }
+        });
+    }
+
+    private void dispatchChanges(List<TodoChange> changes) {
+        changeVersion++;
+        // 아직 저장되지 않은 완료 체크가 있으면 목록 행이 이전 값으로 돌아가지 않도록 덮어씀
+        // (캘린더 개수는 DB 기준 값인 wasCompleted/isCompleted를 그대로 사용)
+        if (!pendingCompletions.isEmpty() || !flushingCompletions.isEmpty()) {
+            for (TodoChange change : changes) {
+                Boolean completed = pendingCompletions.get(change.getId());
+                if (completed == null) {
+                    completed = flushingCompletions.get(change.getId());
+                }
+                if (completed != null) {
+                    change.getItem().setCompleted(completed);
+                }
+            }
+        }
+        for (ChangeObserver observer : new ArrayList<>(changeObservers)) {
+            observer.onTodosChanged(changes);
+        }
+    }
+
+    private void dispatchReset() {
+        changeVersion++;
+        for (ChangeObserver observer : new ArrayList<>(changeObservers)) {
+            observer.onTodosReset();
+        }
+    }
+
+    /**
+     * 변경 알림 버전을 반환합니다. 조회를 요청하기 직전에 받아 두었다가 결과를 받았을 때
+     * {@link #isUnchangedSince}로 확인하면, 그 결과에 아직 알림이 오지 않은 쓰기가 섞였는지 알 수 있습니다.
+     * (결과에 변경 이벤트를 더해 고쳐 나가는 화면은 확인된 결과에만 변화량을 적용해야 같은 쓰기를 두 번 더하지 않음)
+     * 메인 스레드에서 호출합니다.
+     *
+     * @return 쓰기가 진행 중이면(커밋됐지만 알림 전일 수 있음) {@link #NO_VERSION}
+     */
+    public int getChangeVersion() {
+        return writesInFlight.get() > 0 ? NO_VERSION : changeVersion;
+    }
+
+    /**
+     * {@link #getChangeVersion()}으로 받아 둔 시점 이후 커밋된 쓰기가 없고 진행 중인 쓰기도 없는지 확인합니다.
+     * true이면 그 사이 조회한 결과는 지금까지 알림이 전달된 변경을 정확히 반영합니다. (메인 스레드에서 호출)
+     */
+    public boolean isUnchangedSince(int version) {
+        return version != NO_VERSION && version == getChangeVersion();
+    }
+
+    // ===== 실행 =====
+
+    /**
+     * 읽기 풀에서 작업을 실행하고 결과를 메인 스레드로 전달합니다.
+     *
+     * @param owner    요청을 소유한 화면 (종료 시 자동 취소, null이면 취소하지 않음)
+     * @param work     백그라운드에서 실행할 작업
+     * @param callback 결과 콜백 (null 가능)
+     * @return 취소 가능한 요청 핸들
+     */
+    public <T> Request submitRead(@Nullable LifecycleOwner owner, Callable<T> work, @Nullable Callback<T> callback) {
+        return submit(readExecutor, owner, work, callback);
+    }
+
+    /**
+     * 쓰기 스레드에서 작업을 순서대로 실행하고 결과를 메인 스레드로 전달합니다.
+     * 화면이 종료되어도 쓰기 자체는 끝까지 실행되고, 콜백 전달만 취소됩니다.
+     */
+    public <T> Request submitWrite(@Nullable LifecycleOwner owner, Callable<T> work, @Nullable Callback<T> callback) {
+        return submit(writeExecutor, owner, work, callback);
+    }
+
+    /**
+     * 쓰기 스레드에서 작업을 실행하고 끝날 때까지 기다립니다.
+     * WorkManager 작업자처럼 이미 백그라운드 스레드에서 DB를 고쳐야 할 때, 화면의 쓰기와 섞이지 않고
+     * 순서대로 실행되도록 사용합니다. (메인 스레드와 쓰기 스레드에서는 호출하지 않음)
+     *
+     * @return 작업의 결과
+     * @throws IOException 작업이 던진 IOException, 또는 기다리는 중 인터럽트된 경우 InterruptedIOException
+     */
+    public <T> T awaitWrite(Callable<T> work) throws IOException {
+        FutureTask<T> future = new FutureTask<>(work);
+        submitWrite(null, () -> {
+            future.run();
+            return null;
+        }, null);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            // 작업은 쓰기 스레드에서 끝까지 실행됨
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the write thread");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private <T> Request submit(ThreadPoolExecutor executor, @Nullable LifecycleOwner owner, Callable<T> work,
+            @Nullable Callback<T> callback) {
+        Request request = new Request(executor == writeExecutor);
+        if (owner != null) {
+            if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+                request.cancelled = true;
+                return request;
+            }
+            request.attach(owner);
+        }
+
+        Task<T> task = new Task<>(request, work, callback);
+        request.executor = executor;
+        request.task = task;
+        if (request.isWrite) {
+            writesInFlight.incrementAndGet();
+        }
+        executor.execute(task);
+        return request;
+    }
+
+    /**
+     * 읽기 대기열이 가득 찼을 때 호출됩니다. (취소된 조회는 취소할 때 대기열에서 빠지므로 모두 기다리는 조회)
+     * 가장 오래 기다린 조회를 RejectedExecutionException으로 끝내고 새 조회를 넣습니다.
+     * 스크롤이나 검색어 입력처럼 몰리는 조회는 새 요청일수록 지금 화면에 필요한 결과입니다.
+     */
+    private void rejectRead(Runnable runnable, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            return;
+        }
+        BlockingQueue<Runnable> queue = executor.getQueue();
+        while (!queue.offer(runnable)) {
+            Runnable oldest = queue.poll();
+            if (oldest instanceof Task) {
+                ((Task<?>) oldest).reject();
+            }
+        }
+    }
+
+    /**
+     * 백그라운드에서 실행할 작업 하나 (결과와 예외를 요청의 콜백으로 전달)
+     */
+    private final class Task<T> implements Runnable {
+        private final Request request;
+        private final Callable<T> work;
+        @Nullable
+        private final Callback<T> callback;
+
+        Task(Request request, Callable<T> work, @Nullable Callback<T> callback) {
+            this.request = request;
+            this.work = work;
+            this.callback = callback;
+        }
+
+        @Override
+        public void run() {
+            if (request.isCancelled() && !request.isWrite) {
+                return;
+            }
+            try {
+                T result = work.call();
+                deliver(request, () -> {
+                    if (callback != null) {
+                        callback.onResult(result);
+                    }
+                });
+            } catch (Exception e) {
+                fail(e);
+            } finally {
+                if (request.isWrite) {
+                    // 작업 중 보낸 변경 알림보다 뒤에 메인 스레드에서 처리되도록 post
+                    mainHandler.post(writesInFlight::decrementAndGet);
+                }
+            }
+        }
+
+        /**
+         * 대기열이 넘쳐 실행하지 않고 버려질 때 호출됩니다.
+         */
+        void reject() {
+            fail(new RejectedExecutionException("read queue is full"));
+        }
+
+        private void fail(Exception e) {
+            deliver(request, () -> {
+                if (callback != null) {
+                    callback.onError(e);
+                } else {
+                    Log.e(TAG, "Request without a callback failed", e);
+                }
+            });
+        }
+    }
+
+    private void deliver(Request request, Runnable action) {
+        mainHandler.post(() -> {
+            if (request.isCancelled()) {
+                return;
+            }
+            request.detach();
+            action.run();
+        });
+    }
+
+    /**
+     * 취소 가능한 비동기 요청 핸들
+     * 취소된 요청은 콜백이 호출되지 않으며, 아직 시작하지 않은 조회는 실행되지 않습니다.
+     */
+    public static class Request implements LifecycleEventObserver {
+        private final boolean isWrite;
+        private volatile boolean cancelled;
+        private volatile ThreadPoolExecutor executor;
+        private volatile Runnable task;
+        private volatile CancellationSignal cancellationSignal;
+        private LifecycleOwner owner;
+
+        Request(boolean isWrite) {
+            this.isWrite = isWrite;
+        }
+
+        /**
+         * 요청을 취소합니다. 메인 스레드에서 호출해야 합니다.
+         */
+        public void cancel() {
+            cancelled = true;
+            // 아직 시작하지 않은 조회는 대기열에서 빼서 다른 조회가 자리를 쓰도록 함
+            ThreadPoolExecutor e = executor;
+            Runnable t = task;
+            if (e != null && t != null && !isWrite) {
+                e.remove(t);
+            }
+            CancellationSignal signal = cancellationSignal;
+            if (signal != null) {
+                signal.cancel();
+            }
+            detach();
+        }
+
+        /**
+         * 이미 실행 중인 작업도 멈출 수 있도록 취소 시 함께 취소할 신호를 연결합니다.
+         */
+        void setCancellationSignal(CancellationSignal signal) {
+            cancellationSignal = signal;
+            if (cancelled) {
+                signal.cancel();
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void attach(LifecycleOwner owner) {
+            this.owner = owner;
+            owner.getLifecycle().addObserver(this);
+        }
+
+        private void detach() {
+            if (owner != null) {
+                owner.getLifecycle().removeObserver(this);
+                owner = null;
+            }
+        }
+
+        @Override
+        public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+            if (event == Lifecycle.Event.ON_DESTROY) {
+                cancel();
+            }
+        }
+    }
+
+    /**
+     * 백그라운드 우선순위의 DB 작업 스레드를 만드는 팩토리
+     */
+    private static class DbThreadFactory implements ThreadFactory {
+        private final String namePrefix;
+        private final AtomicInteger count = new AtomicInteger(1);
+
+        DbThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, namePrefix + "-" + count.getAndIncrement());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.taskflow.data;
+
+import java.util.Locale;
+
+/**
+ * 전문 검색(FTS) 색인용 토큰을 만드는 유틸리티 클래스
+ *
+ * SQLite 기본 토크나이저는 띄어쓰기 단위로만 단어를 나누므로, 붙여 쓴 한국어 안의 일부
+ * ("회의록"의 "의록" 등)는 찾을 수 없습니다. 그래서 각 단어를 두 글자씩 겹쳐 자른 토큰(bigram)과
+ * 마지막 글자를 공백으로 이어 색인하고, 검색어도 같은 방식으로 잘라 연속 구문(phrase)으로 찾습니다.
+ *
+ * 예) "팀 회의록" → "팀 회의 의록 록", 검색어 "의록" → "의록", "회의록" → "\"회의 의록\""
+ */
+final class TodoSearchTokens {
+    private TodoSearchTokens() {
+    }
+
+    /**
+     * 할 일 내용을 색인할 토큰 문자열로 변환합니다.
+     */
+    static String toIndexText(String text) {
+        StringBuilder builder = new StringBuilder(text.length() * 3);
+        String normalized = text.toLowerCase(Locale.ROOT);
+        int length = normalized.length();
+        int start = 0;
+        while (start < length) {
+            // 글자/숫자가 아닌 문자는 단어 구분자로 취급
+            if (!Character.isLetterOrDigit(normalized.charAt(start))) {
+                start++;
+                continue;
+            }
+            int end = start;
+            while (end < length && Character.isLetterOrDigit(normalized.charAt(end))) {
+                end++;
+            }
+            for (int i = start; i < end - 1; i++) {
+                builder.append(normalized, i, i + 2).append(' ');
+            }
+            builder.append(normalized.charAt(end - 1)).append(' ');
+            start = end;
+        }
+        return builder.toString().trim();
+    }
+
+    /**
+     * 검색어를 FTS MATCH 식으로 변환합니다.
+     * 단어마다 bigram을 연속 구문으로 묶고, 한 글자 단어는 접두어 검색으로 찾습니다. 모든 단어를 포함해야 합니다.
+     *
+     * @return 검색할 글자가 없으면 null
+     */
+    static String toMatchQuery(String query) {
+        StringBuilder builder = new StringBuilder(query.length() * 4);
+        String normalized = query.toLowerCase(Locale.ROOT);
+        int length = normalized.length();
+        int start = 0;
+        while (start < length) {
+            if (!Character.isLetterOrDigit(normalized.charAt(start))) {
+                start++;
+                continue;
+            }
+            int end = start;
+            while (end < length && Character.isLetterOrDigit(normalized.charAt(end))) {
+                end++;
+            }
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            if (end - start == 1) {
+                builder.append(normalized.charAt(start)).append('*');
+            } else {
+                builder.append('"');
+                for (int i = start; i < end - 1; i++) {
+                    if (i > start) {
+                        builder.append(' ');
+                    }
+                    builder.append(normalized, i, i + 2);
+                }
+                builder.append('"');
+            }
+            start = end;
+        }
+        return builder.length() == 0 ? null : builder.toString();
+    }
+}
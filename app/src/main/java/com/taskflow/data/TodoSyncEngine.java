@@ -0,0 +1,289 @@
+package com.taskflow.data;
+
+import android.content.Context;
+import androidx.annotation.VisibleForTesting;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * FTP 서버를 거쳐 여러 기기의 할 일을 맞추는 동기화 엔진 (백그라운드 스레드에서 호출)
+ *
+ * - 올리기: 마지막으로 올린 이후 이 기기에서 바뀐 항목을 변경 로그에서 모아 gzip 증분 파일 하나로 묶습니다.
+ *   (처음에는 전체 항목) 파일은 먼저 로컬 보낼 함(outbox)에 쓰고 순번을 기록한 뒤 올리므로,
+ *   올리는 도중 끊겨도 다음 실행에서 같은 파일을 이어서 올립니다.
+ * - 받기: 다른 기기가 올린 파일을 순번 순서대로 받아 uid 기준으로 반영합니다.
+ *   받아서 바뀐 항목은 변경 로그에 동기화 출처로 남아 다시 올리지 않습니다.
+ * - 서버 파일 이름: 기기ID-이전순번-순번.json.gz (내용은 {@link TodoBackup} 형식)
+ * - 같은 항목을 두 기기에서 고치면 나중에 반영된 쪽이 남습니다.
+ * - 받은 파일의 반영은 TodoRepository의 쓰기 스레드에서 실행해, 화면의 쓰기나 백업 복원과 섞이지 않게 합니다.
+ */
+public class TodoSyncEngine {
+    // 로컬 작업 디렉터리
+    private static final String DIRECTORY = "sync";
+    private static final String OUTBOX = "outbox";
+    private static final String INBOX = "inbox";
+
+    // 동기화 파일 접미사
+    private static final String SUFFIX = ".json.gz";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    // 변경 로그 사용처 이름
+    private static final String CHANGELOG_CONSUMER = "sync";
+
+    // 동기화/해제가 동시에 실행되지 않도록 (작업자 인스턴스마다 엔진이 새로 만들어짐)
+    private static final Object LOCK = new Object();
+
+    private final TodoDBHelper dbHelper;
+    private final TodoRepository repository;
+    private final SyncSettings settings;
+    private final File outbox;
+    private final File inbox;
+
+    /**
+     * 생성자
+     *
+     * @param context 컨텍스트
+     */
+    public TodoSyncEngine(Context context) {
+        this(TodoRepository.getInstance(context), new SyncSettings(context),
+                new File(context.getFilesDir(), DIRECTORY));
+    }
+
+    /**
+     * 저장소, 설정, 작업 디렉터리를 지정해 만듭니다.
+     * 테스트에서 한 프로세스 안에 기기 여러 대를 두고 동기화를 확인할 때 사용합니다.
+     *
+     * @param repository 반영할 데이터베이스의 저장소
+     * @param settings   서버 정보와 진행 상태 (기기 ID 포함)
+     * @param directory  보낼 함/받은 함을 둘 로컬 디렉터리
+     */
+    @VisibleForTesting
+    public TodoSyncEngine(TodoRepository repository, SyncSettings settings, File directory) {
+        this.dbHelper = repository.getDbHelper();
+        this.repository = repository;
+        this.settings = settings;
+        this.outbox = new File(directory, OUTBOX);
+        this.inbox = new File(directory, INBOX);
+    }
+
+    /**
+     * 이 기기의 변경을 올리고 다른 기기의 변경을 받습니다. 동기화가 꺼져 있으면 아무것도 하지 않습니다.
+     *
+     * @throws IOException 서버 접속/전송 실패 (작업자가 나중에 다시 시도)
+     */
+    public void sync() throws IOException {
+        synchronized (LOCK) {
+            if (!settings.isEnabled()) {
+                return;
+            }
+            makeDirectory(outbox);
+            makeDirectory(inbox);
+
+            // 서버에 닿지 못해도 바뀐 항목은 미리 묶어 두고 변경 로그를 정리
+            collectChanges();
+            try (FtpTransport transport = new FtpTransport(settings.getHost(), settings.getPort(),
+                    settings.getUser(), settings.getPassword(), settings.getRemoteDir())) {
+                transport.connect();
+                push(transport);
+                pull(transport);
+            }
+        }
+    }
+
+    /**
+     * 동기화를 끈 뒤 호출합니다. 진행 상태와 로컬 파일을 지우고, 변경 로그를 더 남겨 두지 않도록 합니다.
+     */
+    public void disable() {
+        synchronized (LOCK) {
+            dbHelper.removeChangeLogConsumer(CHANGELOG_CONSUMER);
+            settings.resetProgress();
+            deleteFiles(outbox);
+            deleteFiles(inbox);
+        }
+    }
+
+    /**
+     * 마지막으로 묶은 이후의 변경을 보낼 함에 gzip 파일 하나로 씁니다.
+     */
+    private void collectChanges() throws IOException {
+        String deviceId = settings.getDeviceId();
+        long fromSeq = settings.getLastPushedSeq();
+        for (SyncFile file : listSyncFiles(outbox)) {
+            // 파일을 쓴 뒤 순번을 기록하기 전에 종료된 경우
+            fromSeq = Math.max(fromSeq, file.toSeq);
+        }
+
+        long toSeq = dbHelper.getChangeSeq();
+        boolean full = fromSeq == SyncSettings.NOT_PUSHED;
+        if (!full && toSeq <= fromSeq) {
+            return;
+        }
+
+        long from = full ? 0 : fromSeq;
+        File target = new File(outbox, deviceId + "-" + from + "-" + toSeq + SUFFIX);
+        File temp = new File(outbox, target.getName() + TEMP_SUFFIX);
+        int count;
+        try (FileOutputStream fileOut = new FileOutputStream(temp)) {
+            GZIPOutputStream out = new GZIPOutputStream(new BufferedOutputStream(fileOut));
+            count = full
+                    ? TodoBackup.export(dbHelper, out, toSeq, null, null)
+                    : TodoBackup.exportChanges(dbHelper, out, from, toSeq, true, null);
+            out.finish();
+            out.flush();
+            fileOut.getFD().sync();
+        } catch (IOException | RuntimeException e) {
+            temp.delete();
+            throw e;
+        }
+
+        // 받은 변경뿐이었으면 올릴 것 없음 (처음에는 빈 목록이라도 올려 다른 기기가 이 기기를 알게 함)
+        if (count == 0 && !full) {
+            temp.delete();
+        } else if (!temp.renameTo(target)) {
+            temp.delete();
+            throw new IOException("Cannot rename " + temp);
+        }
+        settings.setLastPushedSeq(toSeq);
+        dbHelper.pruneChangeLog(CHANGELOG_CONSUMER, toSeq);
+    }
+
+    /**
+     * 보낼 함의 파일을 순번 순서대로 올리고, 다 올린 파일은 지웁니다.
+     */
+    private void push(FtpTransport transport) throws IOException {
+        for (SyncFile file : listSyncFiles(outbox)) {
+            transport.upload(file.file, file.file.getName());
+            file.file.delete();
+        }
+    }
+
+    /**
+     * 다른 기기가 올린 파일 중 아직 반영하지 않은 것을 순번 순서대로 받아 반영합니다.
+     * 중간 파일이 아직 올라오지 않았으면 그 기기는 거기서 멈추고 다음 동기화에서 이어 받습니다.
+     */
+    private void pull(FtpTransport transport) throws IOException {
+        String deviceId = settings.getDeviceId();
+        Map<String, List<SyncFile>> byDevice = new HashMap<>();
+        for (String name : transport.list()) {
+            SyncFile file = SyncFile.parse(new File(inbox, name));
+            if (file != null && !file.deviceId.equals(deviceId)) {
+                byDevice.computeIfAbsent(file.deviceId, key -> new ArrayList<>()).add(file);
+            }
+        }
+
+        for (Map.Entry<String, List<SyncFile>> entry : byDevice.entrySet()) {
+            String remoteDevice = entry.getKey();
+            List<SyncFile> files = entry.getValue();
+            files.sort(Comparator.comparingLong(file -> file.toSeq));
+
+            long pulledSeq = settings.getPulledSeq(remoteDevice);
+            for (SyncFile file : files) {
+                if (file.toSeq <= pulledSeq) {
+                    continue;
+                }
+                if (file.fromSeq > pulledSeq) {
+                    break;
+                }
+                transport.download(file.file.getName(), file.file);
+                apply(file.file);
+                file.file.delete();
+                pulledSeq = file.toSeq;
+                settings.setPulledSeq(remoteDevice, pulledSeq);
+            }
+        }
+    }
+
+    /**
+     * 받은 파일을 스트리밍으로 풀어 uid 기준으로 반영합니다. (쓰기 스레드에서 실행하고 끝날 때까지 기다림)
+     */
+    private void apply(File file) throws IOException {
+        repository.awaitWrite(() -> {
+            try (InputStream in = new GZIPInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                return TodoBackup.restore(dbHelper, in, TodoBackup.Mode.SYNC, null, null);
+            }
+        });
+    }
+
+    /**
+     * 디렉터리의 동기화 파일을 순번 순서대로 반환합니다. (쓰다 만 임시 파일 제외)
+     */
+    private static List<SyncFile> listSyncFiles(File directory) {
+        List<SyncFile> result = new ArrayList<>();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                SyncFile syncFile = SyncFile.parse(file);
+                if (syncFile != null) {
+                    result.add(syncFile);
+                } else if (file.getName().endsWith(TEMP_SUFFIX)) {
+                    file.delete();
+                }
+            }
+        }
+        result.sort(Comparator.comparingLong(file -> file.toSeq));
+        return result;
+    }
+
+    private static void makeDirectory(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+    }
+
+    private static void deleteFiles(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * 동기화 파일 이름(기기ID-이전순번-순번.json.gz)을 나눈 값
+     */
+    private static final class SyncFile {
+        final File file;
+        final String deviceId;
+        final long fromSeq;
+        final long toSeq;
+
+        private SyncFile(File file, String deviceId, long fromSeq, long toSeq) {
+            this.file = file;
+            this.deviceId = deviceId;
+            this.fromSeq = fromSeq;
+            this.toSeq = toSeq;
+        }
+
+        /**
+         * 동기화 파일 이름이 아니면 null을 반환합니다.
+         */
+        static SyncFile parse(File file) {
+            String name = file.getName();
+            if (!name.endsWith(SUFFIX)) {
+                return null;
+            }
+            String[] parts = name.substring(0, name.length() - SUFFIX.length()).split("-");
+            if (parts.length != 3 || parts[0].isEmpty()) {
+                return null;
+            }
+            try {
+                return new SyncFile(file, parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.taskflow.utils;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Calendar;
+import java.util.Locale;
+
+/**
+ * 날짜 키(epoch day)와 시간(자정부터의 분) 변환 및 포맷을 담당하는 유틸리티 클래스
+ * DB의 day 컬럼은 1970-01-01 기준 일수(epoch day)를, minute 컬럼은 자정부터의 분을 정수로 저장합니다.
+ * 모든 포맷터는 불변이라 여러 스레드에서 동시에 호출해도 안전합니다.
+ */
+public class TaskFlowDate {
+    // yyyy-MM-dd (요일) 형식 - DateTimeFormatter는 불변 객체라 여러 스레드에서 공유 가능
+    private static final DateTimeFormatter DATE_WITH_DAY = DateTimeFormatter.ofPattern("yyyy-MM-dd (E)",
+            Locale.KOREAN);
+    private static final DateTimeFormatter DATE_KOREAN = DateTimeFormatter.ofPattern("yyyy년 MM월 dd일",
+            Locale.KOREAN);
+    private static final DateTimeFormatter MONTH_KOREAN = DateTimeFormatter.ofPattern("yyyy년 M월", Locale.KOREAN);
+    private static final DateTimeFormatter MONTH_DAY_KOREAN = DateTimeFormatter.ofPattern("M월 d일", Locale.KOREAN);
+
+    // 시간이 지정되지 않은 항목의 분 값
+    public static final int NO_TIME = -1;
+
+    private TaskFlowDate() {
+    }
+
+    /**
+     * 오늘 날짜의 epoch day를 반환합니다.
+     */
+    public static int today() {
+        return (int) LocalDate.now().toEpochDay();
+    }
+
+    /**
+     * Calendar의 연/월/일을 epoch day로 변환합니다.
+     */
+    public static int toEpochDay(Calendar calendar) {
+        return (int) LocalDate.of(calendar.get(Calendar.YEAR),
+                calendar.get(Calendar.MONTH) + 1,
+                calendar.get(Calendar.DAY_OF_MONTH)).toEpochDay();
+    }
+
+    /**
+     * 연/월/일을 epoch day로 변환합니다.
+     *
+     * @param month 0부터 시작하는 월 (Calendar, DatePicker와 동일)
+     */
+    public static int toEpochDay(int year, int month, int dayOfMonth) {
+        return (int) LocalDate.of(year, month + 1, dayOfMonth).toEpochDay();
+    }
+
+    /**
+     * epoch day의 자정(기기 시간대)을 밀리초로 변환합니다. (DatePicker의 최소/최대 날짜 지정에 사용)
+     */
+    public static long toEpochMillis(int epochDay) {
+        return LocalDate.ofEpochDay(epochDay).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * epoch day를 yyyy-MM-dd (요일) 형식으로 포맷합니다.
+     */
+    public static String formatDateWithDay(int epochDay) {
+        return DATE_WITH_DAY.format(LocalDate.ofEpochDay(epochDay));
+    }
+
+    /**
+     * epoch day를 yyyy년 MM월 dd일 형식으로 포맷합니다.
+     */
+    public static String formatDateKorean(int epochDay) {
+        return DATE_KOREAN.format(LocalDate.ofEpochDay(epochDay));
+    }
+
+    /**
+     * epoch day가 속한 월을 yyyy년 M월 형식으로 포맷합니다.
+     */
+    public static String formatMonthKorean(int epochDay) {
+        return MONTH_KOREAN.format(LocalDate.ofEpochDay(epochDay));
+    }
+
+    /**
+     * epoch day를 M월 d일 형식으로 포맷합니다.
+     */
+    public static String formatMonthDayKorean(int epochDay) {
+        return MONTH_DAY_KOREAN.format(LocalDate.ofEpochDay(epochDay));
+    }
+
+    // ===== 시간 (자정부터의 분) =====
+
+    /**
+     * 시/분을 자정부터의 분으로 변환합니다.
+     */
+    public static int toMinuteOfDay(int hourOfDay, int minute) {
+        return hourOfDay * 60 + minute;
+    }
+
+    /**
+     * 자정부터의 분을 "오전 9:05" 형식으로 변환합니다.
+     */
+    public static String formatTime(int minuteOfDay) {
+        int hour = minuteOfDay / 60;
+        int minute = minuteOfDay % 60;
+        int displayHour = hour > 12 ? hour - 12 : (hour == 0 ? 12 : hour);
+
+        StringBuilder builder = new StringBuilder(8);
+        builder.append(hour >= 12 ? "오후 " : "오전 ").append(displayHour).append(':');
+        if (minute < 10) {
+            builder.append('0');
+        }
+        return builder.append(minute).toString();
+    }
+}
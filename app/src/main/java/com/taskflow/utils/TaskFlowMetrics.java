@@ -0,0 +1,279 @@
+package com.taskflow.utils;
+
+import android.os.SystemClock;
+import androidx.tracing.Trace;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 작업별 실행 시간과 읽고 쓴 행 수를 모으는 메모리 내 측정 레지스트리
+ *
+ * - {@link #begin}으로 시작한 구간은 시스템 트레이스(Perfetto/systrace)에도 같은 이름으로 표시됩니다.
+ * - 목록 바인딩처럼 자주 불리는 경로는 미리 만들어 둔 {@link Timer}를 사용해 호출마다 객체를 만들지 않습니다.
+ * - 기록은 LongAdder와 원자 배열만 사용하므로 잠금 없이 여러 스레드에서 동시에 호출할 수 있습니다.
+ *   (작업 이름이 처음 등록될 때만 ConcurrentHashMap이 해당 칸을 잠금)
+ * - 실행 시간은 마이크로초 기준 2의 거듭제곱 구간으로 나눈 히스토그램에 쌓아 백분위수를 근사합니다.
+ * - 앱 프로세스가 살아 있는 동안만 유지되며, 진단 화면에서 보거나 파일로 저장할 수 있습니다.
+ */
+public final class TaskFlowMetrics {
+    // 히스토그램 구간 수 (i번째 구간: 2^(i-1) ~ 2^i 마이크로초, 마지막 구간은 그 이상 전부)
+    private static final int BUCKET_COUNT = 24;
+
+    private static final ConcurrentMap<String, Operation> operations = new ConcurrentHashMap<>();
+
+    private TaskFlowMetrics() {
+    }
+
+    /**
+     * 측정 구간을 시작합니다. try-with-resources로 닫아야 하며, 시작한 스레드에서 닫아야 합니다.
+     *
+     * @param name 작업 이름 (트레이스 구간 이름으로도 사용, 127자 이하)
+     * @return 닫을 때 실행 시간을 기록하는 구간
+     */
+    public static Section begin(String name) {
+        Trace.beginSection(name);
+        return new Section(operationOf(name), SystemClock.elapsedRealtimeNanos());
+    }
+
+    /**
+     * 자주 불리는 구간에 쓸 측정기를 만듭니다. 필드에 한 번 만들어 두고 재사용합니다.
+     *
+     * @param name 작업 이름 (트레이스 구간 이름으로도 사용, 127자 이하)
+     */
+    public static Timer timer(String name) {
+        return new Timer(operationOf(name));
+    }
+
+    private static Operation operationOf(String name) {
+        Operation operation = operations.get(name);
+        if (operation == null) {
+            operation = operations.computeIfAbsent(name, Operation::new);
+        }
+        return operation;
+    }
+
+    /**
+     * 모든 작업의 현재 값을 이름순으로 반환합니다. (기록 중에도 호출 가능, 값은 근사치)
+     */
+    public static List<Snapshot> snapshot() {
+        List<Snapshot> result = new ArrayList<>();
+        for (Operation operation : operations.values()) {
+            Snapshot snapshot = operation.snapshot();
+            // 초기화 후 아직 기록이 없는 작업은 제외
+            if (snapshot.count > 0) {
+                result.add(snapshot);
+            }
+        }
+        result.sort((a, b) -> a.name.compareTo(b.name));
+        return result;
+    }
+
+    /**
+     * 모아 둔 값을 모두 지웁니다.
+     * 미리 만들어 둔 Timer가 계속 같은 작업에 기록하도록 작업 목록은 남기고 값만 0으로 되돌립니다.
+     */
+    public static void reset() {
+        for (Operation operation : operations.values()) {
+            operation.reset();
+        }
+    }
+
+    /**
+     * 진단 화면과 파일 저장에 쓰는 표 형식 보고서를 만듭니다.
+     */
+    public static String report() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format(Locale.US, "%-40s %8s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "avg(us)", "p50(us)", "p90(us)", "p99(us)", "max(us)", "rows r/w"));
+        for (Snapshot snapshot : snapshot()) {
+            builder.append(String.format(Locale.US, "%-40s %8d %9d %9d %9d %9d %9d %s%n",
+                    snapshot.name, snapshot.count, snapshot.averageMicros(),
+                    snapshot.percentileMicros(0.50), snapshot.percentileMicros(0.90),
+                    snapshot.percentileMicros(0.99), snapshot.maxNanos / 1000,
+                    snapshot.rowsRead + "/" + snapshot.rowsWritten));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 실행 중인 측정 구간
+     */
+    public static final class Section implements AutoCloseable {
+        private final Operation operation;
+        private final long startNanos;
+
+        private Section(Operation operation, long startNanos) {
+            this.operation = operation;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 이 작업에서 읽은 행 수를 더합니다.
+         */
+        public void rowsRead(long rows) {
+            operation.rowsRead.add(rows);
+        }
+
+        /**
+         * 이 작업에서 쓴(추가/수정/삭제) 행 수를 더합니다.
+         */
+        public void rowsWritten(long rows) {
+            operation.rowsWritten.add(rows);
+        }
+
+        @Override
+        public void close() {
+            operation.record(SystemClock.elapsedRealtimeNanos() - startNanos);
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * 미리 만들어 두고 재사용하는 측정기 (시작 시각은 호출한 쪽의 지역 변수로 보관)
+     *
+     * <pre>
+     * long start = TIMER.start();
+     * try {
+     *     ...
+     * } finally {
+     *     TIMER.stop(start);
+     * }
+     * </pre>
+     */
+    public static final class Timer {
+        private final Operation operation;
+
+        private Timer(Operation operation) {
+            this.operation = operation;
+        }
+
+        /**
+         * 구간을 시작합니다.
+         *
+         * @return {@link #stop}에 넘길 시작 시각
+         */
+        public long start() {
+            Trace.beginSection(operation.name);
+            return SystemClock.elapsedRealtimeNanos();
+        }
+
+        /**
+         * 구간을 끝내고 실행 시간을 기록합니다. 시작한 스레드에서 호출해야 합니다.
+         */
+        public void stop(long startNanos) {
+            operation.record(SystemClock.elapsedRealtimeNanos() - startNanos);
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * 작업 하나의 누적 값
+     */
+    private static final class Operation {
+        final String name;
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder rowsRead = new LongAdder();
+        final LongAdder rowsWritten = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+        Operation(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            buckets.incrementAndGet(bucketOf(nanos));
+            long max = maxNanos.get();
+            while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+                max = maxNanos.get();
+            }
+        }
+
+        void reset() {
+            count.reset();
+            totalNanos.reset();
+            rowsRead.reset();
+            rowsWritten.reset();
+            maxNanos.set(0);
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets.set(i, 0);
+            }
+        }
+
+        Snapshot snapshot() {
+            long[] counts = new long[BUCKET_COUNT];
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] = buckets.get(i);
+            }
+            return new Snapshot(name, count.sum(), totalNanos.sum(), maxNanos.get(),
+                    rowsRead.sum(), rowsWritten.sum(), counts);
+        }
+
+        private static int bucketOf(long nanos) {
+            long micros = nanos / 1000;
+            int bucket = 64 - Long.numberOfLeadingZeros(micros);
+            return Math.min(bucket, BUCKET_COUNT - 1);
+        }
+    }
+
+    /**
+     * 작업 하나의 특정 시점 값
+     */
+    public static final class Snapshot {
+        public final String name;
+        public final long count;
+        public final long totalNanos;
+        public final long maxNanos;
+        public final long rowsRead;
+        public final long rowsWritten;
+        private final long[] buckets;
+
+        Snapshot(String name, long count, long totalNanos, long maxNanos, long rowsRead, long rowsWritten,
+                long[] buckets) {
+            this.name = name;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.rowsRead = rowsRead;
+            this.rowsWritten = rowsWritten;
+            this.buckets = buckets;
+        }
+
+        public long averageMicros() {
+            return count == 0 ? 0 : totalNanos / count / 1000;
+        }
+
+        /**
+         * 히스토그램에서 백분위수를 근사합니다. (해당 구간의 상한값, 최댓값을 넘지 않음)
+         *
+         * @param fraction 0~1 사이 비율 (예: 0.99)
+         */
+        public long percentileMicros(double fraction) {
+            long total = 0;
+            for (long bucketCount : buckets) {
+                total += bucketCount;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(total * fraction);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= target) {
+                    return Math.min(1L << i, maxNanos / 1000);
+                }
+            }
+            return maxNanos / 1000;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.taskflow.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.taskflow.utils.TaskFlowDate;
+import java.util.Calendar;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * 날짜 키 변환과 표시 문자열 포맷 벤치마크
+ * 목록 바인딩, 캘린더 그리기, 항목 추가마다 호출되는 작은 함수들입니다.
+ * 호출마다 다른 날짜를 넘겨 결과를 재사용하는 최적화가 측정을 가리지 않도록 합니다.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskFlowDateBenchmark {
+    // 순환할 날짜 수
+    private static final int DAY_RANGE = 1_000;
+
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int today = TaskFlowDate.today();
+
+    @Test
+    public void formatDateWithDay() {
+        int offset = 0;
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            TaskFlowDate.formatDateWithDay(today + offset);
+            offset = (offset + 1) % DAY_RANGE;
+        }
+    }
+
+    @Test
+    public void formatDateKorean() {
+        int offset = 0;
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            TaskFlowDate.formatDateKorean(today + offset);
+            offset = (offset + 1) % DAY_RANGE;
+        }
+    }
+
+    @Test
+    public void formatTime() {
+        int minute = 0;
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            TaskFlowDate.formatTime(minute);
+            minute = (minute + 7) % (24 * 60);
+        }
+    }
+
+    /**
+     * 캘린더/날짜 선택기의 연월일을 날짜 키로 변환 (날짜 문자열 파싱을 대신하는 경로)
+     */
+    @Test
+    public void toEpochDay_yearMonthDay() {
+        int dayOfMonth = 1;
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            TaskFlowDate.toEpochDay(2024, Calendar.MARCH, dayOfMonth);
+            dayOfMonth = dayOfMonth % 28 + 1;
+        }
+    }
+
+    @Test
+    public void toEpochDay_calendar() {
+        Calendar calendar = Calendar.getInstance();
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            TaskFlowDate.toEpochDay(calendar);
+        }
+    }
+}
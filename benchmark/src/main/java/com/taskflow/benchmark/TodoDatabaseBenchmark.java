@@ -0,0 +1,214 @@
+package com.taskflow.benchmark;
+
+import android.content.Context;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+import com.taskflow.data.TodoDBHelper;
+import com.taskflow.data.TodoFilter;
+import com.taskflow.data.TodoItem;
+import com.taskflow.utils.TaskFlowDate;
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/**
+ * TodoDBHelper 조회/쓰기 벤치마크 (1천, 10만, 100만 행)
+ *
+ * - 앱 데이터와 분리된 데이터베이스 파일을 크기별로 한 번 만들어 두고 재사용합니다. (100만 행은 처음에 몇 분 걸림)
+ * - 항목은 오늘을 중심으로 약 3년에 고르게 퍼뜨리므로, 행 수가 늘면 하루/한 달에 속한 항목 수도 함께 늘어납니다.
+ * - 쓰기 벤치마크는 측정 뒤 되돌리는 작업을 측정에서 제외하여 행 수를 유지합니다.
+ */
+@RunWith(Parameterized.class)
+public class TodoDatabaseBenchmark {
+    // 항목을 퍼뜨리는 날짜 범위 (오늘 기준 앞뒤)
+    private static final int DAY_SPAN = 3 * 365;
+
+    // 데이터를 채울 때 한 트랜잭션에 넣는 항목 수
+    private static final int INSERT_BATCH = 10_000;
+
+    // 전체 목록 화면의 페이지 크기 (AllTodosActivity와 동일)
+    private static final int PAGE_SIZE = 50;
+
+    private static final List<TodoDBHelper> openHelpers = new ArrayList<>();
+
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Parameterized.Parameter
+    public int rowCount;
+
+    private TodoDBHelper dbHelper;
+    private int today;
+
+    @Parameterized.Parameters(name = "rows={0}")
+    public static Collection<Object[]> rowCounts() {
+        return Arrays.asList(new Object[][] { { 1_000 }, { 100_000 }, { 1_000_000 } });
+    }
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        String name = "benchmark-" + rowCount + ".db";
+        today = TaskFlowDate.today();
+        if (countRows(context, name) != rowCount) {
+            context.deleteDatabase(name);
+            populate(context, name);
+        }
+        dbHelper = TodoDBHelper.createIsolated(context, name);
+        openHelpers.add(dbHelper);
+    }
+
+    @AfterClass
+    public static void closeHelpers() {
+        for (TodoDBHelper helper : openHelpers) {
+            helper.close();
+        }
+        openHelpers.clear();
+    }
+
+    /**
+     * 날짜별 목록 조회 (캐시를 비운 상태, TodoListActivity / MainActivity 첫 조회)
+     */
+    @Test
+    public void getTodosByDay_uncached() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            dbHelper.clearDayCache();
+            state.resumeTiming();
+            dbHelper.getTodosByDay(today);
+        }
+    }
+
+    /**
+     * 날짜별 목록 조회 (캐시 적중, 같은 날짜를 다시 열 때)
+     */
+    @Test
+    public void getTodosByDay_cached() {
+        dbHelper.getTodosByDay(today);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            dbHelper.getTodosByDay(today);
+        }
+    }
+
+    /**
+     * 월 요약 조회 (MainActivity.updateCalendar와 같은 범위: 이번 달 1일 ~ 말일)
+     */
+    @Test
+    public void getMonthSummary() {
+        LocalDate monthStart = LocalDate.ofEpochDay(today).withDayOfMonth(1);
+        int firstDay = (int) monthStart.toEpochDay();
+        int lastDay = firstDay + monthStart.lengthOfMonth() - 1;
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            dbHelper.getMonthSummary(firstDay, lastDay);
+        }
+    }
+
+    /**
+     * 전체 목록 첫 페이지 조회 (AllTodosActivity)
+     */
+    @Test
+    public void getTodosPage_upcoming() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            dbHelper.getTodosPage(TodoFilter.UPCOMING, today, null, PAGE_SIZE);
+        }
+    }
+
+    /**
+     * 검색 (SearchActivity)
+     */
+    @Test
+    public void searchTodos() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            dbHelper.searchTodos("운동");
+        }
+    }
+
+    /**
+     * 할 일 하나 추가 (추가한 항목 삭제는 측정에서 제외)
+     */
+    @Test
+    public void addTodo() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            long id = dbHelper.addTodo(today, TaskFlowDate.toMinuteOfDay(9, 30), "벤치마크 할 일");
+            state.pauseTiming();
+            dbHelper.deleteTodo((int) id);
+            state.resumeTiming();
+        }
+    }
+
+    /**
+     * 완료 체크 하나 저장 (매번 값을 뒤집어 실제 쓰기가 일어나도록)
+     */
+    @Test
+    public void updateTodoCompleted() {
+        List<TodoItem> todos = dbHelper.getTodosByDay(today);
+        int id = todos.isEmpty() ? (int) dbHelper.addTodo(today, TaskFlowDate.NO_TIME, "벤치마크 할 일")
+                : todos.get(0).getId();
+        boolean completed = false;
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            completed = !completed;
+            dbHelper.updateTodoCompleted(id, completed);
+        }
+    }
+
+    /**
+     * 데이터베이스 파일의 행 수를 반환합니다. (파일이 없거나 테이블이 없으면 -1)
+     */
+    private static long countRows(Context context, String name) {
+        File file = context.getDatabasePath(name);
+        if (!file.exists()) {
+            return -1;
+        }
+        try (SQLiteDatabase db = SQLiteDatabase.openDatabase(file.getPath(), null, SQLiteDatabase.OPEN_READONLY)) {
+            return DatabaseUtils.queryNumEntries(db, "todo_table");
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 오늘을 중심으로 DAY_SPAN일에 항목을 퍼뜨려 rowCount개를 채웁니다. (시드 고정으로 매번 같은 데이터)
+     */
+    private void populate(Context context, String name) {
+        String[] words = { "운동", "장보기", "회의", "보고서 작성", "독서", "청소", "병원 예약", "study", "email" };
+        Random random = new Random(rowCount);
+        int firstDay = today - DAY_SPAN / 2;
+
+        TodoDBHelper helper = TodoDBHelper.createIsolated(context, name);
+        try {
+            List<TodoItem> batch = new ArrayList<>(INSERT_BATCH);
+            for (int i = 0; i < rowCount; i++) {
+                int minute = random.nextInt(4) == 0 ? TaskFlowDate.NO_TIME : random.nextInt(24 * 60);
+                String task = words[random.nextInt(words.length)] + " " + i;
+                batch.add(new TodoItem(0, firstDay + random.nextInt(DAY_SPAN), minute, task, random.nextInt(3) == 0));
+                if (batch.size() == INSERT_BATCH) {
+                    helper.addTodos(batch);
+                    batch.clear();
+                }
+            }
+            helper.addTodos(batch);
+        } finally {
+            helper.close();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.taskflow.benchmark;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.annotation.UiThreadTest;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import com.taskflow.data.TodoItem;
+import com.taskflow.data.TodoListAdapter;
+import com.taskflow.data.TodoRepository;
+import com.taskflow.utils.TaskFlowDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * 할 일 목록 어댑터의 뷰 생성/바인딩 벤치마크
+ * 스크롤 중 한 항목이 화면에 들어올 때 드는 비용으로, 프레임 예산(16ms) 안에 여러 개가 들어가야 합니다.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TodoListAdapterBenchmark {
+    // 바인딩할 항목 수 (완료/미완료, 시간 있음/없음이 섞이도록)
+    private static final int ITEM_COUNT = 100;
+
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private RecyclerView parent;
+    private TodoListAdapter adapter;
+
+    // @UiThreadTest이므로 메인 스레드에서 실행됨
+    @Before
+    public void setUp() {
+        Context context = new ContextThemeWrapper(
+                InstrumentationRegistry.getInstrumentation().getTargetContext(),
+                android.R.style.Theme_DeviceDefault_Light_NoActionBar);
+        int today = TaskFlowDate.today();
+        List<TodoItem> items = new ArrayList<>(ITEM_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            int minute = i % 3 == 0 ? TaskFlowDate.NO_TIME : TaskFlowDate.toMinuteOfDay(i % 24, i % 60);
+            items.add(new TodoItem(i + 1, today + i % 7, minute, "할 일 " + i, i % 2 == 0));
+        }
+        parent = new RecyclerView(context);
+        adapter = new TodoListAdapter(context, items, TodoRepository.getInstance(context));
+    }
+
+    /**
+     * 항목 뷰 생성 (레이아웃 인플레이트)
+     */
+    @Test
+    @UiThreadTest
+    public void createViewHolder() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            adapter.onCreateViewHolder(parent, 0);
+        }
+    }
+
+    /**
+     * 이미 만들어진 뷰에 다른 항목을 바인딩 (재활용된 뷰로 스크롤할 때)
+     */
+    @Test
+    @UiThreadTest
+    public void bindViewHolder() {
+        TodoListAdapter.ViewHolder holder = adapter.onCreateViewHolder(parent, 0);
+        int position = 0;
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            adapter.onBindViewHolder(holder, position);
+            position = (position + 1) % ITEM_COUNT;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.taskflow.macrobenchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import kotlin.Unit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * 앱에 포함할 Baseline Profile을 만듭니다.
+ * ./gradlew :app:generateBaselineProfile 로 실행하면 결과가 app/src/release/generated/baselineProfiles에 저장되고
+ * 릴리스 빌드에 포함됩니다. 시작, 탭 전환, 달 넘기기 경로를 미리 컴파일 대상으로 기록합니다.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+    // 프로필이 안정될 때까지 반복하는 최대/안정 판정 횟수
+    private static final int MAX_ITERATIONS = 15;
+    private static final int STABLE_ITERATIONS = 3;
+
+    // 탐색 중 넘기는 달 수
+    private static final int MONTH_CHANGES = 2;
+
+    @Rule
+    public final BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+    @Test
+    public void generate() {
+        baselineProfileRule.collect(
+                TaskFlowScreens.PACKAGE_NAME,
+                MAX_ITERATIONS,
+                STABLE_ITERATIONS,
+                null,
+                // 시작 경로는 시작 프로필(dex 배치 최적화)에도 포함
+                true,
+                scope -> {
+                    scope.pressHome();
+                    TaskFlowScreens.startAndWaitForList(scope);
+                    TaskFlowScreens.switchTabs(scope);
+                    TaskFlowScreens.openCalendar(scope);
+                    TaskFlowScreens.changeMonths(scope, MONTH_CHANGES);
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,72 @@
+package com.taskflow.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import java.util.Collections;
+import kotlin.Unit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * 화면 전환 중 프레임 시간 벤치마크 (Baseline Profile 적용 상태)
+ * frameDurationCpuMs / frameOverrunMs의 P90, P99로 끊김을 추적합니다.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FrameTimingBenchmark {
+    // 측정 반복 횟수
+    private static final int ITERATIONS = 5;
+
+    // 한 번에 넘기는 달 수
+    private static final int MONTH_CHANGES = 6;
+
+    @Rule
+    public final MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    /**
+     * 하단 네비게이션(TaskFlowUI.initBottomNav)으로 탭을 오갈 때
+     */
+    @Test
+    public void switchTabs() {
+        benchmarkRule.measureRepeated(
+                TaskFlowScreens.PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                new CompilationMode.Partial(BaselineProfileMode.Require, 0),
+                StartupMode.WARM,
+                ITERATIONS,
+                scope -> {
+                    TaskFlowScreens.startAndWaitForList(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    TaskFlowScreens.switchTabs(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+
+    /**
+     * MainActivity 캘린더에서 달을 넘길 때 (월 요약 조회와 캘린더 다시 그리기)
+     */
+    @Test
+    public void changeMonths() {
+        benchmarkRule.measureRepeated(
+                TaskFlowScreens.PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                new CompilationMode.Partial(BaselineProfileMode.Require, 0),
+                StartupMode.WARM,
+                ITERATIONS,
+                scope -> {
+                    TaskFlowScreens.startAndWaitForList(scope);
+                    TaskFlowScreens.openCalendar(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    TaskFlowScreens.changeMonths(scope, MONTH_CHANGES);
+                    return Unit.INSTANCE;
+                });
+    }
+}
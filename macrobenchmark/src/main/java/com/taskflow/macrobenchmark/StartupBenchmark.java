@@ -0,0 +1,68 @@
+package com.taskflow.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import kotlin.Unit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/**
+ * 앱 시작 시간 벤치마크 (SplashActivity → TodoListActivity 첫 목록 표시까지)
+ *
+ * - timeToInitialDisplay: 첫 프레임, timeToFullDisplay: 오늘 목록을 그린 뒤 reportFullyDrawn 시점
+ * - 컴파일 없음(설치 직후 최악), Baseline Profile 적용(실제 설치 직후)을 비교해 프로필 효과를 확인합니다.
+ */
+@RunWith(Parameterized.class)
+public class StartupBenchmark {
+    // 측정 반복 횟수
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public final MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Parameterized.Parameter
+    public CompilationMode compilationMode;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> compilationModes() {
+        return Arrays.asList(new Object[][] {
+                { new CompilationMode.None() },
+                { new CompilationMode.Partial(BaselineProfileMode.Require, 0) },
+        });
+    }
+
+    @Test
+    public void coldStartup() {
+        measureStartup(StartupMode.COLD);
+    }
+
+    @Test
+    public void warmStartup() {
+        measureStartup(StartupMode.WARM);
+    }
+
+    private void measureStartup(StartupMode startupMode) {
+        benchmarkRule.measureRepeated(
+                TaskFlowScreens.PACKAGE_NAME,
+                Collections.singletonList(new StartupTimingMetric()),
+                compilationMode,
+                startupMode,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    TaskFlowScreens.startAndWaitForList(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,80 @@
+package com.taskflow.macrobenchmark;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+/**
+ * 벤치마크와 Baseline Profile 생성이 함께 쓰는 화면 조작 모음
+ * 앱의 뷰 ID로 버튼을 찾고, 다음 화면의 뷰가 나타날 때까지 기다립니다.
+ */
+final class TaskFlowScreens {
+    // 측정 대상 앱 패키지
+    static final String PACKAGE_NAME = "com.taskflow";
+
+    // 화면이 나타날 때까지 기다리는 최대 시간
+    private static final long TIMEOUT_MS = 5_000;
+
+    private TaskFlowScreens() {
+    }
+
+    /**
+     * 런처에서 앱을 실행하고 오늘 할 일 목록이 나타날 때까지 기다립니다.
+     */
+    static void startAndWaitForList(MacrobenchmarkScope scope) {
+        scope.startActivityAndWait();
+        waitFor(scope.getDevice(), "todo_listview");
+    }
+
+    /**
+     * 하단 네비게이션으로 캘린더 → 내정보 → 홈 탭을 차례로 이동합니다.
+     */
+    static void switchTabs(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        click(device, "calendar_btn");
+        waitFor(device, "calendar_view");
+        click(device, "my_page_btn");
+        waitFor(device, "backup_card");
+        click(device, "home_btn");
+        waitFor(device, "todo_listview");
+    }
+
+    /**
+     * 캘린더 탭으로 이동합니다.
+     */
+    static void openCalendar(MacrobenchmarkScope scope) {
+        click(scope.getDevice(), "calendar_btn");
+        waitFor(scope.getDevice(), "calendar_view");
+    }
+
+    /**
+     * 다음 달로 count번 넘긴 뒤 같은 횟수만큼 이전 달로 돌아옵니다.
+     */
+    static void changeMonths(MacrobenchmarkScope scope, int count) {
+        UiDevice device = scope.getDevice();
+        for (int i = 0; i < count; i++) {
+            click(device, "next_month_btn");
+            device.waitForIdle();
+        }
+        for (int i = 0; i < count; i++) {
+            click(device, "prev_month_btn");
+            device.waitForIdle();
+        }
+    }
+
+    private static void click(UiDevice device, String resourceId) {
+        UiObject2 view = device.wait(Until.findObject(By.res(PACKAGE_NAME, resourceId)), TIMEOUT_MS);
+        if (view == null) {
+            throw new IllegalStateException("View not found: " + resourceId);
+        }
+        view.click();
+    }
+
+    private static void waitFor(UiDevice device, String resourceId) {
+        if (!device.wait(Until.hasObject(By.res(PACKAGE_NAME, resourceId)), TIMEOUT_MS)) {
+            throw new IllegalStateException("View not shown: " + resourceId);
+        }
+    }
+}